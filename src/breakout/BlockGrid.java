@@ -0,0 +1,235 @@
+package breakout;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import breakout.utils.Point;
+
+/**
+ * A uniform grid over the field that indexes the blocks of a {@code BreakoutState} by the cells their rectangles overlap.
+ * Blocks are stored in slots that keep the order of the blocks array they were built from. A destroyed block leaves an empty slot,
+ * so the remaining blocks never change order.
+ *
+ * @invar | getBlocks() != null
+ * @invar | Arrays.stream(getBlocks()).noneMatch(b -> b == null)
+ */
+
+class BlockGrid {
+
+	/**
+	 * @invar | slots != null
+	 * @invar | cells != null && cellSizes != null && cells.length == cellSizes.length
+	 * @invar | cells.length == columns * rows
+	 * @invar | cells.length <= Math.max(4, 4 * slots.length)
+	 * @invar | cellWidth > 0 && cellHeight > 0
+	 * @invar | blockCount >= 0 && blockCount <= slots.length
+	 */
+
+	/** @representationObject */
+	private final BlockState[] slots;
+	/** @representationObject */
+	private final int[][] cells;
+	/** @representationObject */
+	private final int[] cellSizes;
+	private final int columns;
+	private final int rows;
+	private final int cellWidth;
+	private final int cellHeight;
+	private int blockCount;
+
+	/** @representationObject */
+	private int[] candidates = new int[16];
+	/** @representationObject */
+	private final int[] visitedStamps;
+	private int stamp;
+
+	/**
+	 * Initializes this grid so that it indexes the given blocks inside a field with the given bottom right point.
+	 * The cell size is the average block size, so that a block overlaps only a handful of cells,
+	 * but the cells are made larger if there would be more than four per block.
+	 *
+	 * @pre | blocks != null
+	 * @pre | Arrays.stream(blocks).noneMatch(b -> b == null)
+	 * @pre | bottomRight != null
+	 *
+	 * @inspects | blocks
+	 *
+	 * @post | Arrays.equals(getBlocks(), blocks)
+	 */
+
+	BlockGrid(BlockState[] blocks, Point bottomRight) {
+		this.slots = blocks.clone();
+		this.blockCount = blocks.length;
+
+		long totalWidth = 0;
+		long totalHeight = 0;
+		for (BlockState block: blocks) {
+			totalWidth += block.getBottomRight().getX() - block.getTopLeft().getX();
+			totalHeight += block.getBottomRight().getY() - block.getTopLeft().getY();
+		}
+		long width = blocks.length == 0 ? Math.max(1, bottomRight.getX()) : Math.max(1, totalWidth / blocks.length);
+		long height = blocks.length == 0 ? Math.max(1, bottomRight.getY()) : Math.max(1, totalHeight / blocks.length);
+		// A few tiny blocks in a large field would need a huge number of cells, so the cells grow until there are at most a few per block
+		long maxCells = Math.max(4, 4L * blocks.length);
+		while ((bottomRight.getX() / width + 1) * (bottomRight.getY() / height + 1) > maxCells) {
+			width = Math.min(Integer.MAX_VALUE, width * 2);
+			height = Math.min(Integer.MAX_VALUE, height * 2);
+		}
+		this.cellWidth = (int) width;
+		this.cellHeight = (int) height;
+		this.columns = bottomRight.getX() / cellWidth + 1;
+		this.rows = bottomRight.getY() / cellHeight + 1;
+		this.cells = new int[columns * rows][];
+		this.cellSizes = new int[columns * rows];
+		this.visitedStamps = new int[blocks.length];
+
+		for (int i=0; i<slots.length; i++) {
+			int minColumn = column(slots[i].getTopLeft().getX());
+			int maxColumn = column(slots[i].getBottomRight().getX());
+			int minRow = row(slots[i].getTopLeft().getY());
+			int maxRow = row(slots[i].getBottomRight().getY());
+			for (int r=minRow; r<=maxRow; r++) {
+				for (int c=minColumn; c<=maxColumn; c++) {
+					addToCell(r * columns + c, i);
+				}
+			}
+		}
+	}
+
+	private int column(int x) {
+		return Math.max(0, Math.min(columns - 1, x / cellWidth));
+	}
+
+	private int row(int y) {
+		return Math.max(0, Math.min(rows - 1, y / cellHeight));
+	}
+
+	private void addToCell(int cell, int slot) {
+		if (cells[cell] == null) {
+			cells[cell] = new int[4];
+		} else if (cellSizes[cell] == cells[cell].length) {
+			cells[cell] = Arrays.copyOf(cells[cell], cells[cell].length * 2);
+		}
+		cells[cell][cellSizes[cell]++] = slot;
+	}
+
+	private void removeFromCell(int cell, int slot) {
+		int[] cellSlots = cells[cell];
+		int size = cellSizes[cell];
+		for (int i=0; i<size; i++) {
+			if (cellSlots[i] == slot) {
+				// Shift instead of swapping, so every cell stays sorted by slot
+				System.arraycopy(cellSlots, i + 1, cellSlots, i, size - i - 1);
+				cellSizes[cell]--;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Collects the slots of the blocks whose rectangle might touch the axis-aligned box with the given corners, in ascending slot order,
+	 * and returns how many there are. The slots are read through {@code getCandidates()}, whose buffer is reused by the next query.
+	 *
+	 * @mutates | this
+	 *
+	 * @post Every block whose rectangle shares a point with the given box is among the candidates
+	 * 		| IntStream.range(0, getSlotCount()).allMatch(i -> getBlock(i) == null ||
+	 * 		|	getBlock(i).getTopLeft().getX() > right || getBlock(i).getBottomRight().getX() < left ||
+	 * 		|	getBlock(i).getTopLeft().getY() > bottom || getBlock(i).getBottomRight().getY() < top ||
+	 * 		|	IntStream.range(0, result).anyMatch(c -> getCandidates()[c] == i))
+	 */
+
+	int query(int left, int top, int right, int bottom) {
+		if (blockCount == 0)
+			return 0;
+		stamp++;
+		int count = 0;
+		int minColumn = column(left);
+		int maxColumn = column(right);
+		int minRow = row(top);
+		int maxRow = row(bottom);
+		for (int r=minRow; r<=maxRow; r++) {
+			for (int c=minColumn; c<=maxColumn; c++) {
+				int cell = r * columns + c;
+				int[] cellSlots = cells[cell];
+				for (int i=0; i<cellSizes[cell]; i++) {
+					int slot = cellSlots[i];
+					if (visitedStamps[slot] != stamp) {
+						visitedStamps[slot] = stamp;
+						if (count == candidates.length)
+							candidates = Arrays.copyOf(candidates, count * 2);
+						candidates[count++] = slot;
+					}
+				}
+			}
+		}
+		if (minColumn != maxColumn || minRow != maxRow)
+			Arrays.sort(candidates, 0, count);
+		return count;
+	}
+
+	/**
+	 * Returns the buffer filled by the last call of {@code query}.
+	 */
+
+	int[] getCandidates() {
+		return candidates;
+	}
+
+	/** Returns the number of slots of this grid, including empty slots of destroyed blocks. */
+
+	int getSlotCount() {
+		return slots.length;
+	}
+
+	/** Returns the block in the given slot, or {@code null} if that block was destroyed. */
+
+	BlockState getBlock(int slot) {
+		return slots[slot];
+	}
+
+	/**
+	 * Replaces the block in the given slot by the given block, which covers the same rectangle, or empties the slot if the given block is {@code null}.
+	 *
+	 * @pre | getBlock(slot) != null
+	 * @pre | block == null || block.getTopLeft().equals(getBlock(slot).getTopLeft()) && block.getBottomRight().equals(getBlock(slot).getBottomRight())
+	 *
+	 * @mutates | this
+	 *
+	 * @post | getBlock(slot) == block
+	 */
+
+	void replace(int slot, BlockState block) {
+		if (block == null) {
+			BlockState old = slots[slot];
+			int minColumn = column(old.getTopLeft().getX());
+			int maxColumn = column(old.getBottomRight().getX());
+			int minRow = row(old.getTopLeft().getY());
+			int maxRow = row(old.getBottomRight().getY());
+			for (int r=minRow; r<=maxRow; r++) {
+				for (int c=minColumn; c<=maxColumn; c++) {
+					removeFromCell(r * columns + c, slot);
+				}
+			}
+			blockCount--;
+		}
+		slots[slot] = block;
+	}
+
+	/**
+	 * Returns a new array containing the blocks that have not been destroyed, in slot order.
+	 *
+	 * @creates | result
+	 */
+
+	BlockState[] getBlocks() {
+		BlockState[] result = new BlockState[blockCount];
+		int i = 0;
+		for (BlockState block: slots) {
+			if (block != null)
+				result[i++] = block;
+		}
+		return result;
+	}
+
+}
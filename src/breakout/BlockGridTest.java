@@ -0,0 +1,79 @@
+package breakout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import breakout.utils.Point;
+
+class BlockGridTest {
+
+	private BreakoutFacade facade = new BreakoutFacade();
+	private Point br = new Point(50000, 30000);
+
+	private BlockState block1;
+	private BlockState block2;
+	private BlockState block3;
+	private BlockState sturdyBlock;
+	private BlockGrid grid;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		block1 = facade.createNormalBlockState(new Point(0, 0), new Point(5000, 3000));
+		block2 = facade.createNormalBlockState(new Point(5000, 0), new Point(10000, 3000));
+		block3 = facade.createPowerupBallBlockState(new Point(40000, 20000), new Point(45000, 23000));
+		sturdyBlock = facade.createSturdyBlockState(new Point(20000, 10000), new Point(25000, 13000), 3);
+		grid = new BlockGrid(new BlockState[] {block1, block2, block3, sturdyBlock}, br);
+	}
+
+	@Test
+	void testQuery() {
+		// A box touching the shared edge of block1 and block2 returns both, in slot order
+		int count = grid.query(4600, 1000, 5400, 1700);
+		assertEquals(2, count);
+		assertArrayEquals(new int[] {0, 1}, Arrays.copyOf(grid.getCandidates(), count));
+
+		// Every block whose rectangle touches the box is a candidate
+		count = grid.query(19300, 13000, 20000, 13700);
+		assertTrue(Arrays.stream(grid.getCandidates(), 0, count).anyMatch(slot -> grid.getBlock(slot) == sturdyBlock));
+
+		count = grid.query(0, 0, 50000, 30000);
+		assertEquals(4, count);
+	}
+
+	@Test
+	void testReplace() {
+		BlockState damaged = sturdyBlock.specialBlockHandler();
+		grid.replace(3, damaged);
+		assertSame(damaged, grid.getBlock(3));
+		assertArrayEquals(new BlockState[] {block1, block2, block3, damaged}, grid.getBlocks());
+
+		grid.replace(1, null);
+		assertNull(grid.getBlock(1));
+		assertArrayEquals(new BlockState[] {block1, block3, damaged}, grid.getBlocks());
+		int count = grid.query(4600, 1000, 5400, 1700);
+		assertArrayEquals(new int[] {0}, Arrays.copyOf(grid.getCandidates(), count));
+	}
+
+	@Test
+	void testEmptyGrid() {
+		BlockGrid emptyGrid = new BlockGrid(new BlockState[0], br);
+		assertEquals(0, emptyGrid.query(0, 0, 50000, 30000));
+		assertEquals(0, emptyGrid.getBlocks().length);
+	}
+
+	@Test
+	void testTinyBlockInLargeField() {
+		BlockState tiny = facade.createNormalBlockState(new Point(20000, 10000), new Point(20001, 10001));
+		BlockGrid sparse = new BlockGrid(new BlockState[] {tiny}, br);
+		assertEquals(1, sparse.query(19000, 9000, 21000, 11000));
+		assertEquals(0, sparse.getCandidates()[0]);
+
+		BlockGrid huge = new BlockGrid(new BlockState[] {tiny}, new Point(Integer.MAX_VALUE, Integer.MAX_VALUE));
+		assertEquals(1, huge.query(0, 0, Integer.MAX_VALUE, Integer.MAX_VALUE));
+	}
+
+}
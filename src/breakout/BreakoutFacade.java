@@ -116,6 +116,14 @@ public class BreakoutFacade {
 	public Alpha[] getAlphas(BreakoutState breakoutState) {
 		return breakoutState.getAlphas();
 	}
+	
+	public BallAlphaGraph getBallAlphaGraph(BreakoutState breakoutState) {
+		return breakoutState.getBallAlphaGraph();
+	}
+	
+	public void visit(BreakoutState breakoutState, BreakoutStateVisitor visitor) {
+		breakoutState.accept(visitor);
+	}
 
 	public Color getColor(BlockState block) {
 		return block.getColor();
@@ -212,6 +220,10 @@ public class BreakoutFacade {
 		state.tick(paddleDir, elapsedTime);
 	}
 	
+	public void setSweptCollisions(BreakoutState state, boolean sweptCollisions) {
+		state.setSweptCollisions(sweptCollisions);
+	}
+	
 	public void tickDuring(BreakoutState state, int elapsedTime) {
 		for (int i = 0 ; i + 20 <= elapsedTime ; i += 20) {
 			tick(state, 0, 20);
@@ -221,6 +233,24 @@ public class BreakoutFacade {
 		}
 	}
 	
+	/**
+	 * Has the same result as {@code tickDuring}, but replaces a run of 20 millisecond ticks by one longer tick 
+	 * while no ball or alpha is about to hit anything, so that it needs fewer ticks on a quiet field.
+	 */
+	public void tickDuringAdaptive(BreakoutState state, int elapsedTime) {
+		int i = 0;
+		while (i + 20 <= elapsedTime) {
+			// Every tick boundary that is skipped must fall within the quiet time
+			int quietTime = state.quietTime(elapsedTime - i - 20);
+			int ticks = quietTime / 20 + 1;
+			tick(state, 0, ticks * 20);
+			i += ticks * 20;
+		}
+		if( elapsedTime % 20 != 0) { 
+		  tick(state, 0, elapsedTime % 20);
+		}
+	}
+	
 	public boolean isWon(BreakoutState state) {
 		return state.isWon(); 
 	}
@@ -279,18 +309,11 @@ public class BreakoutFacade {
 	}
 	
 	public boolean collidesWith(Ball ball, Rect rect) {
-		return ball.raaktRechthoek(rect, 1) || 
-				ball.raaktRechthoek(rect, 2) || 
-				ball.raaktRechthoek(rect, 3) || 
-				ball.raaktRechthoek(rect, 4); 
+		return ball.collisionSides(rect) != 0;
 	}
 	
 	public boolean collidesWith(Alpha alpha, Rect rect) {
-		Ball tempAlpha = alpha.createNormalBallFromAlpha();
-		return tempAlpha.raaktRechthoek(rect, 1) || 
-				tempAlpha.raaktRechthoek(rect, 2) || 
-				tempAlpha.raaktRechthoek(rect, 3) || 
-				tempAlpha.raaktRechthoek(rect, 4); 
+		return alpha.collisionSides(rect) != 0;
 	}
 	
 	
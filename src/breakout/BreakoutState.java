@@ -3,9 +3,16 @@ package breakout;
 import breakout.utils.Vector;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
+import breakout.events.GameEventRing;
+import breakout.events.GameEventType;
+import breakout.metrics.TickCounter;
+import breakout.metrics.TickMetrics;
+import breakout.metrics.TickPhase;
 import breakout.radioactivity.*;
 import breakout.utils.Point;
 import breakout.utils.Rect;
@@ -63,19 +70,23 @@ public class BreakoutState {
 			new Vector(-2, 2), new Vector(2, 2), new Vector(-2, -2) };
 	public static int MAX_ELAPSED_TIME = 50;
 	private static final int MAX_SUPERCHARGED_TIME = 10000;
+	private static final Ball[] NO_BALLS = new Ball[0];
+	private static final Alpha[] NO_ALPHAS = new Alpha[0];
 	
 	/**
 	 * @invar | balls != null
-	 * @invar | Arrays.stream(balls).noneMatch(e -> e == null)
-	 * @invar | IntStream.range(0, balls.length).allMatch(b -> balls[b].getAlphas().stream().allMatch(a -> a.getBalls().contains(balls[b])))
-	 * @invar | IntStream.range(0, balls.length).noneMatch(i -> IntStream.range(0, balls.length).anyMatch(e -> balls[i] == balls[e] && i != e) )
-	 * @invar | Arrays.stream(balls).allMatch(b -> (new Rect(new Point(0, 0), bottomRight)).contains(new Circle(b.getCenter(), b.getDiameter())) )
+	 * @invar | 0 <= ballCount && ballCount <= balls.length
+	 * @invar | Arrays.stream(balls, 0, ballCount).noneMatch(e -> e == null)
+	 * @invar | IntStream.range(0, ballCount).allMatch(b -> balls[b].getAlphas().stream().allMatch(a -> a.getBalls().contains(balls[b])))
+	 * @invar | IntStream.range(0, ballCount).noneMatch(i -> IntStream.range(0, ballCount).anyMatch(e -> balls[i] == balls[e] && i != e) )
+	 * @invar | Arrays.stream(balls, 0, ballCount).allMatch(b -> (new Rect(new Point(0, 0), bottomRight)).contains(new Circle(b.getCenter(), b.getDiameter())) )
 	 * 
 	 * @invar | alphas != null
-	 * @invar | Arrays.stream(alphas).noneMatch(e -> e == null)
-	 * @invar | IntStream.range(0, alphas.length).allMatch(a -> alphas[a].getBalls().stream().allMatch(b -> b.getAlphas().contains(alphas[a])))
-	 * @invar | IntStream.range(0, alphas.length).noneMatch(i -> IntStream.range(0, alphas.length).anyMatch(e -> alphas[i] == alphas[e] && i != e) )
-	 * @invar | Arrays.stream(alphas).allMatch(a -> (new Rect(new Point(0, 0), bottomRight)).contains(new Circle(a.getCenter(), a.getDiameter())) )
+	 * @invar | 0 <= alphaCount && alphaCount <= alphas.length
+	 * @invar | Arrays.stream(alphas, 0, alphaCount).noneMatch(e -> e == null)
+	 * @invar | IntStream.range(0, alphaCount).allMatch(a -> alphas[a].getBalls().stream().allMatch(b -> b.getAlphas().contains(alphas[a])))
+	 * @invar | IntStream.range(0, alphaCount).noneMatch(i -> IntStream.range(0, alphaCount).anyMatch(e -> alphas[i] == alphas[e] && i != e) )
+	 * @invar | Arrays.stream(alphas, 0, alphaCount).allMatch(a -> (new Rect(new Point(0, 0), bottomRight)).contains(new Circle(a.getCenter(), a.getDiameter())) )
 	 * 
 	 * @invar | blocks != null
 	 * @invar | Arrays.stream(blocks).noneMatch(e -> e == null)
@@ -88,14 +99,31 @@ public class BreakoutState {
 	 * @invar | (new Rect(new Point(0, 0), bottomRight)).contains(new Rect(paddle.getTopLeft(), paddle.getBottomRight()))
 	 */
 	
-	/** @representationObject */
+	/** 
+	 * The balls in the game are the first {@code ballCount} elements; the array has room for more, so that adding a ball rarely reallocates it.
+	 * 
+	 * @representationObject 
+	 */
 	private Ball[] balls;
-	/** @representationObject */
+	private int ballCount;
+	/** 
+	 * The alphas in the game are the first {@code alphaCount} elements, like for {@code balls}.
+	 * 
+	 * @representationObject 
+	 */
 	private Alpha[] alphas;
+	private int alphaCount;
 	/** @representationObject */
 	private BlockState[] blocks;
+	/** @representationObject */
+	private BlockGrid blockGrid;
 	private final Point bottomRight;
 	private PaddleState paddle;
+	private boolean sweptCollisions;
+	/** Receives the timings and counts of every tick, or {@code null} if ticks are not measured. */
+	private TickMetrics tickMetrics;
+	/** Receives the gameplay events of every tick, or {@code null} if they are not published. */
+	private GameEventRing eventRing;
 	
 	/**
 	 * Initializes this object so that it stores the given balls, blocks, bottomRight point paddle.
@@ -151,36 +179,14 @@ public class BreakoutState {
 	 */
 	
 	public BreakoutState(Ball[] balls, BlockState[] blocks, Point bottomRight, PaddleState paddle) {
-		
-		if (balls == null || blocks == null || bottomRight == null || paddle == null) {
-			throw new IllegalArgumentException("BreakoutState arguments can't be null");
-		}
-		if (Arrays.stream(balls).anyMatch(b -> b == null) || Arrays.stream(blocks).anyMatch(b -> b == null)) {
-			throw new IllegalArgumentException("balls and blocks may not have elements that are null");
-		}
-		
-		if (IntStream.range(0, balls.length).anyMatch(i -> IntStream.range(0, balls.length).anyMatch(e -> balls[i] == balls[e] && i != e) )) {
-			throw new IllegalArgumentException("There should be no duplicate balls");
-		}
-		
-		if (Arrays.stream(balls).anyMatch(b -> !(new Rect(new Point(0, 0), bottomRight)).contains(new Circle(b.getCenter(), b.getDiameter())) ) || 
-				Arrays.stream(blocks).anyMatch(e -> !(new Rect(new Point(0, 0), bottomRight)).contains(new Rect(e.getTopLeft(), e.getBottomRight()))) ) {
-			throw new IllegalArgumentException("balls and blocks may not have elements that are outside of the field");
-		}
-		
-		if (paddle.getBottomRight().getX() > bottomRight.getX() || paddle.getBottomRight().getY() > bottomRight.getY() || paddle.getTopLeft().getX() < 0 || paddle.getTopLeft().getY() < 0) {
-			throw new IllegalArgumentException("paddle should be inside of the field");
-		}
-			
-		if (bottomRight.getX() < 0 || bottomRight.getY() < 0) {
-			throw new IllegalArgumentException("bottomRight should not be to the left of or above (0, 0)");
-		}
-			
-		Alpha[] alphas = new Alpha[0];
+		validate(balls, NO_ALPHAS, blocks, bottomRight, paddle);
 		
 		this.balls = balls.clone();
-		this.alphas = alphas;
+		this.ballCount = balls.length;
+		this.alphas = NO_ALPHAS;
+		this.alphaCount = 0;
 		this.blocks = blocks.clone();
+		this.blockGrid = new BlockGrid(this.blocks, bottomRight);
 		this.bottomRight = bottomRight;
 		this.paddle = paddle;
 	}
@@ -255,7 +261,63 @@ public class BreakoutState {
 	 */
 	
 	public BreakoutState(Ball[] balls, Alpha[] alphas, BlockState[] blocks, Point bottomRight, PaddleState paddle) {
+		validate(balls, alphas, blocks, bottomRight, paddle);
 		
+		initialClone(balls, alphas);
+		this.blocks = blocks.clone();
+		this.blockGrid = new BlockGrid(this.blocks, bottomRight);
+		this.bottomRight = bottomRight;
+		this.paddle = paddle;
+	}
+	
+	/**
+	 * Initializes this object with the given balls and alphas, without copying them or checking any invariants.
+	 * The balls and alphas are used as they are, so they must not be referenced by anything else.
+	 */
+	
+	private BreakoutState(Ball[] balls, int ballCount, Alpha[] alphas, int alphaCount, BlockState[] blocks, Point bottomRight, PaddleState paddle) {
+		this.balls = balls;
+		this.ballCount = ballCount;
+		this.alphas = alphas;
+		this.alphaCount = alphaCount;
+		this.blocks = blocks;
+		this.blockGrid = new BlockGrid(blocks, bottomRight);
+		this.bottomRight = bottomRight;
+		this.paddle = paddle;
+	}
+	
+	/**
+	 * Returns a new state that stores the given balls, alphas, blocks, bottomRight point and paddle, without checking the invariants or copying anything.
+	 * This is meant for states that were built by this program itself, such as the checkpoints of a replay, which are known to be valid. 
+	 * The new state takes the given balls, alphas and arrays over, so the caller must not use them anymore.
+	 * 
+	 * @pre | balls != null && Arrays.stream(balls).noneMatch(b -> b == null)
+	 * @pre | alphas != null && Arrays.stream(alphas).noneMatch(a -> a == null)
+	 * @pre | blocks != null && Arrays.stream(blocks).noneMatch(b -> b == null)
+	 * @pre | bottomRight != null && bottomRight.getX() >= 0 && bottomRight.getY() >= 0
+	 * @pre | paddle != null
+	 * @pre The arguments satisfy every other condition under which the constructor {@code BreakoutState(balls, alphas, blocks, bottomRight, paddle)} does not throw
+	 * @pre Every ball and alpha is only linked to balls and alphas among the given ones
+	 * 		| Arrays.stream(balls).allMatch(b -> b.getAlphas().stream().allMatch(a -> Arrays.asList(alphas).contains(a))) 
+	 * 
+	 * @post | result != null
+	 * @post | Arrays.equals(result.getBlocks(), blocks)
+	 * @post | result.getBalls().length == balls.length
+	 * @post | result.getAlphas().length == alphas.length
+	 * @post | result.getBottomRight() == bottomRight
+	 * @post | result.getPaddle() == paddle
+	 */
+	
+	public static BreakoutState createTrusted(Ball[] balls, Alpha[] alphas, BlockState[] blocks, Point bottomRight, PaddleState paddle) {
+		return new BreakoutState(balls, balls.length, alphas, alphas.length, blocks, bottomRight, paddle);
+	}
+	
+	/**
+	 * Throws an {@code IllegalArgumentException} if the given arguments break any of the conditions documented by the constructors.
+	 * Every check takes time linear in the number of balls, alphas, links and blocks.
+	 */
+	
+	private static void validate(Ball[] balls, Alpha[] alphas, BlockState[] blocks, Point bottomRight, PaddleState paddle) {
 		if (balls == null || alphas == null || blocks == null || bottomRight == null || paddle == null) {
 			throw new IllegalArgumentException("BreakoutState arguments can't be null");
 		}
@@ -264,105 +326,72 @@ public class BreakoutState {
 		}
 		
 		for (Ball ball: balls) {
-			for (Alpha alpha: ball.getAlphas()) {
-				if (!alpha.getBalls().contains(ball))
+			ball.forEachLinkedAlpha(alpha -> {
+				if (!alpha.isLinkedTo(ball))
 					throw new IllegalArgumentException("Bidirectional association error: Ball is linked to alpha, but alpha isn't linked to ball");
-			}
+			});
 		}
 		
 		for (Alpha alpha: alphas) {
-			for (Ball ball: alpha.getBalls()) {
-				if (!ball.getAlphas().contains(alpha))
+			alpha.forEachLinkedBall(ball -> {
+				if (!ball.isLinkedTo(alpha))
 					throw new IllegalArgumentException("Bidirectional association error: Alpha is linked to ball, but ball isn't linked to alpha");
-			}
+			});
 		}
 		
-		if (IntStream.range(0, balls.length).anyMatch(i -> IntStream.range(0, balls.length).anyMatch(e -> balls[i] == balls[e] && i != e) ))
-			throw new IllegalArgumentException("There should be no duplicate balls");
+		Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>(2 * (balls.length + alphas.length)));
+		for (Ball ball: balls) {
+			if (!seen.add(ball))
+				throw new IllegalArgumentException("There should be no duplicate balls");
+		}
+		for (Alpha alpha: alphas) {
+			if (!seen.add(alpha))
+				throw new IllegalArgumentException("There should be no duplicate alphas");
+		}
 		
-		if (IntStream.range(0, alphas.length).anyMatch(i -> IntStream.range(0, alphas.length).anyMatch(e -> alphas[i] == alphas[e] && i != e) ))
-			throw new IllegalArgumentException("There should be no duplicate alphas");
-			
-			
-		if (Arrays.stream(balls).anyMatch(b -> !(new Rect(new Point(0, 0), bottomRight)).contains(new Circle(b.getCenter(), b.getDiameter())) ) ||
-				Arrays.stream(alphas).anyMatch(a -> !(new Rect(new Point(0, 0), bottomRight)).contains(new Circle(a.getCenter(), a.getDiameter())) ) ||
-				Arrays.stream(blocks).anyMatch(e -> !(new Rect(new Point(0, 0), bottomRight)).contains(new Rect(e.getTopLeft(), e.getBottomRight())) ) ) {
-			throw new IllegalArgumentException("balls, alphas and blocks may not have elements that are outside of the field");
+		int width = bottomRight.getX();
+		int height = bottomRight.getY();
+		for (Ball ball: balls) {
+			if (!insideField(ball, width, height))
+				throw new IllegalArgumentException("balls, alphas and blocks may not have elements that are outside of the field");
+		}
+		for (Alpha alpha: alphas) {
+			if (!insideField(alpha, width, height))
+				throw new IllegalArgumentException("balls, alphas and blocks may not have elements that are outside of the field");
+		}
+		for (BlockState block: blocks) {
+			if (block.getTopLeft().getX() < 0 || block.getTopLeft().getY() < 0 || block.getBottomRight().getX() > width || block.getBottomRight().getY() > height)
+				throw new IllegalArgumentException("balls, alphas and blocks may not have elements that are outside of the field");
 		}
 		
-		if (paddle.getBottomRight().getX() > bottomRight.getX() || paddle.getBottomRight().getY() > bottomRight.getY() || paddle.getTopLeft().getX() < 0 || paddle.getTopLeft().getY() < 0) {
+		if (paddle.getBottomRight().getX() > width || paddle.getBottomRight().getY() > height || paddle.getTopLeft().getX() < 0 || paddle.getTopLeft().getY() < 0) {
 			throw new IllegalArgumentException("paddle should be inside of the field");
 		}
 			
-		if (bottomRight.getX() < 0 || bottomRight.getY() < 0) {
+		if (width < 0 || height < 0) {
 			throw new IllegalArgumentException("bottomRight should not be to the left of or above (0, 0)");
 		}
-			
-		initialClone(balls, alphas);
-		this.blocks = blocks.clone();
-		this.bottomRight = bottomRight;
-		this.paddle = paddle;
 	}
 	
-	private void initialClone(Ball[] balls, Alpha[] alphas) {
-		Ball[] ballRes = new Ball[balls.length];
-		Alpha[] alphaRes = new Alpha[alphas.length];
-		
-		for (int i=0; i<balls.length; i++) {
-			ballRes[i] = balls[i].cloneBallWithChangedVelocity(BALL_VEL_VARIATIONS[0]);
-		}
-		for (int i=0; i<alphas.length; i++) {
-			alphaRes[i] = new Alpha(alphas[i].getCenter(), alphas[i].getDiameter(), alphas[i].getVelocity());
-		}
-		for (int i=0; i<balls.length; i++) {
-			for (int j=0; j<alphas.length; j++) {
-				if (balls[i].getAlphas().contains(alphas[j])) {
-					ballRes[i].linkTo(alphaRes[j]);
-				}
-			}
-		}
-		this.balls = ballRes;
-		this.alphas = alphaRes;
-	}
+	/**
+	 * Returns whether the field from {@code (0, 0)} to {@code (width, height)} contains the given ball or alpha, 
+	 * like {@code new Rect(new Point(0, 0), new Point(width, height)).contains(new Circle(body.getCenter(), body.getDiameter()))}.
+	 */
 	
-	private Ball[] cloneBallsArray(Ball[] balls) {
-		Ball[] ballRes = new Ball[balls.length];
-		Alpha[] alphaRes = new Alpha[alphas.length];
-		
-		for (int i=0; i<balls.length; i++) {
-			ballRes[i] = balls[i].cloneBallWithChangedVelocity(BALL_VEL_VARIATIONS[0]);
-		}
-		for (int i=0; i<alphas.length; i++) {
-			alphaRes[i] = new Alpha(alphas[i].getCenter(), alphas[i].getDiameter(), alphas[i].getVelocity());
-		}
-		for (int i=0; i<balls.length; i++) {
-			for (int j=0; j<alphas.length; j++) {
-				if (balls[i].getAlphas().contains(alphas[j])) {
-					ballRes[i].linkTo(alphaRes[j]);
-				}
-			}
-		}
-		return ballRes;
+	private static boolean insideField(MovingBody body, int width, int height) {
+		int diameter = body.getDiameter();
+		int radius = diameter / 2;
+		int x = body.getCenterX();
+		int y = body.getCenterY();
+		return diameter <= width && diameter <= height && radius <= x && x <= width - radius && radius <= y && y <= height - radius;
 	}
 	
-	private Alpha[] cloneAlphas(Alpha[] alphas) {
-		Ball[] ballRes = new Ball[balls.length];
-		Alpha[] alphaRes = new Alpha[alphas.length];
-		
-		for (int i=0; i<balls.length; i++) {
-			ballRes[i] = balls[i].cloneBallWithChangedVelocity(BALL_VEL_VARIATIONS[0]);
-		}
-		for (int i=0; i<alphas.length; i++) {
-			alphaRes[i] = new Alpha(alphas[i].getCenter(), alphas[i].getDiameter(), alphas[i].getVelocity());
-		}
-		for (int i=0; i<balls.length; i++) {
-			for (int j=0; j<alphas.length; j++) {
-				if (balls[i].getAlphas().contains(alphas[j])) {
-					ballRes[i].linkTo(alphaRes[j]);
-				}
-			}
-		}
-		return alphaRes;
+	private void initialClone(Ball[] balls, Alpha[] alphas) {
+		BallAlphaGraph copy = BallAlphaGraph.copyOf(balls, alphas);
+		this.balls = copy.getBalls();
+		this.ballCount = this.balls.length;
+		this.alphas = copy.getAlphas();
+		this.alphaCount = this.alphas.length;
 	}
 	
 	/**
@@ -374,7 +403,7 @@ public class BreakoutState {
 	 */
 	
 	public Ball[] getBalls() {
-		return cloneBallsArray(balls);
+		return BallAlphaGraph.copyOf(liveBalls(), liveAlphas()).getBalls();
 	}
 	
 	/**
@@ -386,7 +415,133 @@ public class BreakoutState {
 	 */
 	
 	public Alpha[] getAlphas() {
-		return cloneAlphas(alphas);
+		return BallAlphaGraph.copyOf(liveBalls(), liveAlphas()).getAlphas();
+	}
+	
+	/**
+	 * Returns this object's own balls array, which later ticks replace or change. The caller must not change it.
+	 * Only the first {@code getBallCount()} elements are balls in the game.
+	 * 
+	 * @peerObjects (package-level)
+	 */
+	
+	Ball[] getBallsInternal() {
+		return balls;
+	}
+	
+	/** Returns the number of balls in the game. */
+	
+	int getBallCount() {
+		return ballCount;
+	}
+	
+	/**
+	 * Returns this object's own alphas array, which later ticks replace or change. The caller must not change it.
+	 * Only the first {@code getAlphaCount()} elements are alphas in the game.
+	 * 
+	 * @peerObjects (package-level)
+	 */
+	
+	Alpha[] getAlphasInternal() {
+		return alphas;
+	}
+	
+	/** Returns the number of alphas in the game. */
+	
+	int getAlphaCount() {
+		return alphaCount;
+	}
+	
+	/**
+	 * Returns this object's own blocks array. A tick that changes any block replaces the array instead of changing it, 
+	 * so the same array means the same blocks. The caller must not change it.
+	 * 
+	 * @peerObjects (package-level)
+	 */
+	
+	BlockState[] getBlocksInternal() {
+		return blocks;
+	}
+	
+	/** Returns a new array holding the balls in the game. */
+	
+	private Ball[] liveBalls() {
+		return Arrays.copyOf(balls, ballCount);
+	}
+	
+	/** Returns a new array holding the alphas in the game. */
+	
+	private Alpha[] liveAlphas() {
+		return Arrays.copyOf(alphas, alphaCount);
+	}
+	
+	/**
+	 * Returns a deep copy of this object's balls and alphas in which the copied balls and alphas are linked to each other.
+	 * Calling {@code getBalls()} and {@code getAlphas()} copies the graph twice and gives balls and alphas that are not linked to each other.
+	 * 
+	 * @inspects | this
+	 * 
+	 * @creates | result
+	 * 
+	 * @post | IntStream.range(0, getBalls().length).allMatch(i -> result.getBalls()[i].equalContent(getBalls()[i]))
+	 * @post | IntStream.range(0, getAlphas().length).allMatch(i -> result.getAlphas()[i].equalContent(getAlphas()[i]))
+	 */
+	
+	public BallAlphaGraph getBallAlphaGraph() {
+		return BallAlphaGraph.copyOf(liveBalls(), liveAlphas());
+	}
+	
+	/**
+	 * Returns a deep copy of this object, which behaves exactly like this object when it is ticked with the same inputs.
+	 * 
+	 * @inspects | this
+	 * 
+	 * @creates | result
+	 * 
+	 * @post | IntStream.range(0, getBalls().length).allMatch(i -> result.getBalls()[i].equalContent(getBalls()[i]))
+	 * @post | IntStream.range(0, getAlphas().length).allMatch(i -> result.getAlphas()[i].equalContent(getAlphas()[i]))
+	 * @post | Arrays.equals(result.getBlocks(), getBlocks())
+	 * @post | result.getBottomRight().equals(getBottomRight())
+	 * @post | result.getPaddle().equals(getPaddle())
+	 * @post | result.isSweptCollisions() == isSweptCollisions()
+	 */
+	
+	public BreakoutState copy() {
+		// This state is valid, so its copy does not need to be checked again
+		BallAlphaGraph graph = BallAlphaGraph.copyOf(liveBalls(), liveAlphas());
+		BreakoutState result = new BreakoutState(graph.getBalls(), graph.getBalls().length, graph.getAlphas(), graph.getAlphas().length, 
+				blocks.clone(), bottomRight, paddle);
+		result.sweptCollisions = sweptCollisions;
+		return result;
+	}
+	
+	/**
+	 * Lets the given visitor visit the blocks, balls, alphas, links between balls and alphas, and the paddle of this object, in that order, 
+	 * without copying them. Blocks, balls and alphas are visited in the order of {@code getBlocks()}, {@code getBalls()} and {@code getAlphas()}.
+	 * The visitor must not change this object while it is visiting it.
+	 * 
+	 * @pre | visitor != null
+	 * 
+	 * @inspects | this
+	 */
+	
+	public void accept(BreakoutStateVisitor visitor) {
+		for (BlockState block: blocks) {
+			visitor.visitBlock(block);
+		}
+		for (int i=0; i<ballCount; i++) {
+			Ball ball = balls[i];
+			visitor.visitBall(ball.getCenter(), ball.getDiameter(), ball.getVelocity(), ball.getColor(), ball.getEcharge());
+		}
+		for (int i=0; i<alphaCount; i++) {
+			Alpha alpha = alphas[i];
+			visitor.visitAlpha(alpha.getCenter(), alpha.getDiameter(), alpha.getVelocity(), alpha.getColor());
+		}
+		for (int i=0; i<ballCount; i++) {
+			Point ballCenter = balls[i].getCenter();
+			balls[i].forEachLinkedAlphaCenter(alphaCenter -> visitor.visitLink(ballCenter, alphaCenter));
+		}
+		visitor.visitPaddle(paddle);
 	}
 	
 	/**
@@ -427,47 +582,254 @@ public class BreakoutState {
 	}
 	
 	/**
-	 * Calls all methods nescessary for moving the balls and alphas, handling collisions and handling interactions between blocks, balls, alphas and the paddle
+	 * Returns whether this object is in swept collision mode, in which a ball hits every block along its path during a tick, 
+	 * however long the tick is. Otherwise, collisions with blocks are only checked at the end of each tick, 
+	 * so a fast ball can pass through a thin block during a long tick.
+	 */
+	
+	public boolean isSweptCollisions() {
+		return sweptCollisions;
+	}
+	
+	/**
+	 * Turns swept collision mode on or off. It is off for a new object.
+	 * 
+	 * @mutates | this
+	 * 
+	 * @post | isSweptCollisions() == sweptCollisions
+	 */
+	
+	public void setSweptCollisions(boolean sweptCollisions) {
+		this.sweptCollisions = sweptCollisions;
+	}
+	
+	/** Returns the object that receives the timings and counts of the ticks of this object, or {@code null} if ticks are not measured. */
+	
+	public TickMetrics getTickMetrics() {
+		return tickMetrics;
+	}
+	
+	/**
+	 * Makes the given object receive the timings and counts of the ticks of this object from now on, or stops measuring ticks if it is {@code null}.
+	 * Ticks are not measured for a new object or a copy, and then measuring costs no more than a check per phase.
+	 * 
+	 * @mutates | this
+	 * 
+	 * @post | getTickMetrics() == tickMetrics
+	 */
+	
+	public void setTickMetrics(TickMetrics tickMetrics) {
+		this.tickMetrics = tickMetrics;
+	}
+	
+	/** Returns the ring into which the gameplay events of the ticks of this object are published, or {@code null} if they are not published. */
+	
+	public GameEventRing getEventRing() {
+		return eventRing;
+	}
+	
+	/**
+	 * Makes the ticks of this object publish their gameplay events into the given ring from now on, or stops publishing them if it is {@code null}.
+	 * The thread that ticks this object is the producer of the ring. 
+	 * Events are not published for a new object or a copy, and then publishing costs no more than a check per event.
+	 * 
+	 * @mutates | this
+	 * 
+	 * @post | getEventRing() == eventRing
+	 */
+	
+	public void setEventRing(GameEventRing eventRing) {
+		this.eventRing = eventRing;
+	}
+	
+	/**
+	 * Returns the largest time, not larger than {@code limit}, during which no ball or alpha hits a wall, a block or the paddle 
+	 * when it keeps moving in a straight line. Ticking this object with a paddle direction of {@code 0} then only moves the balls and alphas, 
+	 * so one tick of {@code n} milliseconds has the same result as several ticks that add up to {@code n} milliseconds 
+	 * as long as all but the last of them end within the returned time.
+	 * A ball that stops being supercharged during that time does so in both cases, so its supercharged time does not limit the result.
+	 * 
+	 * @pre | limit >= 0
+	 * 
+	 * @inspects | this
+	 * 
+	 * @post | 0 <= result && result <= limit
+	 */
+	
+	public int quietTime(int limit) {
+		int result = limit;
+		for (int i=0; i<ballCount; i++) {
+			result = quietTime(balls[i], result);
+		}
+		for (int i=0; i<alphaCount; i++) {
+			result = quietTime(alphas[i], result);
+		}
+		return result;
+	}
+	
+	/**
+	 * Returns the largest time, not larger than {@code limit}, during which the given ball hits no wall, block or paddle 
+	 * when it keeps moving in a straight line.
+	 * 
+	 * @pre | ball != null
+	 * @pre | limit >= 0
+	 * 
+	 * @inspects | this, ball
+	 * 
+	 * @post | 0 <= result && result <= limit
+	 */
+	
+	int quietTime(Ball ball, int limit) {
+		return quietTime(ball.getCenter(), ball.getDiameter(), ball.getVelocity(), true, limit);
+	}
+	
+	/**
+	 * Returns the largest time, not larger than {@code limit}, during which the given alpha hits no wall or paddle 
+	 * when it keeps moving in a straight line.
+	 * 
+	 * @pre | alpha != null
+	 * @pre | limit >= 0
+	 * 
+	 * @inspects | this, alpha
+	 * 
+	 * @post | 0 <= result && result <= limit
+	 */
+	
+	int quietTime(Alpha alpha, int limit) {
+		return quietTime(alpha.getCenter(), alpha.getDiameter(), alpha.getVelocity(), false, limit);
+	}
+	
+	/**
+	 * Returns the largest time, not larger than {@code limit}, during which a ball or alpha with the given center, diameter and velocity 
+	 * stays clear of the walls and the paddle, and of the blocks if {@code hitsBlocks} is true.
+	 */
+	
+	private int quietTime(Point center, int diameter, Vector velocity, boolean hitsBlocks, int limit) {
+		int radius = diameter/2;
+		int x = center.getX();
+		int y = center.getY();
+		int vx = velocity.getX();
+		int vy = velocity.getY();
+		// Stay strictly inside the field, where no wall is touched and moveBall does not clamp
+		int result = Math.min(limit, Math.min(
+				insideTime(x, vx, radius + 1, bottomRight.getX() - radius - 1), 
+				insideTime(y, vy, radius + 1, bottomRight.getY() - radius - 1)));
+		if (result <= 0)
+			return 0;
+		int impact = Ball.timeOfImpact(x, y, diameter, vx, vy, 
+				paddle.getTopLeft().getX(), paddle.getTopLeft().getY(), paddle.getBottomRight().getX(), paddle.getBottomRight().getY(), result);
+		if (impact != -1)
+			result = impact - 1;
+		if (hitsBlocks && result > 0) {
+			int endX = x + vx * result;
+			int endY = y + vy * result;
+			int candidateCount = blockGrid.query(Math.min(x, endX) - radius, Math.min(y, endY) - radius, Math.max(x, endX) + radius, Math.max(y, endY) + radius);
+			int[] candidates = blockGrid.getCandidates();
+			for (int c=0; c<candidateCount && result > 0; c++) {
+				BlockState block = blockGrid.getBlock(candidates[c]);
+				impact = Ball.timeOfImpact(x, y, diameter, vx, vy, 
+						block.getTopLeft().getX(), block.getTopLeft().getY(), block.getBottomRight().getX(), block.getBottomRight().getY(), result);
+				if (impact != -1)
+					result = impact - 1;
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Returns the last whole time at which {@code position + velocity * t} still lies between {@code min} and {@code max}, 
+	 * {@code Integer.MAX_VALUE} if it never leaves, or {@code 0} if it does not lie between them now.
+	 */
+	
+	private static int insideTime(int position, int velocity, int min, int max) {
+		if (position < min || position > max)
+			return 0;
+		if (velocity == 0)
+			return Integer.MAX_VALUE;
+		return velocity > 0 ? (max - position) / velocity : (position - min) / -velocity;
+	}
+	
+	/**
+	 * Calls all methods nescessary for moving the balls and alphas, handling collisions and handling interactions between blocks, balls, alphas and the paddle.
+	 * In swept collision mode, the balls handle the blocks they hit while they move, instead of after all balls and alphas have moved.
 	 * 
 	 * @mutates | this
 	 */
 	
 	public void tick(int paddleDir, int elapsedTime) {
+		long time = tickStarted();
 		
 		superchargedTimeHandler(elapsedTime);
+		time = phaseEnded(TickPhase.SUPERCHARGED_TIME, time);
 	
-		moveAllBalls(elapsedTime);
+		if (sweptCollisions)
+			sweptBallHandler(elapsedTime);
+		else
+			moveAllBalls(elapsedTime);
+		time = phaseEnded(TickPhase.MOVE_BALLS, time);
 		
 		moveAllAlphas(elapsedTime);
+		time = phaseEnded(TickPhase.MOVE_ALPHAS, time);
 	
 		wallCollisionHandler();
+		time = phaseEnded(TickPhase.WALLS, time);
 		
 		lowerWallCollisionHandler();
+		time = phaseEnded(TickPhase.LOWER_WALL, time);
 		
-		blockCollisionHandler();
+		if (!sweptCollisions)
+			blockCollisionHandler();
+		time = phaseEnded(TickPhase.BLOCKS, time);
 		
 		paddleBallCollisionHandler(paddleDir);
+		time = phaseEnded(TickPhase.PADDLE_BALLS, time);
 		
 		paddleAlphaCollisionHandler(paddleDir);
+		phaseEnded(TickPhase.PADDLE_ALPHAS, time);
+		
+		if (tickMetrics != null)
+			tickMetrics.tickEnded();
+	}
+	
+	/** Tells the tick metrics, if any, that a tick starts, and returns the time at which the first phase starts. */
+	
+	private long tickStarted() {
+		if (tickMetrics == null)
+			return 0;
+		tickMetrics.tickStarted();
+		return System.nanoTime();
+	}
+	
+	/** Tells the tick metrics, if any, that the given phase, which started at the given time, ended, and returns the time at which the next phase starts. */
+	
+	private long phaseEnded(TickPhase phase, long start) {
+		if (tickMetrics == null)
+			return 0;
+		long end = System.nanoTime();
+		tickMetrics.phaseEnded(phase, end - start);
+		return end;
+	}
+	
+	private void count(TickCounter counter, int amount) {
+		if (tickMetrics != null && amount > 0)
+			tickMetrics.counted(counter, amount);
 	}
 	
 	private void superchargedTimeHandler(int elapsedTime) {
-		for (int i=0;i<balls.length;i++) {
+		for (int i=0;i<ballCount;i++) {
 			balls[i] = balls[i].superchargedTimeHandler(elapsedTime, MAX_SUPERCHARGED_TIME);
 		}
 	}
 	
 	private void moveAllBalls(int elapsedTime) {		
-		for (int i=0; i<balls.length; i++) {
+		for (int i=0; i<ballCount; i++) {
 			balls[i].moveBall(getBottomRight(), elapsedTime);
 		}
 	}
 	
 	private void moveAllAlphas(int elapsedTime) {
-		for (int i=0; i<alphas.length; i++) {
-			Ball tempBall = new NormalBall(alphas[i].getCenter(), alphas[i].getDiameter(), alphas[i].getVelocity());
-			tempBall.moveBall(bottomRight, elapsedTime);
-			alphas[i].changeAlphaFromBall(tempBall);
+		for (int i=0; i<alphaCount; i++) {
+			alphas[i].move(bottomRight, elapsedTime);
 		}
 	}
 	
@@ -475,45 +837,43 @@ public class BreakoutState {
 		Rect leftWall = new Rect(new Point(-1, 0), new Point(0, bottomRight.getY()));
 		Rect topWall = new Rect(new Point(0, -1), new Point(getBottomRight().getX(), 0));
 		Rect rightWall = new Rect(new Point(bottomRight.getX(), 0), new Point(bottomRight.getX() + 1, bottomRight.getY()));
-		for (Ball ball: balls) {
+		for (int i=0; i<ballCount; i++) {
+			Ball ball = balls[i];
 			if (ball.raaktRechthoek(leftWall, 4)) {
 				ball.hitBlock(leftWall, false);
+				count(TickCounter.BALL_WALL_HITS, 1);
 				continue;
 			}
 			if (ball.raaktRechthoek(topWall, 1)) {
 				ball.hitBlock(topWall, false);
+				count(TickCounter.BALL_WALL_HITS, 1);
 				continue;
 			}
 			if (ball.raaktRechthoek(rightWall, 2)) {
 				ball.hitBlock(rightWall, false);
+				count(TickCounter.BALL_WALL_HITS, 1);
 				continue;
 			}
 		}
 		
-		for (Alpha alpha: alphas) {
-			Ball tempAlpha = alpha.createNormalBallFromAlpha();
-			if (tempAlpha.raaktRechthoek(leftWall, 4)) {
-				tempAlpha.hitBlock(leftWall, false);
-				alpha.changeAlphaFromBall(tempAlpha);
-				for (Ball ball: alpha.getBalls()) {
-					ball.linkedAlphaHitWall(alpha);
-				}
+		for (int i=0; i<alphaCount; i++) {
+			Alpha alpha = alphas[i];
+			if (alpha.raaktRechthoek(leftWall, 4)) {
+				alpha.bounce(alpha.collisionSides(leftWall));
+				alpha.forEachLinkedBall(ball -> ball.linkedAlphaHitWall(alpha));
+				count(TickCounter.ALPHA_WALL_HITS, 1);
 				continue;
 			}
-			if (tempAlpha.raaktRechthoek(topWall, 1)) {
-				tempAlpha.hitBlock(topWall, false);
-				alpha.changeAlphaFromBall(tempAlpha);
-				for (Ball ball: alpha.getBalls()) {
-					ball.linkedAlphaHitWall(alpha);
-				}
+			if (alpha.raaktRechthoek(topWall, 1)) {
+				alpha.bounce(alpha.collisionSides(topWall));
+				alpha.forEachLinkedBall(ball -> ball.linkedAlphaHitWall(alpha));
+				count(TickCounter.ALPHA_WALL_HITS, 1);
 				continue;
 			}
-			if (tempAlpha.raaktRechthoek(rightWall, 2)) {
-				tempAlpha.hitBlock(rightWall, false);
-				alpha.changeAlphaFromBall(tempAlpha);
-				for (Ball ball: alpha.getBalls()) {
-					ball.linkedAlphaHitWall(alpha);
-				}
+			if (alpha.raaktRechthoek(rightWall, 2)) {
+				alpha.bounce(alpha.collisionSides(rightWall));
+				alpha.forEachLinkedBall(ball -> ball.linkedAlphaHitWall(alpha));
+				count(TickCounter.ALPHA_WALL_HITS, 1);
 				continue;
 			}
 		}
@@ -521,88 +881,169 @@ public class BreakoutState {
 	
 	private void lowerWallCollisionHandler() {
 		Rect bottomWall = new Rect(new Point(0, bottomRight.getY()), new Point(bottomRight.getX(), bottomRight.getY()+1));
-		for (int i=0; i<balls.length; i++) {
+		for (int i=0; i<ballCount; i++) {
 			if (balls[i].raaktRechthoek(bottomWall, 3)) {
-				for (Alpha alpha: balls[i].getAlphas()) {
-					balls[i].unLink(alpha);
-				}
+				if (eventRing != null)
+					eventRing.publish(GameEventType.BALL_LOST, balls[i].getCenter(), null, 0);
+				balls[i].unLinkAll();
 				balls[i] = null;
 			}
 		}
-		balls = Arrays.stream(balls).filter(b -> b != null).toArray(Ball[]::new);
-		for (int i=0; i<alphas.length; i++) {
-			Ball tempAlpha = alphas[i].createNormalBallFromAlpha();
-			if (tempAlpha.raaktRechthoek(bottomWall, 3)) {
-				for (Ball ball: alphas[i].getBalls()) {
-					ball.unLink(alphas[i]);
-				}
+		int oldBallCount = ballCount;
+		ballCount = compact(balls, ballCount);
+		count(TickCounter.BALLS_LOST, oldBallCount - ballCount);
+		for (int i=0; i<alphaCount; i++) {
+			if (alphas[i].raaktRechthoek(bottomWall, 3)) {
+				if (eventRing != null)
+					eventRing.publish(GameEventType.ALPHA_LOST, alphas[i].getCenter(), null, 0);
+				alphas[i].unLinkAll();
 				alphas[i] = null;
 			}
 		}
-		alphas = Arrays.stream(alphas).filter(a -> a != null).toArray(Alpha[]::new);
+		int oldAlphaCount = alphaCount;
+		alphaCount = compact(alphas, alphaCount);
+		count(TickCounter.ALPHAS_LOST, oldAlphaCount - alphaCount);
 	}
 	
 	private void blockCollisionHandler() {
-		for (int j=0; j < balls.length;j++) {
-			BlockState[] tempBlocks = getBlocks();
-			for (int i=0; i<tempBlocks.length; i++) {
-				boolean geraakt = false;
-				Rect blockRechthoek = new Rect(tempBlocks[i].getTopLeft(), tempBlocks[i].getBottomRight());
-				if (balls[j].raaktRechthoek(blockRechthoek, 1)) {
-					geraakt = true;
-				}
-				if (balls[j].raaktRechthoek(blockRechthoek, 2)) {
-					geraakt = true;
-				}
-				if (balls[j].raaktRechthoek(blockRechthoek, 3)) {
-					geraakt = true;
-				}
-				if (balls[j].raaktRechthoek(blockRechthoek, 4)) {
-					geraakt = true;
+		boolean blocksChanged = false;
+		for (int j=0; j < ballCount;j++) {
+			blocksChanged |= blockHitHandler(j);
+		}
+		if (blocksChanged) {
+			blocks = blockGrid.getBlocks();
+		}
+	}
+	
+	/**
+	 * Handles every block the ball at the given index currently hits, and returns whether any block changed. 
+	 * The caller must update the blocks array from the grid when it did.
+	 */
+	
+	private boolean blockHitHandler(int j) {
+		boolean blocksChanged = false;
+		// Only the blocks in the grid cells that the ball's bounding box overlaps can be hit
+		int radius = balls[j].getDiameter()/2;
+		int x = balls[j].getCenterX();
+		int y = balls[j].getCenterY();
+		int candidateCount = blockGrid.query(x - radius, y - radius, x + radius, y + radius);
+		int[] candidates = blockGrid.getCandidates();
+		for (int c=0; c<candidateCount; c++) {
+			BlockState block = blockGrid.getBlock(candidates[c]);
+			Ball ball = balls[j];
+			int sides = Ball.collisionSides(ball.getCenterX(), ball.getCenterY(), ball.getDiameter(), 
+					ball.getVelocityX(), ball.getVelocityY(), 
+					block.getTopLeft().getX(), block.getTopLeft().getY(), block.getBottomRight().getX(), block.getBottomRight().getY());
+			if (sides != 0) {
+				ball.hitBlock(sides, block.getsDestroyedOnCollision());
+				PaddleState oldPaddle = paddle;
+				paddle = block.specialBlockHandler(paddle);
+				balls[j] = block.specialBlockHandler(balls[j]);
+				BlockState replacement = block.specialBlockHandler();
+				blockGrid.replace(candidates[c], replacement);
+				blocksChanged = true;
+				count(TickCounter.BLOCK_HITS, 1);
+				if (replacement == null)
+					count(TickCounter.BLOCKS_DESTROYED, 1);
+				if (eventRing != null)
+					publishBlockHit(block, replacement, oldPaddle, ball, balls[j]);
+			}
+		}
+		return blocksChanged;
+	}
+	
+	/** Publishes the events of a hit of the given ball on the given block, which changed the paddle and the ball into the given ones. */
+	
+	private void publishBlockHit(BlockState block, BlockState replacement, PaddleState oldPaddle, Ball oldBall, Ball newBall) {
+		if (replacement == null)
+			eventRing.publish(GameEventType.BLOCK_DESTROYED, block, null, 0);
+		else
+			eventRing.publish(GameEventType.BLOCK_DAMAGED, replacement, null, 
+					replacement instanceof SturdyBlockState sturdy ? sturdy.getHealth() : 0);
+		if (newBall != oldBall)
+			eventRing.publish(GameEventType.BALL_SUPERCHARGED, newBall.getCenter(), null, 0);
+		if (paddle != oldPaddle && paddle instanceof ReplicatingPaddleState replicating)
+			eventRing.publish(GameEventType.PADDLE_REPLICATING, paddle, null, replicating.getAmountOfReplications());
+	}
+	
+	/**
+	 * Moves every ball for the given elapsed time while handling the blocks it hits along the way. 
+	 * Each ball moves up to the first whole millisecond at which it hits a block, handles every block it hits there, 
+	 * and continues with its new velocity for the time that is left.
+	 */
+	
+	private void sweptBallHandler(int elapsedTime) {
+		boolean blocksChanged = false;
+		for (int j=0; j < ballCount; j++) {
+			int remaining = elapsedTime;
+			while (remaining > 0) {
+				Ball ball = balls[j];
+				int radius = ball.getDiameter()/2;
+				int x = ball.getCenterX();
+				int y = ball.getCenterY();
+				int vx = ball.getVelocityX();
+				int vy = ball.getVelocityY();
+				int endX = x + vx * remaining;
+				int endY = y + vy * remaining;
+				// Only the blocks in the grid cells that the bounding box of the whole path overlaps can be hit
+				int candidateCount = blockGrid.query(Math.min(x, endX) - radius, Math.min(y, endY) - radius, Math.max(x, endX) + radius, Math.max(y, endY) + radius);
+				int[] candidates = blockGrid.getCandidates();
+				int impact = -1;
+				for (int c=0; c<candidateCount; c++) {
+					BlockState block = blockGrid.getBlock(candidates[c]);
+					int t = Ball.timeOfImpact(x, y, ball.getDiameter(), vx, vy, 
+							block.getTopLeft().getX(), block.getTopLeft().getY(), block.getBottomRight().getX(), block.getBottomRight().getY(), 
+							impact == -1 ? remaining : impact - 1);
+					if (t != -1)
+						impact = t;
 				}
-				if (geraakt) {
-					balls[j].hitBlock(blockRechthoek, tempBlocks[i].getsDestroyedOnCollision());
-					paddle = tempBlocks[i].specialBlockHandler(paddle);
-					balls[j] = tempBlocks[i].specialBlockHandler(balls[j]);
-					tempBlocks[i] = tempBlocks[i].specialBlockHandler();
+				if (impact == -1) {
+					ball.moveBall(bottomRight, remaining);
+					break;
 				}
+				ball.moveBall(bottomRight, impact);
+				remaining -= impact;
+				blocksChanged |= blockHitHandler(j);
 			}
-			blocks = Arrays.stream(tempBlocks).filter(b -> b != null).toArray(BlockState[]::new);
+		}
+		if (blocksChanged) {
+			blocks = blockGrid.getBlocks();
 		}
 	}
 	
 	private void paddleBallCollisionHandler(int paddleDir) {
 		Rect paddleRect = new Rect(paddle.getTopLeft(), paddle.getBottomRight());
+		int paddleTop = paddle.getTopLeft().getY();
+		int paddleBottom = paddle.getBottomRight().getY();
 		Vector addedVelocity = PADDLE_VEL.scaledDiv(5).scaled(paddleDir);
-		for (Ball ball: balls) {
-			boolean geraakt = false;
+		// New balls and alphas are appended after the balls that were in the game when the check started, in the order they were created
+		for (int i=0, count=ballCount; i<count; i++) {
+			Ball ball = balls[i];
+			// Only a ball that overlaps the paddle's rows can hit any side of it
+			if (!inBand(ball.getCenterY(), ball.getDiameter(), paddleTop, paddleBottom))
+				continue;
+			
 			// Make it so the ball's velocity only gets addedVelocity when it hit the paddle on the top side
 			// Adding this velocity when the ball hit the paddle on another side is meaningless and causes slight problems
-			boolean topSide = false;
-			if (ball.raaktRechthoek(paddleRect, 3)) {
-				geraakt = true;
-				topSide = true;
-			}
-			if (ball.raaktRechthoek(paddleRect, 2)) {
-				geraakt = true;
-			}
-			if (ball.raaktRechthoek(paddleRect, 4)) {
-				geraakt = true;
-			}
-			if (ball.raaktRechthoek(paddleRect, 1)) {
-				geraakt = true;
-			}
+			int sides = ball.collisionSides(paddleRect);
+			boolean topSide = (sides & Ball.TOP_SIDE) != 0;
 			
-			if (geraakt) {
-				ball.hitBlock(paddleRect, false);
+			if (sides != 0) {
+				ball.hitBlock(sides, false);
 				if (topSide) {
 					ball.setVelocity(ball.getVelocity().plus(addedVelocity));
 				}
-				balls = Arrays.stream(paddle.hitPaddleReplicationHandler(balls, ball)).filter(b -> b != null).toArray(Ball[]::new);
+				for (Ball clone: paddle.hitPaddleReplicationHandler(NO_BALLS, ball)) {
+					addBall(clone);
+				}
 				paddle = paddle.ballHitPaddle();
 				Alpha newAlpha = new Alpha(ball.getCenter(), ball.getDiameter(), ball.getVelocity().plus(BALL_VEL_VARIATIONS[4]));
 				ball.linkTo(newAlpha);
-				alphas = Stream.concat(Arrays.stream(alphas), Stream.of(newAlpha)).toArray(Alpha[]::new);
+				addAlpha(newAlpha);
+				if (eventRing != null)
+					eventRing.publish(GameEventType.LINK_CREATED, ball.getCenter(), newAlpha.getCenter(), 0);
+				count(TickCounter.BALL_PADDLE_HITS, 1);
+				count(TickCounter.LINKS_CREATED, 1);
 				
 			}
 		}
@@ -610,39 +1051,82 @@ public class BreakoutState {
 	
 	private void paddleAlphaCollisionHandler(int paddleDir) {
 		Rect paddleRect = new Rect(paddle.getTopLeft(), paddle.getBottomRight());
+		int paddleTop = paddle.getTopLeft().getY();
+		int paddleBottom = paddle.getBottomRight().getY();
 		Vector addedVelocity = PADDLE_VEL.scaledDiv(5).scaled(paddleDir);
-		for (Alpha alpha: alphas) {
-			boolean geraakt = false;
+		for (int i=0, count=alphaCount; i<count; i++) {
+			Alpha alpha = alphas[i];
+			// Only an alpha that overlaps the paddle's rows can hit any side of it
+			if (!inBand(alpha.getCenterY(), alpha.getDiameter(), paddleTop, paddleBottom))
+				continue;
+			
 			// Make it so the alpha's velocity only gets addedVelocity when it hit the paddle on the top side
 			// Adding this velocity when the alpha hit the paddle on another side is meaningless and causes slight problems
-			boolean topSide = false;
-			Ball tempAlpha = alpha.createNormalBallFromAlpha();
-			if (tempAlpha.raaktRechthoek(paddleRect, 3)) {
-				geraakt = true;
-				topSide = true;
-			}
-			if (tempAlpha.raaktRechthoek(paddleRect, 2)) {
-				geraakt = true;
-			}
-			if (tempAlpha.raaktRechthoek(paddleRect, 4)) {
-				geraakt = true;
-			}
-			if (tempAlpha.raaktRechthoek(paddleRect, 1)) {
-				geraakt = true;
-			}
-			if (geraakt) {
-				tempAlpha.hitBlock(paddleRect, false);
+			int sides = alpha.collisionSides(paddleRect);
+			boolean topSide = (sides & Alpha.TOP_SIDE) != 0;
+			
+			if (sides != 0) {
+				alpha.bounce(sides);
 				if (topSide) {
-					tempAlpha.setVelocity(tempAlpha.getVelocity().plus(addedVelocity));
+					alpha.setVelocity(alpha.getVelocity().plus(addedVelocity));
 				}
-				alpha.changeAlphaFromBall(tempAlpha);
 				Ball newBall = new NormalBall(alpha.getCenter(), alpha.getDiameter(), alpha.getVelocity().plus(BALL_VEL_VARIATIONS[4]));
 				newBall.linkTo(alpha);
-				balls = Stream.concat(Arrays.stream(balls), Stream.of(newBall)).toArray(Ball[]::new);
+				addBall(newBall);
+				if (eventRing != null)
+					eventRing.publish(GameEventType.LINK_CREATED, newBall.getCenter(), alpha.getCenter(), 0);
+				count(TickCounter.ALPHA_PADDLE_HITS, 1);
+				count(TickCounter.LINKS_CREATED, 1);
 			}
 		}
 	}
 	
+	/**
+	 * Returns whether a circle with the given center y-coordinate and diameter overlaps the rows from {@code top} to {@code bottom}, 
+	 * which it must do to hit any side of a rectangle spanning those rows.
+	 */
+	
+	private static boolean inBand(int centerY, int diameter, int top, int bottom) {
+		return centerY + diameter/2 >= top && centerY - diameter/2 <= bottom;
+	}
+	
+	/** Appends the given ball to the balls in the game, growing the balls array if it is full, and counts and publishes it as spawned. */
+	
+	private void addBall(Ball ball) {
+		if (ballCount == balls.length)
+			balls = Arrays.copyOf(balls, Math.max(8, ballCount * 2));
+		balls[ballCount++] = ball;
+		count(TickCounter.BALLS_SPAWNED, 1);
+		if (eventRing != null)
+			eventRing.publish(GameEventType.BALL_SPAWNED, ball.getCenter(), ball.getVelocity(), 0);
+	}
+	
+	/** Appends the given alpha to the alphas in the game, growing the alphas array if it is full, and counts and publishes it as spawned. */
+	
+	private void addAlpha(Alpha alpha) {
+		if (alphaCount == alphas.length)
+			alphas = Arrays.copyOf(alphas, Math.max(8, alphaCount * 2));
+		alphas[alphaCount++] = alpha;
+		count(TickCounter.ALPHAS_SPAWNED, 1);
+		if (eventRing != null)
+			eventRing.publish(GameEventType.ALPHA_SPAWNED, alpha.getCenter(), alpha.getVelocity(), 0);
+	}
+	
+	/** 
+	 * Moves the elements among the first {@code count} elements of the given array that are not {@code null} to its front, keeping their order, 
+	 * clears the rest of those elements, and returns how many were kept. 
+	 */
+	
+	private static int compact(Object[] array, int count) {
+		int kept = 0;
+		for (int i=0; i<count; i++) {
+			if (array[i] != null)
+				array[kept++] = array[i];
+		}
+		Arrays.fill(array, kept, count, null);
+		return kept;
+	}
+	
 	/**
 	 * Moves the paddle to the right, taking into consideration how much time has passed since the last tick and keeping in mind it can't go outside of the field.
 	 * 
@@ -693,7 +1177,7 @@ public class BreakoutState {
 	 */
 	
 	public boolean isWon() {
-		return blocks.length == 0 && balls.length > 0;
+		return blocks.length == 0 && ballCount > 0;
 	}
 	
 	/**
@@ -704,7 +1188,7 @@ public class BreakoutState {
 	 */
 	
 	public boolean isDead() {
-		return balls.length == 0;
+		return ballCount == 0;
 	}
 	
 }
@@ -5,7 +5,9 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import breakout.radioactivity.Alpha;
 import breakout.radioactivity.Ball;
+import breakout.simulation.LevelGenerator;
 import breakout.utils.Point;
 import breakout.utils.Vector;
 
@@ -57,4 +59,138 @@ class BreakoutStateTest {
 		assertThrows(IllegalArgumentException.class, () -> new BreakoutState(oneBall, illegalBlocks, br1, paddle));
 	}
 
+	@Test
+	void testSweptCollisions() {
+		// A ball that moves 1200 units in one tick passes through a block that is only 300 units high
+		Ball fastBall = facade.createNormalBall(new Point(5000, 10000), 700, new Vector(0, -20));
+		BlockState thinBlock = facade.createNormalBlockState(new Point(4000, 9000), new Point(6000, 9300));
+		BlockState otherBlock = facade.createNormalBlockState(new Point(20000, 2000), new Point(25000, 5000));
+		BreakoutState sampled = facade.createBreakoutState(new Ball[] {fastBall}, new BlockState[] {thinBlock, otherBlock}, br1, paddle);
+		BreakoutState swept = sampled.copy();
+		facade.setSweptCollisions(swept, true);
+		assertFalse(sampled.isSweptCollisions());
+		assertTrue(swept.copy().isSweptCollisions());
+		
+		sampled.tick(0, 60);
+		assertEquals(2, sampled.getBlocks().length);
+		assertEquals(new Point(5000, 8800), sampled.getBalls()[0].getCenter());
+		
+		// The swept ball hits the block after 18 ms and bounces back for the remaining 42 ms
+		swept.tick(0, 60);
+		assertArrayEquals(new BlockState[] {otherBlock}, swept.getBlocks());
+		assertEquals(new Vector(0, 20), swept.getBalls()[0].getVelocity());
+		assertEquals(new Point(5000, 10000 - 18 * 20 + 42 * 20), swept.getBalls()[0].getCenter());
+	}
+	
+	@Test
+	void testQuietTime() {
+		// A ball moving straight down in an open column only has the bottom wall ahead of it
+		BreakoutState state = facade.createBreakoutState(new Ball[] {facade.createNormalBall(new Point(10000, 10000), 500, new Vector(0, 10))}, oneBlock, br1, paddle);
+		assertEquals(100, state.quietTime(100));
+		// The ball touches the bottom wall once its center is 250 above it
+		assertEquals((50000 - 250 - 1 - 10000) / 10, state.quietTime(100000));
+		
+		// A ball moving up toward block1 is quiet until just before it touches the bottom side
+		BreakoutState upwards = facade.createBreakoutState(new Ball[] {facade.createNormalBall(new Point(3000, 6000), 500, new Vector(0, -10))}, oneBlock, br1, paddle);
+		assertEquals(74, upwards.quietTime(1000));
+		upwards.tick(0, 74);
+		assertEquals(1, upwards.getBlocks().length);
+		upwards.tick(0, 1);
+		assertEquals(0, upwards.getBlocks().length);
+	}
+	
+	@Test
+	void testTickDuringAdaptive() {
+		for (long seed = 0; seed < 8; seed++) {
+			String description = LevelGenerator.randomDescription(seed);
+			BreakoutState fixed = facade.createStateFromDescription(description);
+			BreakoutState adaptive = facade.createStateFromDescription(description);
+			for (int step = 0; step < 40 && !fixed.isDead() && !fixed.isWon(); step++) {
+				facade.tickDuring(fixed, 257);
+				facade.tickDuringAdaptive(adaptive, 257);
+				assertEquals(fixed.getBlocks().length, adaptive.getBlocks().length);
+				assertArrayEquals(fixed.getBlocks(), adaptive.getBlocks());
+				assertEquals(fixed.getPaddle(), adaptive.getPaddle());
+				Ball[] fixedBalls = fixed.getBalls();
+				Ball[] adaptiveBalls = adaptive.getBalls();
+				assertEquals(fixedBalls.length, adaptiveBalls.length);
+				for (int i = 0; i < fixedBalls.length; i++)
+					assertTrue(fixedBalls[i].equalContent(adaptiveBalls[i]));
+				assertEquals(fixed.getAlphas().length, adaptive.getAlphas().length);
+			}
+		}
+	}
+	
+	@Test
+	void testPaddleHitsAppendInOrder() {
+		// Two balls hit the top of a replicating paddle in the same tick, a third ball is far away from it
+		Ball left = facade.createNormalBall(new Point(24000, 26400), 700, new Vector(0, 5));
+		Ball far = facade.createNormalBall(new Point(10000, 10000), 700, new Vector(0, 5));
+		Ball right = facade.createNormalBall(new Point(26000, 26400), 700, new Vector(0, 5));
+		PaddleState replicatingPaddle = facade.createReplicatingPaddleState(new Point(25000, 27000), 3);
+		BreakoutState state = facade.createBreakoutState(new Ball[] {left, far, right}, oneBlock, new Point(50000, 30000), replicatingPaddle);
+		
+		state.tick(0, 1);
+		Ball[] balls = state.getBalls();
+		// The original balls keep their places, followed by three clones of the left ball and two of the right ball
+		assertEquals(8, balls.length);
+		assertEquals(new Point(10000, 10005), balls[1].getCenter());
+		for (int i = 3; i < 6; i++)
+			assertEquals(new Point(24000, 26405), balls[i].getCenter());
+		for (int i = 6; i < 8; i++)
+			assertEquals(new Point(26000, 26405), balls[i].getCenter());
+		assertEquals(2, state.getAlphas().length);
+		assertEquals(new Point(24000, 26405), state.getAlphas()[0].getCenter());
+		assertEquals(1, state.getPaddle().getAmountOfReplications());
+	}
+	
+	@Test
+	void testLostBallsKeepOrder() {
+		// The middle ball reaches the bottom wall during the tick and leaves the game
+		Ball first = facade.createNormalBall(new Point(10000, 10000), 700, new Vector(0, 5));
+		Ball lost = facade.createNormalBall(new Point(20000, 49600), 700, new Vector(0, 5));
+		Ball last = facade.createNormalBall(new Point(30000, 10000), 700, new Vector(0, 5));
+		BreakoutState state = facade.createBreakoutState(new Ball[] {first, lost, last}, oneBlock, br1, paddle);
+		
+		state.tick(0, 20);
+		Ball[] balls = state.getBalls();
+		assertEquals(2, balls.length);
+		assertEquals(new Point(10000, 10100), balls[0].getCenter());
+		assertEquals(new Point(30000, 10100), balls[1].getCenter());
+		assertFalse(state.isDead());
+	}
+	
+	@Test
+	void testValidationOfManyBalls() {
+		Ball[] balls = new Ball[40000];
+		for (int i = 0; i < balls.length; i++)
+			balls[i] = facade.createNormalBall(new Point(1000 + i, 20000), 500, Velocity1);
+		assertEquals(balls.length, facade.createBreakoutState(balls, oneBlock, br1, paddle).getBalls().length);
+		
+		balls[balls.length - 1] = balls[0];
+		assertThrows(IllegalArgumentException.class, () -> facade.createBreakoutState(balls, oneBlock, br1, paddle));
+		balls[balls.length - 1] = facade.createNormalBall(new Point(49800, 20000), 500, Velocity1);
+		assertThrows(IllegalArgumentException.class, () -> facade.createBreakoutState(balls, oneBlock, br1, paddle));
+		
+		Alpha alpha = facade.createAlpha(new Point(1000, 1000), 500, Velocity1);
+		assertThrows(IllegalArgumentException.class, () -> facade.createBreakoutState(new Alpha[] {alpha, alpha}, oneBall, oneBlock, br1, paddle));
+	}
+	
+	@Test
+	void testCreateTrusted() {
+		Ball ball = facade.createNormalBall(center1, diameter1, Velocity1);
+		Alpha alpha = facade.createAlpha(new Point(1000, 1000), 500, Velocity1);
+		ball.linkTo(alpha);
+		BreakoutState state = BreakoutState.createTrusted(new Ball[] {ball}, new Alpha[] {alpha}, oneBlock, br1, paddle);
+		assertEquals(1, state.getBalls().length);
+		assertEquals(1, state.getAlphas().length);
+		assertEquals(-1, state.getBalls()[0].getEcharge());
+		
+		BreakoutState copy = state.copy();
+		assertEquals(state.getBalls()[0].getCenter(), copy.getBalls()[0].getCenter());
+		assertEquals(1, copy.getAlphas()[0].getBallCount());
+		state.tick(0, 20);
+		assertEquals(center1, copy.getBalls()[0].getCenter());
+	}
+	
 }
\ No newline at end of file
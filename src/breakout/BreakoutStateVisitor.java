@@ -0,0 +1,37 @@
+package breakout;
+
+import java.awt.Color;
+
+import breakout.utils.Point;
+import breakout.utils.Vector;
+
+/**
+ * Receives the elements of a {@code BreakoutState} from {@code BreakoutState.accept}, without copying the state.
+ * Balls and alphas are mutable, so they are never handed out: their properties are passed as immutable values instead.
+ * Blocks and paddles are immutable and are passed as they are.
+ * Every method does nothing by default, so a visitor only overrides what it needs.
+ */
+
+public interface BreakoutStateVisitor {
+	
+	/** Visits a block of the state. */
+	
+	default void visitBlock(BlockState block) {}
+	
+	/** Visits a ball of the state, with the properties it has at the time of the visit. */
+	
+	default void visitBall(Point center, int diameter, Vector velocity, Color color, int eCharge) {}
+	
+	/** Visits an alpha of the state, with the properties it has at the time of the visit. */
+	
+	default void visitAlpha(Point center, int diameter, Vector velocity, Color color) {}
+	
+	/** Visits a link between a ball with center {@code ballCenter} and an alpha with center {@code alphaCenter}. */
+	
+	default void visitLink(Point ballCenter, Point alphaCenter) {}
+	
+	/** Visits the paddle of the state. */
+	
+	default void visitPaddle(PaddleState paddle) {}
+	
+}
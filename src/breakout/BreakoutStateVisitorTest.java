@@ -0,0 +1,67 @@
+package breakout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import breakout.radioactivity.Alpha;
+import breakout.radioactivity.Ball;
+import breakout.utils.Point;
+import breakout.utils.Vector;
+
+class BreakoutStateVisitorTest {
+	
+	private BreakoutFacade facade = new BreakoutFacade();
+	
+	@Test
+	void testAccept() {
+		Ball ball1 = facade.createNormalBall(new Point(10000, 15000), 700, new Vector(3, 4));
+		Ball ball2 = facade.createSuperchargedBall(new Point(20000, 15000), 700, new Vector(-3, 4), 100);
+		Alpha alpha = facade.createAlpha(new Point(15000, 20000), 700, new Vector(1, 1));
+		ball1.linkTo(alpha);
+		ball2.linkTo(alpha);
+		BlockState block = facade.createNormalBlockState(new Point(0, 0), new Point(5000, 3000));
+		PaddleState paddle = facade.createNormalPaddleState(new Point(25000, 27000));
+		BreakoutState state = facade.createBreakoutState(new Alpha[] {alpha}, new Ball[] {ball1, ball2}, 
+				new BlockState[] {block}, new Point(50000, 30000), paddle);
+		
+		List<String> visited = new ArrayList<>();
+		facade.visit(state, new BreakoutStateVisitor() {
+			@Override
+			public void visitBlock(BlockState b) {
+				assertSame(block, b);
+				visited.add("block");
+			}
+			
+			@Override
+			public void visitBall(Point center, int diameter, Vector velocity, Color color, int eCharge) {
+				visited.add("ball " + center.getX() + " " + eCharge + " " + (color == Color.GREEN ? "supercharged" : "normal"));
+			}
+			
+			@Override
+			public void visitAlpha(Point center, int diameter, Vector velocity, Color color) {
+				assertEquals(new Point(15000, 20000), center);
+				visited.add("alpha");
+			}
+			
+			@Override
+			public void visitLink(Point ballCenter, Point alphaCenter) {
+				assertEquals(new Point(15000, 20000), alphaCenter);
+				visited.add("link " + ballCenter.getX());
+			}
+			
+			@Override
+			public void visitPaddle(PaddleState p) {
+				assertSame(paddle, p);
+				visited.add("paddle");
+			}
+		});
+		
+		assertEquals(List.of("block", "ball 10000 -2 normal", "ball 20000 -2 supercharged", "alpha", "link 10000", "link 20000", "paddle"), visited);
+	}
+	
+}
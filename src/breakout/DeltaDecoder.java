@@ -0,0 +1,279 @@
+package breakout;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.LinkedHashMap;
+
+import breakout.utils.Point;
+
+/**
+ * Rebuilds, for a spectator, the game that a {@code DeltaEncoder} streams, by decoding its frames in order into a {@code SpectatorState}.
+ * Decoding starts at a keyframe; every other frame must be the one that follows the previous frame that was decoded.
+ *
+ * @invar | getState() == null || getState().getFrame() >= 0
+ */
+
+public class DeltaDecoder {
+
+	/** The game as of the last decoded frame, or {@code null} before the first keyframe. @representationObject */
+	private SpectatorState state;
+	private int quantum;
+	
+	/**
+	 * Initializes this decoder so that it waits for a keyframe.
+	 *
+	 * @post | getState() == null
+	 */
+	
+	public DeltaDecoder() {
+	}
+	
+	/** Returns the game as of the last decoded frame, or {@code null} if no keyframe was decoded yet. It is changed by every later frame. */
+	
+	public SpectatorState getState() {
+		return state;
+	}
+	
+	/**
+	 * Decodes the frame that starts at the position of the given buffer into the state of this decoder, advances the position of the buffer
+	 * to the end of the frame, and returns the state. A keyframe replaces the state, and any other frame changes it.
+	 * If the frame is not valid, the state may have been changed partly and only a keyframe can be decoded after it.
+	 *
+	 * @pre | buffer != null
+	 *
+	 * @mutates | this, buffer
+	 *
+	 * @throws IllegalArgumentException if the buffer does not hold a valid frame of a version this decoder can read,
+	 * 		or a frame other than a keyframe that does not follow the previous frame
+	 *
+	 * @post | result != null && result == getState()
+	 */
+	
+	public SpectatorState decode(ByteBuffer buffer) {
+		try {
+			if (buffer.getInt() != DeltaEncoder.MAGIC)
+				throw new IllegalArgumentException("The buffer does not hold a frame");
+			short version = buffer.getShort();
+			if (version != DeltaEncoder.VERSION)
+				throw new IllegalArgumentException("Unsupported frame version " + version);
+			byte kind = buffer.get();
+			long frame = buffer.getLong();
+			if (kind == DeltaEncoder.KEYFRAME) {
+				decodeKeyframe(buffer, frame);
+			} else if (kind == DeltaEncoder.DELTA) {
+				if (state == null || frame != state.frame + 1)
+					throw new IllegalArgumentException("The frame does not follow the previous frame");
+				decodeDelta(buffer, frame);
+			} else {
+				throw new IllegalArgumentException("Invalid frame kind " + kind);
+			}
+			return state;
+		} catch (IllegalArgumentException | BufferUnderflowException e) {
+			// A partly decoded frame leaves the state in an unknown condition
+			state = null;
+			if (e instanceof IllegalArgumentException argumentException)
+				throw argumentException;
+			throw new IllegalArgumentException("The frame is truncated", e);
+		}
+	}
+	
+	/**
+	 * Reads a frame written by {@code DeltaEncoder.write} from the given channel, decodes it and returns the state of this decoder.
+	 *
+	 * @pre | channel != null
+	 *
+	 * @mutates | this
+	 *
+	 * @throws IOException if reading from the channel fails, the channel ends before the frame does, or the frame can not be decoded
+	 *
+	 * @post | result != null && result == getState()
+	 */
+	
+	public SpectatorState read(ReadableByteChannel channel) throws IOException {
+		ByteBuffer length = readFully(channel, ByteBuffer.allocate(4));
+		int size = length.getInt();
+		if (size < 0)
+			throw new IOException("Invalid frame length " + size);
+		ByteBuffer frame = readFully(channel, ByteBuffer.allocate(size));
+		try {
+			return decode(frame);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid frame", e);
+		}
+	}
+	
+	private static ByteBuffer readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0)
+				throw new IOException("The channel ended before the frame did");
+		}
+		return buffer.flip();
+	}
+	
+	private void decodeKeyframe(ByteBuffer buffer, long frame) {
+		int newQuantum = DeltaEncoder.getVarint(buffer);
+		if (newQuantum <= 0)
+			throw new IllegalArgumentException("Invalid quantum in frame");
+		quantum = newQuantum;
+		Point bottomRight = new Point(DeltaEncoder.getVarint(buffer), DeltaEncoder.getVarint(buffer));
+		state = new SpectatorState(bottomRight, getPaddle(buffer));
+		state.frame = frame;
+		getBlocks(buffer);
+		getBodies(buffer, state.alphas, false);
+		getBodies(buffer, state.balls, true);
+		getLinks(buffer);
+	}
+	
+	private void decodeDelta(ByteBuffer buffer, long frame) {
+		state.frame = frame;
+		if (buffer.get() != 0)
+			state.paddle = getPaddle(buffer);
+		removeIds(buffer, state.blocks);
+		getBlocks(buffer);
+		removeIds(buffer, state.alphas);
+		getBodies(buffer, state.alphas, false);
+		getChanges(buffer, state.alphas);
+		removeIds(buffer, state.balls);
+		getBodies(buffer, state.balls, true);
+		getChanges(buffer, state.balls);
+		getLinks(buffer);
+		checkLinks();
+	}
+	
+	private static PaddleState getPaddle(ByteBuffer buffer) {
+		byte type = buffer.get();
+		Point center = new Point(DeltaEncoder.getVarint(buffer), DeltaEncoder.getVarint(buffer));
+		int replications = DeltaEncoder.getVarint(buffer);
+		if (type == DeltaEncoder.NORMAL_PADDLE)
+			return new NormalPaddleState(center);
+		if (type == DeltaEncoder.REPLICATING_PADDLE && replications >= 1 && replications <= 3)
+			return new ReplicatingPaddleState(center, replications);
+		throw new IllegalArgumentException("Invalid paddle in frame");
+	}
+	
+	private static int count(ByteBuffer buffer) {
+		int count = DeltaEncoder.getVarint(buffer);
+		// Every element takes at least one byte
+		if (count < 0 || count > buffer.remaining())
+			throw new IllegalArgumentException("Invalid element count in frame");
+		return count;
+	}
+	
+	private static void removeIds(ByteBuffer buffer, LinkedHashMap<Integer, ?> elements) {
+		int count = count(buffer);
+		for (int i = 0; i < count; i++) {
+			if (elements.remove(DeltaEncoder.getVarint(buffer)) == null)
+				throw new IllegalArgumentException("Unknown id in frame");
+		}
+	}
+	
+	private void getBlocks(ByteBuffer buffer) {
+		int count = count(buffer);
+		for (int i = 0; i < count; i++) {
+			int id = DeltaEncoder.getVarint(buffer);
+			byte type = buffer.get();
+			Point topLeft = new Point(DeltaEncoder.getVarint(buffer), DeltaEncoder.getVarint(buffer));
+			Point bottomRight = new Point(DeltaEncoder.getVarint(buffer), DeltaEncoder.getVarint(buffer));
+			int health = buffer.get();
+			if (topLeft.getX() >= bottomRight.getX() || topLeft.getY() >= bottomRight.getY())
+				throw new IllegalArgumentException("Invalid block in frame");
+			BlockState block;
+			if (type == DeltaEncoder.NORMAL_BLOCK)
+				block = new NormalBlockState(topLeft, bottomRight);
+			else if (type == DeltaEncoder.STURDY_BLOCK && health == 1)
+				block = new SturdyBlockState(topLeft, bottomRight, health, Color.YELLOW);
+			else if (type == DeltaEncoder.STURDY_BLOCK && health == 2)
+				block = new SturdyBlockState(topLeft, bottomRight, health, Color.ORANGE);
+			else if (type == DeltaEncoder.STURDY_BLOCK && health == 3)
+				block = new SturdyBlockState(topLeft, bottomRight, health, Color.RED);
+			else if (type == DeltaEncoder.POWERUP_BLOCK)
+				block = new PowerupBlockState(topLeft, bottomRight);
+			else if (type == DeltaEncoder.REPLICATOR_BLOCK)
+				block = new ReplicatorBlockState(topLeft, bottomRight);
+			else
+				throw new IllegalArgumentException("Invalid block in frame");
+			if (state.blocks.put(id, block) != null)
+				throw new IllegalArgumentException("Duplicate id in frame");
+		}
+	}
+	
+	private void getBodies(ByteBuffer buffer, LinkedHashMap<Integer, SpectatorState.Body> bodies, boolean balls) {
+		int count = count(buffer);
+		for (int i = 0; i < count; i++) {
+			int id = DeltaEncoder.getVarint(buffer);
+			byte type = balls ? buffer.get() : DeltaEncoder.NORMAL_BALL;
+			if (type != DeltaEncoder.NORMAL_BALL && type != DeltaEncoder.SUPERCHARGED_BALL)
+				throw new IllegalArgumentException("Invalid ball in frame");
+			SpectatorState.Body body = new SpectatorState.Body(id, type);
+			body.x = unquantize(DeltaEncoder.getVarint(buffer));
+			body.y = unquantize(DeltaEncoder.getVarint(buffer));
+			body.vx = DeltaEncoder.getVarint(buffer);
+			body.vy = DeltaEncoder.getVarint(buffer);
+			body.diameter = DeltaEncoder.getVarint(buffer);
+			if (balls)
+				body.eCharge = DeltaEncoder.getVarint(buffer);
+			if (bodies.put(id, body) != null)
+				throw new IllegalArgumentException("Duplicate id in frame");
+		}
+	}
+	
+	private void getChanges(ByteBuffer buffer, LinkedHashMap<Integer, SpectatorState.Body> bodies) {
+		int count = count(buffer);
+		for (int i = 0; i < count; i++) {
+			SpectatorState.Body body = bodies.get(DeltaEncoder.getVarint(buffer));
+			if (body == null)
+				throw new IllegalArgumentException("Unknown id in frame");
+			byte flags = buffer.get();
+			if ((flags & DeltaEncoder.MOVED) != 0) {
+				// The differences are in quantums, and the center of a quantum stays the center of a quantum
+				body.x += DeltaEncoder.getVarint(buffer) * quantum;
+				body.y += DeltaEncoder.getVarint(buffer) * quantum;
+			}
+			if ((flags & DeltaEncoder.VELOCITY_CHANGED) != 0) {
+				body.vx = DeltaEncoder.getVarint(buffer);
+				body.vy = DeltaEncoder.getVarint(buffer);
+			}
+			if ((flags & DeltaEncoder.DIAMETER_CHANGED) != 0)
+				body.diameter = DeltaEncoder.getVarint(buffer);
+			if ((flags & DeltaEncoder.ECHARGE_CHANGED) != 0)
+				body.eCharge = DeltaEncoder.getVarint(buffer);
+		}
+	}
+	
+	private void getLinks(ByteBuffer buffer) {
+		int count = count(buffer);
+		for (int i = 0; i < count; i++) {
+			SpectatorState.Body ball = state.balls.get(DeltaEncoder.getVarint(buffer));
+			if (ball == null)
+				throw new IllegalArgumentException("Unknown id in frame");
+			int[] alphaIds = new int[count(buffer)];
+			for (int j = 0; j < alphaIds.length; j++) {
+				alphaIds[j] = DeltaEncoder.getVarint(buffer);
+				if (!state.alphas.containsKey(alphaIds[j]))
+					throw new IllegalArgumentException("Unknown id in frame");
+			}
+			ball.alphaIds = alphaIds;
+		}
+	}
+	
+	/** Checks that no ball is still linked to an alpha the frame removed, since a ball whose links did not change is not relinked. */
+	
+	private void checkLinks() {
+		for (SpectatorState.Body ball: state.balls.values()) {
+			for (int alphaId: ball.alphaIds) {
+				if (!state.alphas.containsKey(alphaId))
+					throw new IllegalArgumentException("Unknown id in frame");
+			}
+		}
+	}
+	
+	/** Returns the center of the given quantized coordinate. */
+	
+	private int unquantize(int quantized) {
+		return quantized * quantum + quantum / 2;
+	}
+
+}
@@ -0,0 +1,628 @@
+package breakout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import breakout.radioactivity.Alpha;
+import breakout.radioactivity.Ball;
+import breakout.radioactivity.MovingBody;
+import breakout.radioactivity.SuperchargedBall;
+import breakout.utils.Point;
+
+/**
+ * Encodes the successive states of one {@code BreakoutState} as a stream of frames that only hold what changed since the previous frame,
+ * so that a game can be streamed to spectators, who rebuild it with a {@code DeltaDecoder}.
+ *
+ * Every block, ball and alpha gets an id when it first appears, which it keeps for as long as it stays in the game.
+ * A ball that the game replaces by another one, such as a ball that becomes supercharged, disappears and a new ball with a new id appears.
+ * A frame holds the paddle if it changed, the ids of the blocks, alphas and balls that disappeared, the blocks, alphas and balls that appeared,
+ * the alphas and balls that moved or changed, and the balls whose links changed, with the ids of all the alphas they are linked to.
+ * Positions are quantized: they are divided by the quantum of this encoder, and a ball or alpha only counts as moved when its quantized position changed.
+ * A moved position is sent as the difference with the previous one. All numbers except those in the header are variable-length,
+ * so small differences take a single byte.
+ *
+ * The first frame is a keyframe, which holds the whole game and the field size and quantum, and is needed before any other frame can be decoded.
+ * A spectator that joins later first gets {@code encodeKeyframe()}, and then the frames that follow it.
+ * The frames that {@code encode} returns are the same for every spectator, so a game is only encoded once for all of them.
+ *
+ * @invar | getQuantum() > 0
+ * @invar | getFrame() >= 0
+ */
+
+public class DeltaEncoder {
+
+	/** The first four bytes of every frame: {@code BRKD} in ASCII. */
+	
+	public static final int MAGIC = 0x42524B44;
+	
+	/** The version of the frame format written by this encoder. */
+	
+	public static final short VERSION = 1;
+	
+	static final byte DELTA = 0;
+	static final byte KEYFRAME = 1;
+	
+	static final byte NORMAL_PADDLE = 0;
+	static final byte REPLICATING_PADDLE = 1;
+	
+	static final byte NORMAL_BLOCK = 0;
+	static final byte STURDY_BLOCK = 1;
+	static final byte POWERUP_BLOCK = 2;
+	static final byte REPLICATOR_BLOCK = 3;
+	
+	static final byte NORMAL_BALL = 0;
+	static final byte SUPERCHARGED_BALL = 1;
+	
+	/** The flags of a changed ball or alpha, which tell which of its properties follow its id. */
+	static final int MOVED = 1;
+	static final int VELOCITY_CHANGED = 2;
+	static final int DIAMETER_CHANGED = 4;
+	static final int ECHARGE_CHANGED = 8;
+	
+	/** The properties of a ball or alpha as they were last sent. */
+	
+	private static class BodyEntry {
+	
+		private final int id;
+		private final byte type;
+		private int qx;
+		private int qy;
+		private int vx;
+		private int vy;
+		private int diameter;
+		private int eCharge;
+		/** The sorted ids of the alphas a ball is linked to are the first {@code alphaIdCount} elements. */
+		private int[] alphaIds = NO_IDS;
+		private int alphaIdCount;
+		/** The last frame in which the ball or alpha was in the game. */
+		private long seen;
+		/** The flags and position differences of the current frame, if it changed. */
+		private int flags;
+		private int dx;
+		private int dy;
+		
+		private BodyEntry(int id, byte type) {
+			this.id = id;
+			this.type = type;
+		}
+	
+	}
+	
+	/** A block as it was last sent. Blocks are immutable, so only the id is kept. Equal blocks that appear more than once are chained. */
+	
+	private static class BlockEntry {
+	
+		private final int id;
+		private final BlockState block;
+		private long seen;
+		private BlockEntry next;
+		
+		private BlockEntry(int id, BlockState block) {
+			this.id = id;
+			this.block = block;
+		}
+	
+	}
+	
+	private static final int[] NO_IDS = {};
+	
+	/**
+	 * @invar | quantum > 0
+	 * @invar | balls != null && alphas != null && blocks != null
+	 */
+	
+	private final int quantum;
+	private long frame;
+	private int nextId;
+	private Point bottomRight;
+	private PaddleState paddle;
+	/** The blocks array of the state in the previous frame, which only changes when a block changed. */
+	private BlockState[] lastBlocks;
+	/** @representationObject */
+	private final IdentityHashMap<Ball, BodyEntry> balls = new IdentityHashMap<>();
+	/** @representationObject */
+	private final IdentityHashMap<Alpha, BodyEntry> alphas = new IdentityHashMap<>();
+	/** @representationObject */
+	private final IdentityHashMap<BlockState, BlockEntry> blocks = new IdentityHashMap<>();
+	private int blockCount;
+	private int ballCount;
+	private int alphaCount;
+	
+	// The changes of the current frame
+	/** @representationObject */
+	private final ArrayList<BlockEntry> createdBlocks = new ArrayList<>();
+	/** @representationObject */
+	private final ArrayList<BodyEntry> createdBalls = new ArrayList<>();
+	/** @representationObject */
+	private final ArrayList<BodyEntry> createdAlphas = new ArrayList<>();
+	/** @representationObject */
+	private final ArrayList<BodyEntry> changedBalls = new ArrayList<>();
+	/** @representationObject */
+	private final ArrayList<BodyEntry> changedAlphas = new ArrayList<>();
+	/** @representationObject */
+	private final ArrayList<BodyEntry> relinkedBalls = new ArrayList<>();
+	private int[] removedBlocks = new int[16];
+	private int removedBlockCount;
+	private int[] removedBalls = new int[16];
+	private int removedBallCount;
+	private int[] removedAlphas = new int[16];
+	private int removedAlphaCount;
+	private int removedCount;
+	private boolean paddleChanged;
+	
+	/** The ids of the alphas linked to the ball that is being encoded. */
+	private int[] linkedIds = new int[16];
+	private int linkedIdCount;
+	private final Consumer<Alpha> linkedIdCollector = alpha -> {
+		if (linkedIdCount == linkedIds.length)
+			linkedIds = Arrays.copyOf(linkedIds, linkedIdCount * 2);
+		linkedIds[linkedIdCount++] = alphas.get(alpha).id;
+	};
+	
+	/** @representationObject */
+	private ByteBuffer out = ByteBuffer.allocate(1024);
+	
+	/**
+	 * Initializes this encoder so that it divides positions by the given quantum. A quantum of {@code 1} sends exact positions.
+	 *
+	 * @throws IllegalArgumentException if the quantum is not positive
+	 * 		| quantum <= 0
+	 *
+	 * @post | getQuantum() == quantum
+	 * @post | getFrame() == 0
+	 */
+	
+	public DeltaEncoder(int quantum) {
+		if (quantum <= 0)
+			throw new IllegalArgumentException("The quantum must be positive.");
+		this.quantum = quantum;
+	}
+	
+	/** Returns the number by which this encoder divides positions. */
+	
+	public int getQuantum() {
+		return quantum;
+	}
+	
+	/** Returns the number of frames this encoder has encoded. */
+	
+	public long getFrame() {
+		return frame;
+	}
+	
+	/**
+	 * Returns a new buffer holding the frame that brings a spectator from the previous frame to the given state, positioned at its start.
+	 * The first frame is a keyframe. Every call should be given the same state: 
+	 * a copy of it continues the same game, but all its balls and alphas are new objects, which are sent as new balls and alphas.
+	 *
+	 * @pre | state != null
+	 *
+	 * @throws IllegalArgumentException if the field size of the state differs from that of the previous frames
+	 *
+	 * @mutates | this
+	 * @inspects | state
+	 *
+	 * @creates | result
+	 *
+	 * @post | getFrame() == old(getFrame()) + 1
+	 * @post | result != null && result.position() == 0
+	 */
+	
+	public ByteBuffer encode(BreakoutState state) {
+		if (bottomRight != null && !bottomRight.equals(state.getBottomRight()))
+			throw new IllegalArgumentException("The state has a different field than the previous frames.");
+		bottomRight = state.getBottomRight();
+		frame++;
+		update(state);
+		out.clear();
+		if (frame == 1)
+			writeKeyframe();
+		else
+			writeDelta();
+		return copyOut();
+	}
+	
+	/**
+	 * Returns a new buffer holding a keyframe of the game as it was in the last frame, positioned at its start.
+	 * A spectator that decodes it can decode the frames that follow the last frame.
+	 *
+	 * @throws IllegalStateException if no frame was encoded yet
+	 * 		| getFrame() == 0
+	 *
+	 * @creates | result
+	 *
+	 * @post | result != null && result.position() == 0
+	 */
+	
+	public ByteBuffer encodeKeyframe() {
+		if (frame == 0)
+			throw new IllegalStateException("No frame was encoded yet.");
+		out.clear();
+		writeKeyframe();
+		return copyOut();
+	}
+	
+	/**
+	 * Writes the given frame to the given channel, preceded by its length as an int, without changing the position of the frame.
+	 * The same frame can therefore be written to the channels of several spectators.
+	 *
+	 * @pre | frame != null
+	 * @pre | channel != null
+	 *
+	 * @throws IOException if writing to the channel fails
+	 */
+	
+	public static void write(ByteBuffer frame, WritableByteChannel channel) throws IOException {
+		ByteBuffer length = ByteBuffer.allocate(4).putInt(frame.remaining()).flip();
+		ByteBuffer contents = frame.duplicate();
+		while (length.hasRemaining())
+			channel.write(length);
+		while (contents.hasRemaining())
+			channel.write(contents);
+	}
+	
+	/** Brings the entries up to date with the given state and collects the changes of the current frame. */
+	
+	private void update(BreakoutState state) {
+		PaddleState newPaddle = state.getPaddle();
+		paddleChanged = !newPaddle.equals(paddle);
+		paddle = newPaddle;
+		updateBlocks(state.getBlocksInternal());
+		
+		// The alphas get their ids before the links of the balls are collected
+		Alpha[] newAlphas = state.getAlphasInternal();
+		int newAlphaCount = state.getAlphaCount();
+		createdAlphas.clear();
+		changedAlphas.clear();
+		for (int i = 0; i < newAlphaCount; i++) {
+			BodyEntry entry = updateBody(alphas, newAlphas[i], (byte) 0, 0);
+			if (entry.seen == 0)
+				createdAlphas.add(entry);
+			else if (entry.flags != 0)
+				changedAlphas.add(entry);
+			entry.seen = frame;
+		}
+		removedAlphaCount = 0;
+		if (alphaCount + createdAlphas.size() != newAlphaCount) {
+			removedAlphas = removeUnseen(alphas, removedAlphas);
+			removedAlphaCount = removedCount;
+		}
+		alphaCount = newAlphaCount;
+		
+		Ball[] newBalls = state.getBallsInternal();
+		int newBallCount = state.getBallCount();
+		createdBalls.clear();
+		changedBalls.clear();
+		relinkedBalls.clear();
+		for (int i = 0; i < newBallCount; i++) {
+			Ball ball = newBalls[i];
+			BodyEntry entry = updateBody(balls, ball, ball instanceof SuperchargedBall ? SUPERCHARGED_BALL : NORMAL_BALL, ball.getEcharge());
+			if (entry.seen == 0)
+				createdBalls.add(entry);
+			else if (entry.flags != 0)
+				changedBalls.add(entry);
+			entry.seen = frame;
+			if (ball.getAlphaCount() > 0 || entry.alphaIdCount > 0)
+				updateLinks(ball, entry);
+		}
+		removedBallCount = 0;
+		if (ballCount + createdBalls.size() != newBallCount) {
+			removedBalls = removeUnseen(balls, removedBalls);
+			removedBallCount = removedCount;
+		}
+		ballCount = newBallCount;
+	}
+	
+	private void updateBlocks(BlockState[] newBlocks) {
+		createdBlocks.clear();
+		removedBlockCount = 0;
+		if (newBlocks == lastBlocks)
+			return;
+		lastBlocks = newBlocks;
+		for (BlockState block: newBlocks) {
+			BlockEntry entry = blocks.get(block);
+			while (entry != null && entry.seen == frame)
+				entry = entry.next;
+			if (entry == null) {
+				entry = new BlockEntry(nextId++, block);
+				entry.next = blocks.put(block, entry);
+				createdBlocks.add(entry);
+			}
+			entry.seen = frame;
+		}
+		if (blockCount + createdBlocks.size() == newBlocks.length) {
+			blockCount = newBlocks.length;
+			return;
+		}
+		for (Iterator<Map.Entry<BlockState, BlockEntry>> iterator = blocks.entrySet().iterator(); iterator.hasNext(); ) {
+			Map.Entry<BlockState, BlockEntry> mapEntry = iterator.next();
+			BlockEntry first = null;
+			BlockEntry last = null;
+			for (BlockEntry entry = mapEntry.getValue(); entry != null; entry = entry.next) {
+				if (entry.seen == frame) {
+					if (last == null)
+						first = entry;
+					else
+						last.next = entry;
+					last = entry;
+				} else {
+					if (removedBlockCount == removedBlocks.length)
+						removedBlocks = Arrays.copyOf(removedBlocks, removedBlockCount * 2);
+					removedBlocks[removedBlockCount++] = entry.id;
+				}
+			}
+			if (first == null) {
+				iterator.remove();
+			} else {
+				last.next = null;
+				mapEntry.setValue(first);
+			}
+		}
+		blockCount = newBlocks.length;
+	}
+	
+	/** Returns the entry of the given ball or alpha, which is new if it just appeared, with the flags of its changes in this frame. */
+	
+	private <T extends MovingBody> BodyEntry updateBody(IdentityHashMap<T, BodyEntry> entries, T body, byte type, int eCharge) {
+		int qx = Math.floorDiv(body.getCenterX(), quantum);
+		int qy = Math.floorDiv(body.getCenterY(), quantum);
+		BodyEntry entry = entries.get(body);
+		if (entry == null) {
+			entry = new BodyEntry(nextId++, type);
+			entries.put(body, entry);
+		} else {
+			int flags = 0;
+			if (qx != entry.qx || qy != entry.qy) {
+				flags |= MOVED;
+				entry.dx = qx - entry.qx;
+				entry.dy = qy - entry.qy;
+			}
+			if (body.getVelocityX() != entry.vx || body.getVelocityY() != entry.vy)
+				flags |= VELOCITY_CHANGED;
+			if (body.getDiameter() != entry.diameter)
+				flags |= DIAMETER_CHANGED;
+			if (eCharge != entry.eCharge)
+				flags |= ECHARGE_CHANGED;
+			entry.flags = flags;
+		}
+		entry.qx = qx;
+		entry.qy = qy;
+		entry.vx = body.getVelocityX();
+		entry.vy = body.getVelocityY();
+		entry.diameter = body.getDiameter();
+		entry.eCharge = eCharge;
+		return entry;
+	}
+	
+	private void updateLinks(Ball ball, BodyEntry entry) {
+		linkedIdCount = 0;
+		ball.forEachLinkedAlpha(linkedIdCollector);
+		// The links of a ball are kept in no particular order
+		Arrays.sort(linkedIds, 0, linkedIdCount);
+		if (Arrays.equals(linkedIds, 0, linkedIdCount, entry.alphaIds, 0, entry.alphaIdCount))
+			return;
+		if (entry.alphaIds.length < linkedIdCount)
+			entry.alphaIds = new int[linkedIdCount];
+		System.arraycopy(linkedIds, 0, entry.alphaIds, 0, linkedIdCount);
+		entry.alphaIdCount = linkedIdCount;
+		relinkedBalls.add(entry);
+	}
+	
+	/**
+	 * Removes the given entries that were not seen in this frame, puts their ids in the given array, which grows if needed, 
+	 * and returns that array. Their number is left in {@code removedCount}.
+	 */
+	
+	private int[] removeUnseen(IdentityHashMap<?, BodyEntry> entries, int[] removed) {
+		int count = 0;
+		for (Iterator<BodyEntry> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+			BodyEntry entry = iterator.next();
+			if (entry.seen != frame) {
+				if (count == removed.length)
+					removed = Arrays.copyOf(removed, count * 2);
+				removed[count++] = entry.id;
+				iterator.remove();
+			}
+		}
+		removedCount = count;
+		return removed;
+	}
+	
+	private void writeDelta() {
+		writeHeader(DELTA);
+		if (paddleChanged) {
+			ensure(1);
+			out.put((byte) 1);
+			writePaddle();
+		} else {
+			ensure(1);
+			out.put((byte) 0);
+		}
+		writeIds(removedBlocks, removedBlockCount);
+		writeBlocks(createdBlocks);
+		writeIds(removedAlphas, removedAlphaCount);
+		writeBodies(createdAlphas, false);
+		writeChanges(changedAlphas);
+		writeIds(removedBalls, removedBallCount);
+		writeBodies(createdBalls, true);
+		writeChanges(changedBalls);
+		writeLinks(relinkedBalls);
+	}
+	
+	private void writeKeyframe() {
+		writeHeader(KEYFRAME);
+		ensure(15);
+		putVarint(quantum);
+		putVarint(bottomRight.getX());
+		putVarint(bottomRight.getY());
+		writePaddle();
+		
+		// The entities are written in the order in which they appeared
+		ArrayList<BlockEntry> allBlocks = new ArrayList<>(blockCount);
+		for (BlockEntry first: blocks.values()) {
+			for (BlockEntry entry = first; entry != null; entry = entry.next)
+				allBlocks.add(entry);
+		}
+		allBlocks.sort(Comparator.comparingInt(entry -> entry.id));
+		ArrayList<BodyEntry> allBalls = new ArrayList<>(balls.values());
+		ArrayList<BodyEntry> allAlphas = new ArrayList<>(alphas.values());
+		allBalls.sort(Comparator.comparingInt(entry -> entry.id));
+		allAlphas.sort(Comparator.comparingInt(entry -> entry.id));
+		
+		writeBlocks(allBlocks);
+		writeBodies(allAlphas, false);
+		writeBodies(allBalls, true);
+		allBalls.removeIf(entry -> entry.alphaIdCount == 0);
+		writeLinks(allBalls);
+	}
+	
+	private void writeHeader(byte kind) {
+		ensure(4 + 2 + 1 + 8);
+		out.putInt(MAGIC);
+		out.putShort(VERSION);
+		out.put(kind);
+		out.putLong(frame);
+	}
+	
+	private void writePaddle() {
+		ensure(1 + 3 * 5);
+		out.put(paddle instanceof ReplicatingPaddleState ? REPLICATING_PADDLE : NORMAL_PADDLE);
+		putVarint(paddle.getCenter().getX());
+		putVarint(paddle.getCenter().getY());
+		putVarint(paddle.getAmountOfReplications());
+	}
+	
+	private void writeIds(int[] ids, int count) {
+		ensure(5 + count * 5);
+		putVarint(count);
+		for (int i = 0; i < count; i++)
+			putVarint(ids[i]);
+	}
+	
+	private void writeBlocks(ArrayList<BlockEntry> entries) {
+		ensure(5);
+		putVarint(entries.size());
+		for (BlockEntry entry: entries) {
+			BlockState block = entry.block;
+			ensure(5 + 1 + 4 * 5 + 1);
+			putVarint(entry.id);
+			out.put(blockType(block));
+			putVarint(block.getTopLeft().getX());
+			putVarint(block.getTopLeft().getY());
+			putVarint(block.getBottomRight().getX());
+			putVarint(block.getBottomRight().getY());
+			out.put((byte) Math.max(0, block.getHealth()));
+		}
+	}
+	
+	private void writeBodies(ArrayList<BodyEntry> entries, boolean balls) {
+		ensure(5);
+		putVarint(entries.size());
+		for (BodyEntry entry: entries) {
+			ensure(5 + 1 + 6 * 5);
+			putVarint(entry.id);
+			if (balls)
+				out.put(entry.type);
+			putVarint(entry.qx);
+			putVarint(entry.qy);
+			putVarint(entry.vx);
+			putVarint(entry.vy);
+			putVarint(entry.diameter);
+			if (balls)
+				putVarint(entry.eCharge);
+		}
+	}
+	
+	private void writeChanges(ArrayList<BodyEntry> entries) {
+		ensure(5);
+		putVarint(entries.size());
+		for (BodyEntry entry: entries) {
+			ensure(5 + 1 + 6 * 5);
+			putVarint(entry.id);
+			out.put((byte) entry.flags);
+			if ((entry.flags & MOVED) != 0) {
+				putVarint(entry.dx);
+				putVarint(entry.dy);
+			}
+			if ((entry.flags & VELOCITY_CHANGED) != 0) {
+				putVarint(entry.vx);
+				putVarint(entry.vy);
+			}
+			if ((entry.flags & DIAMETER_CHANGED) != 0)
+				putVarint(entry.diameter);
+			if ((entry.flags & ECHARGE_CHANGED) != 0)
+				putVarint(entry.eCharge);
+		}
+	}
+	
+	private void writeLinks(ArrayList<BodyEntry> entries) {
+		ensure(5);
+		putVarint(entries.size());
+		for (BodyEntry entry: entries) {
+			ensure(2 * 5 + entry.alphaIdCount * 5);
+			putVarint(entry.id);
+			putVarint(entry.alphaIdCount);
+			for (int i = 0; i < entry.alphaIdCount; i++)
+				putVarint(entry.alphaIds[i]);
+		}
+	}
+	
+	static byte blockType(BlockState block) {
+		if (block instanceof SturdyBlockState)
+			return STURDY_BLOCK;
+		if (block instanceof PowerupBlockState)
+			return POWERUP_BLOCK;
+		if (block instanceof ReplicatorBlockState)
+			return REPLICATOR_BLOCK;
+		return NORMAL_BLOCK;
+	}
+	
+	/** Makes sure the output buffer has room for at least the given number of bytes. */
+	
+	private void ensure(int bytes) {
+		if (out.remaining() < bytes) {
+			ByteBuffer larger = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + bytes));
+			out = larger.put(out.flip());
+		}
+	}
+	
+	/** Writes the given number in at most five bytes, seven bits per byte, with small negative numbers also taking few bytes. */
+	
+	private void putVarint(int value) {
+		int zigzag = (value << 1) ^ (value >> 31);
+		while ((zigzag & ~0x7F) != 0) {
+			out.put((byte) ((zigzag & 0x7F) | 0x80));
+			zigzag >>>= 7;
+		}
+		out.put((byte) zigzag);
+	}
+	
+	/** Reads a number written by {@code putVarint} from the given buffer. */
+	
+	static int getVarint(ByteBuffer buffer) {
+		int zigzag = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			byte b = buffer.get();
+			zigzag |= (b & 0x7F) << shift;
+			if (b >= 0)
+				return (zigzag >>> 1) ^ -(zigzag & 1);
+		}
+		throw new IllegalArgumentException("Invalid number in frame");
+	}
+	
+	private ByteBuffer copyOut() {
+		out.flip();
+		ByteBuffer result = ByteBuffer.allocate(out.remaining());
+		result.put(out);
+		return result.flip();
+	}
+
+}
@@ -0,0 +1,235 @@
+package breakout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import breakout.radioactivity.Alpha;
+import breakout.radioactivity.Ball;
+import breakout.radioactivity.NormalBall;
+import breakout.simulation.LevelGenerator;
+import breakout.simulation.PaddleInput;
+import breakout.simulation.SimulationRunner;
+import breakout.snapshot.SnapshotCodec;
+import breakout.utils.Point;
+import breakout.utils.Vector;
+
+class DeltaEncoderTest {
+
+	private static final String STORM_MAP = """
+RRRRRRRRRR
+!!!!!!!!!!
+SSSSSSSSSS
+##########
+
+    o  o
+    =
+""";
+
+	/** Describes every element a visitor visits as a line of text, with positions rounded down to multiples of the given quantum. */
+	
+	private static class Transcript implements BreakoutStateVisitor {
+	
+		private final int quantum;
+		private final List<String> lines = new ArrayList<>();
+		
+		private Transcript(int quantum) {
+			this.quantum = quantum;
+		}
+		
+		private String point(Point point) {
+			return Math.floorDiv(point.getX(), quantum) + "," + Math.floorDiv(point.getY(), quantum);
+		}
+		
+		@Override
+		public void visitBlock(BlockState block) {
+			lines.add("block " + block.getTopLeft() + block.getBottomRight() + " " + block.getClass().getSimpleName() + " " + block.getHealth());
+		}
+		
+		@Override
+		public void visitBall(Point center, int diameter, Vector velocity, Color color, int eCharge) {
+			lines.add("ball " + point(center) + " " + diameter + " " + velocity + " " + color + " " + eCharge);
+		}
+		
+		@Override
+		public void visitAlpha(Point center, int diameter, Vector velocity, Color color) {
+			lines.add("alpha " + point(center) + " " + diameter + " " + velocity + " " + color);
+		}
+		
+		@Override
+		public void visitLink(Point ballCenter, Point alphaCenter) {
+			lines.add("link " + point(ballCenter) + " " + point(alphaCenter));
+		}
+		
+		@Override
+		public void visitPaddle(PaddleState paddle) {
+			lines.add("paddle " + paddle.getCenter() + " " + paddle.getAmountOfReplications());
+		}
+		
+		/** Returns the lines, sorted, since a spectator visits the balls in the order in which they appeared. */
+		
+		private List<String> sorted() {
+			lines.sort(null);
+			return lines;
+		}
+	
+	}
+	
+	private static List<String> transcript(BreakoutState state, int quantum) {
+		Transcript transcript = new Transcript(quantum);
+		state.accept(transcript);
+		return transcript.sorted();
+	}
+	
+	private static List<String> transcript(SpectatorState state, int quantum) {
+		Transcript transcript = new Transcript(quantum);
+		state.accept(transcript);
+		return transcript.sorted();
+	}
+	
+	private static void tick(BreakoutState state, PaddleInput input, long tick) {
+		SimulationRunner.step(state, input.getPaddleDir(tick, state), 20);
+	}
+	
+	@Test
+	void testExactStream() {
+		for (String description: List.of(STORM_MAP, LevelGenerator.randomDescription(1), LevelGenerator.randomDescription(2))) {
+			BreakoutState state = GameMap.createStateFromDescription(description);
+			PaddleInput input = PaddleInput.followLowestBall();
+			DeltaEncoder encoder = new DeltaEncoder(1);
+			DeltaDecoder decoder = new DeltaDecoder();
+			DeltaDecoder lateDecoder = new DeltaDecoder();
+			long frameBytes = 0;
+			long snapshotBytes = 0;
+			for (int tick = 0; tick < 1000 && !state.isDead() && !state.isWon(); tick++) {
+				if (tick == 500)
+					lateDecoder.decode(encoder.encodeKeyframe());
+				ByteBuffer frame = encoder.encode(state);
+				frameBytes += frame.remaining();
+				snapshotBytes += SnapshotCodec.encode(state).remaining();
+				SpectatorState spectated = decoder.decode(frame.duplicate());
+				assertEquals(encoder.getFrame(), spectated.getFrame());
+				assertEquals(state.getBottomRight(), spectated.getBottomRight());
+				assertEquals(state.getPaddle(), spectated.getPaddle());
+				assertEquals(state.getBalls().length, spectated.getBallCount());
+				assertEquals(state.getAlphas().length, spectated.getAlphaCount());
+				assertEquals(transcript(state, 1), transcript(spectated, 1));
+				if (tick >= 500)
+					assertEquals(transcript(state, 1), transcript(lateDecoder.decode(frame), 1));
+				tick(state, input, tick);
+			}
+			assertTrue(frameBytes * 3 < snapshotBytes, frameBytes + " bytes of frames for " + snapshotBytes + " bytes of snapshots");
+		}
+	}
+	
+	@Test
+	void testQuantizedStream() {
+		BreakoutState state = GameMap.createStateFromDescription(STORM_MAP);
+		PaddleInput input = PaddleInput.followLowestBall();
+		DeltaEncoder exactEncoder = new DeltaEncoder(1);
+		DeltaEncoder encoder = new DeltaEncoder(64);
+		DeltaDecoder decoder = new DeltaDecoder();
+		long exactBytes = 0;
+		long quantizedBytes = 0;
+		for (int tick = 0; tick < 500 && !state.isDead() && !state.isWon(); tick++) {
+			exactBytes += exactEncoder.encode(state).remaining();
+			ByteBuffer frame = encoder.encode(state);
+			quantizedBytes += frame.remaining();
+			assertEquals(transcript(state, 64), transcript(decoder.decode(frame), 64));
+			tick(state, input, tick);
+		}
+		assertTrue(quantizedBytes < exactBytes);
+	}
+	
+	@Test
+	void testLoopbackSocket() throws IOException {
+		BreakoutState state = GameMap.createStateFromDescription(STORM_MAP);
+		PaddleInput input = PaddleInput.followLowestBall();
+		DeltaEncoder encoder = new DeltaEncoder(1);
+		try (ServerSocketChannel server = ServerSocketChannel.open()) {
+			server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+			try (SocketChannel spectator = SocketChannel.open(server.getLocalAddress())) {
+				DeltaDecoder decoder = new DeltaDecoder();
+				try (SocketChannel connection = server.accept();
+						SocketChannel lateSpectator = SocketChannel.open(server.getLocalAddress());
+						SocketChannel lateConnection = server.accept()) {
+					DeltaDecoder lateDecoder = new DeltaDecoder();
+					for (int tick = 0; tick < 200; tick++) {
+						if (tick == 100) {
+							DeltaEncoder.write(encoder.encodeKeyframe(), lateConnection);
+							assertEquals(tick, lateDecoder.read(lateSpectator).getFrame());
+						}
+						// The same frame is sent to every spectator
+						ByteBuffer frame = encoder.encode(state);
+						DeltaEncoder.write(frame, connection);
+						assertEquals(transcript(state, 1), transcript(decoder.read(spectator), 1));
+						if (tick >= 100) {
+							DeltaEncoder.write(frame, lateConnection);
+							assertEquals(transcript(state, 1), transcript(lateDecoder.read(lateSpectator), 1));
+						}
+						tick(state, input, tick);
+					}
+				}
+				// The connection is closed now, which ends the stream of the spectator
+				assertThrows(IOException.class, () -> decoder.read(spectator));
+			}
+		}
+	}
+	
+	@Test
+	void testInvalidFrames() {
+		BreakoutState state = GameMap.createStateFromDescription(STORM_MAP);
+		DeltaEncoder encoder = new DeltaEncoder(1);
+		assertThrows(IllegalArgumentException.class, () -> new DeltaEncoder(0));
+		assertThrows(IllegalStateException.class, () -> encoder.encodeKeyframe());
+		ByteBuffer keyframe = encoder.encode(state);
+		state.tick(0, 20);
+		ByteBuffer second = encoder.encode(state);
+		state.tick(0, 20);
+		ByteBuffer third = encoder.encode(state);
+		
+		DeltaDecoder decoder = new DeltaDecoder();
+		// A frame other than a keyframe needs the frame before it
+		assertThrows(IllegalArgumentException.class, () -> decoder.decode(second.duplicate()));
+		decoder.decode(keyframe.duplicate());
+		assertThrows(IllegalArgumentException.class, () -> decoder.decode(third.duplicate()));
+		assertNull(decoder.getState());
+		
+		decoder.decode(keyframe.duplicate());
+		assertThrows(IllegalArgumentException.class, () -> decoder.decode(second.duplicate().limit(second.limit() - 1)));
+		assertNull(decoder.getState());
+		decoder.decode(keyframe.duplicate());
+		decoder.decode(second.duplicate());
+		assertEquals(transcript(state, 1), transcript(decoder.decode(third.duplicate()), 1));
+		
+		// A delta that removes an alpha without relinking the ball that is linked to it
+		Ball ball = new NormalBall(new Point(20000, 20000), 700, new Vector(1, -3));
+		Alpha alpha = new Alpha(new Point(30000, 20000), 700, new Vector(-1, 3));
+		ball.linkTo(alpha);
+		BreakoutState linked = new BreakoutState(new Ball[] {ball}, new Alpha[] {alpha}, state.getBlocks(), state.getBottomRight(), state.getPaddle());
+		ByteBuffer linkedKeyframe = new DeltaEncoder(1).encode(linked);
+		SpectatorState spectator = decoder.decode(linkedKeyframe.duplicate());
+		int alphaId = spectator.alphas.keySet().iterator().next();
+		assertTrue(alphaId >= 0 && alphaId < 64);
+		// Zero counts and small ids take one byte each: the id times two
+		ByteBuffer dangling = ByteBuffer.allocate(4 + 2 + 1 + 8 + 11);
+		dangling.putInt(DeltaEncoder.MAGIC).putShort(DeltaEncoder.VERSION).put(DeltaEncoder.DELTA).putLong(spectator.getFrame() + 1);
+		dangling.put(new byte[] {0, 0, 0, 2, (byte) (alphaId * 2), 0, 0, 0, 0, 0, 0}).flip();
+		assertThrows(IllegalArgumentException.class, () -> decoder.decode(dangling));
+		assertNull(decoder.getState());
+		
+		assertThrows(IllegalArgumentException.class, () -> encoder.encode(new BreakoutFacade().createBreakoutState(new Ball[0],
+				new BlockState[0], new Point(10000, 10000), new NormalPaddleState(new Point(5000, 9000)))));
+	}
+
+}
@@ -0,0 +1,218 @@
+package breakout;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import breakout.radioactivity.Alpha;
+import breakout.radioactivity.Ball;
+import breakout.utils.Point;
+import breakout.utils.Vector;
+
+/**
+ * Advances a {@code BreakoutState} with a paddle that stands still, from event to event instead of tick by tick.
+ * For every ball and alpha, it predicts the first moment it may hit a wall, block or the paddle and keeps these events in a priority queue.
+ * Until the earliest event, all balls and alphas move in straight lines, so the ticks before it are merged into one long tick.
+ * The result is the same as ticking the state with a fixed tick length and a paddle direction of {@code 0}.
+ *
+ * A prediction stays valid as long as its ball or alpha keeps moving in the same straight line, because blocks can disappear but never appear
+ * and the paddle does not move. Only the balls and alphas whose movement changed during an event, or that were created by it, are predicted again.
+ *
+ * @invar | getState() != null
+ * @invar | getTickLength() > 0
+ * @invar | getTick() >= 0
+ * @invar | getStateTicks() >= 0 && getStateTicks() <= getTick()
+ */
+
+public class EventDrivenSimulation {
+
+	/** The furthest a prediction looks ahead, in milliseconds, so that a ball that barely moves is not followed indefinitely. */
+	
+	private static final int HORIZON = 60000;
+	
+	/**
+	 * The first moment a ball or alpha may hit something, as predicted from its position and velocity at the time of prediction.
+	 */
+	
+	private static class Prediction implements Comparable<Prediction> {
+	
+		private final Object entity;
+		private final long time;
+		private final int x;
+		private final int y;
+		private final int vx;
+		private final int vy;
+		/** The last time in milliseconds up to which the entity hits nothing. */
+		private final long quietUntil;
+		/** The last validation round in which the entity was still in the game. */
+		private long seen;
+		
+		private Prediction(Object entity, long time, Point center, Vector velocity, long quietUntil) {
+			this.entity = entity;
+			this.time = time;
+			this.x = center.getX();
+			this.y = center.getY();
+			this.vx = velocity.getX();
+			this.vy = velocity.getY();
+			this.quietUntil = quietUntil;
+		}
+		
+		/** Returns whether an entity with the given center and velocity at the given time has moved in a straight line since this prediction. */
+		
+		private boolean follows(long now, Point center, Vector velocity) {
+			long elapsed = now - time;
+			return velocity.getX() == vx && velocity.getY() == vy &&
+					center.getX() == x + vx * elapsed && center.getY() == y + vy * elapsed;
+		}
+		
+		@Override
+		public int compareTo(Prediction other) {
+			return Long.compare(quietUntil, other.quietUntil);
+		}
+	
+	}
+	
+	/**
+	 * @invar | state != null
+	 * @invar | tickLength > 0
+	 * @invar | predictions != null && events != null
+	 * @invar | 0 <= stateTicks && stateTicks <= tick
+	 */
+	
+	/** @representationObject */
+	private final BreakoutState state;
+	private final int tickLength;
+	private long tick;
+	private long stateTicks;
+	/** @representationObject */
+	private final Map<Object, Prediction> predictions = new IdentityHashMap<>();
+	/** @representationObject */
+	private final PriorityQueue<Prediction> events = new PriorityQueue<>();
+	private long round;
+	
+	/**
+	 * Initializes this simulation so that it advances the given state by ticks of the given length.
+	 * The state is advanced in place, so it must not be changed by anything else while this simulation uses it.
+	 *
+	 * @throws IllegalArgumentException if the state is {@code null}
+	 * 		| state == null
+	 * @throws IllegalArgumentException if the tick length is not positive
+	 * 		| tickLength <= 0
+	 *
+	 * @post | getState() == state
+	 * @post | getTickLength() == tickLength
+	 * @post | getTick() == 0
+	 * @post | getStateTicks() == 0
+	 */
+	
+	public EventDrivenSimulation(BreakoutState state, int tickLength) {
+		if (state == null)
+			throw new IllegalArgumentException("The state must not be null.");
+		if (tickLength <= 0)
+			throw new IllegalArgumentException("The tick length must be positive.");
+		this.state = state;
+		this.tickLength = tickLength;
+	}
+	
+	/** Returns the state this simulation advances. */
+	
+	public BreakoutState getState() {
+		return state;
+	}
+	
+	/** Returns the amount of time in milliseconds each simulated tick advances the game by. */
+	
+	public int getTickLength() {
+		return tickLength;
+	}
+	
+	/** Returns the number of ticks this simulation has advanced the state by. */
+	
+	public long getTick() {
+		return tick;
+	}
+	
+	/** Returns the number of times this simulation has called {@code tick} on the state, which is at most {@code getTick()}. */
+	
+	public long getStateTicks() {
+		return stateTicks;
+	}
+	
+	/**
+	 * Advances the state by the given number of ticks, or until the game is won or lost, and returns the number of ticks it advanced by.
+	 *
+	 * @pre | ticks >= 0
+	 *
+	 * @mutates | this
+	 *
+	 * @post | 0 <= result && result <= ticks
+	 * @post | getTick() == old(getTick()) + result
+	 * @post | result == ticks || getState().isWon() || getState().isDead()
+	 */
+	
+	public int advance(int ticks) {
+		int done = 0;
+		while (done < ticks && !state.isWon() && !state.isDead()) {
+			long now = tick * tickLength;
+			long quietUntil = nextEvent(now);
+			// Every tick boundary that is merged away lies before the next event
+			long merged = Math.min((quietUntil - now) / tickLength + 1, ticks - done);
+			state.tick(0, (int) (merged * tickLength));
+			stateTicks++;
+			tick += merged;
+			done += merged;
+		}
+		return done;
+	}
+	
+	/**
+	 * Predicts the balls and alphas that have no valid prediction at the given time, drops the predictions of those that left the game,
+	 * and returns the last time up to which no ball or alpha hits anything.
+	 */
+	
+	private long nextEvent(long now) {
+		round++;
+		Ball[] balls = state.getBallsInternal();
+		for (int i = 0; i < state.getBallCount(); i++) {
+			Ball ball = balls[i];
+			Prediction prediction = predictions.get(ball);
+			if (prediction == null || prediction.quietUntil < now || !prediction.follows(now, ball.getCenter(), ball.getVelocity()))
+				prediction = predict(ball, now, state.quietTime(ball, HORIZON), ball.getCenter(), ball.getVelocity());
+			prediction.seen = round;
+		}
+		Alpha[] alphas = state.getAlphasInternal();
+		for (int i = 0; i < state.getAlphaCount(); i++) {
+			Alpha alpha = alphas[i];
+			Prediction prediction = predictions.get(alpha);
+			if (prediction == null || prediction.quietUntil < now || !prediction.follows(now, alpha.getCenter(), alpha.getVelocity()))
+				prediction = predict(alpha, now, state.quietTime(alpha, HORIZON), alpha.getCenter(), alpha.getVelocity());
+			prediction.seen = round;
+		}
+		while (true) {
+			Prediction first = events.peek();
+			if (predictions.get(first.entity) != first) {
+				// Replaced by a newer prediction
+				events.poll();
+			} else if (first.seen != round) {
+				// The ball or alpha is no longer in the game
+				events.poll();
+				predictions.remove(first.entity);
+			} else {
+				return first.quietUntil;
+			}
+		}
+	}
+	
+	private Prediction predict(Object entity, long now, int quietTime, Point center, Vector velocity) {
+		Prediction prediction = new Prediction(entity, now, center, velocity, now + quietTime);
+		predictions.put(entity, prediction);
+		events.add(prediction);
+		if (events.size() > 2 * predictions.size() + 16) {
+			// Too many outdated events are waiting to reach the head of the queue
+			events.clear();
+			events.addAll(predictions.values());
+		}
+		return prediction;
+	}
+
+}
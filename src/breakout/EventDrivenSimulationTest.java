@@ -0,0 +1,68 @@
+package breakout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import breakout.radioactivity.Alpha;
+import breakout.radioactivity.Ball;
+import breakout.simulation.LevelGenerator;
+import breakout.utils.Point;
+import breakout.utils.Vector;
+
+class EventDrivenSimulationTest {
+	
+	private BreakoutFacade facade = new BreakoutFacade();
+	
+	private static void assertSameState(BreakoutState expected, BreakoutState actual) {
+		assertArrayEquals(expected.getBlocks(), actual.getBlocks());
+		assertEquals(expected.getPaddle(), actual.getPaddle());
+		Ball[] expectedBalls = expected.getBalls();
+		Ball[] actualBalls = actual.getBalls();
+		assertEquals(expectedBalls.length, actualBalls.length);
+		for (int i = 0; i < expectedBalls.length; i++)
+			assertTrue(expectedBalls[i].equalContent(actualBalls[i]));
+		Alpha[] expectedAlphas = expected.getAlphas();
+		Alpha[] actualAlphas = actual.getAlphas();
+		assertEquals(expectedAlphas.length, actualAlphas.length);
+		for (int i = 0; i < expectedAlphas.length; i++)
+			assertTrue(expectedAlphas[i].equalContent(actualAlphas[i]));
+	}
+	
+	@Test
+	void testMatchesTickModel() {
+		for (long seed = 0; seed < 8; seed++) {
+			String description = LevelGenerator.randomDescription(seed);
+			BreakoutState ticked = facade.createStateFromDescription(description);
+			EventDrivenSimulation simulation = new EventDrivenSimulation(facade.createStateFromDescription(description), 20);
+			for (int step = 0; step < 50 && !ticked.isWon() && !ticked.isDead(); step++) {
+				for (int i = 0; i < 13 && !ticked.isWon() && !ticked.isDead(); i++)
+					ticked.tick(0, 20);
+				simulation.advance(13);
+				assertSameState(ticked, simulation.getState());
+			}
+		}
+	}
+	
+	@Test
+	void testMergesQuietTicks() {
+		// A lone ball bouncing between the top and bottom walls of an empty column hits nothing most of the time
+		Ball ball = facade.createNormalBall(new Point(40000, 10000), 700, new Vector(0, 7));
+		BlockState block = facade.createNormalBlockState(new Point(0, 0), new Point(5000, 3000));
+		PaddleState paddle = facade.createNormalPaddleState(new Point(10000, 28000));
+		BreakoutState state = facade.createBreakoutState(new Ball[] {ball}, new BlockState[] {block}, new Point(50000, 30000), paddle);
+		BreakoutState ticked = state.copy();
+		EventDrivenSimulation simulation = new EventDrivenSimulation(state, 20);
+		
+		assertEquals(100, simulation.advance(100));
+		for (int i = 0; i < 100; i++)
+			ticked.tick(0, 20);
+		assertSameState(ticked, state);
+		assertEquals(100, simulation.getTick());
+		assertTrue(simulation.getStateTicks() < 10);
+		
+		assertThrows(IllegalArgumentException.class, () -> new EventDrivenSimulation(null, 20));
+		assertThrows(IllegalArgumentException.class, () -> new EventDrivenSimulation(state, 0));
+	}
+	
+}
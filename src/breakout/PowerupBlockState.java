@@ -85,10 +85,7 @@ public class PowerupBlockState extends BlockState {
 	
 	public Ball specialBlockHandler(Ball ball) {
 		Ball retBall = new SuperchargedBall(ball.getCenter(), ball.getDiameter(), ball.getVelocity(), 0);
-		for (Alpha alpha: ball.getAlphas()) {
-			retBall.linkTo(alpha);
-			ball.unLink(alpha);
-		}
+		ball.transferLinksTo(retBall);
 		return retBall;
 	}
 }
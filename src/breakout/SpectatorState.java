@@ -0,0 +1,138 @@
+package breakout;
+
+import java.awt.Color;
+import java.util.LinkedHashMap;
+
+import breakout.utils.Point;
+import breakout.utils.Vector;
+
+/**
+ * A read-only view of a game that a {@code DeltaDecoder} rebuilds from a stream of frames, for a spectator.
+ * It holds what a spectator sees of a {@code BreakoutState}: the field, the paddle, the blocks, the balls with their eCharges, the alphas
+ * and the links between them. Positions are as precise as the quantum of the stream allows: a coordinate lies within half a quantum of the real one.
+ * It can not be ticked, but it can be drawn like a {@code BreakoutState}, by letting a {@code BreakoutStateVisitor} visit it.
+ *
+ * Only its decoder changes it, when it decodes the next frame, so it must not be used while its decoder decodes.
+ *
+ * @invar | getBottomRight() != null
+ * @invar | getPaddle() != null
+ * @invar | getBlocks() != null
+ * @invar | getBallCount() >= 0 && getAlphaCount() >= 0
+ */
+
+public class SpectatorState {
+
+	/** A ball or alpha as a spectator sees it. */
+	
+	static class Body {
+	
+		final int id;
+		final byte type;
+		int x;
+		int y;
+		int vx;
+		int vy;
+		int diameter;
+		int eCharge;
+		/** The ids of the alphas a ball is linked to. */
+		int[] alphaIds = NO_IDS;
+		
+		Body(int id, byte type) {
+			this.id = id;
+			this.type = type;
+		}
+	
+	}
+	
+	private static final int[] NO_IDS = {};
+	
+	/**
+	 * @invar | bottomRight != null && paddle != null
+	 * @invar | blocks != null && balls != null && alphas != null
+	 */
+	
+	final Point bottomRight;
+	PaddleState paddle;
+	long frame;
+	/** The blocks, balls and alphas by id, in the order in which they appeared. @representationObject */
+	final LinkedHashMap<Integer, BlockState> blocks = new LinkedHashMap<>();
+	/** @representationObject */
+	final LinkedHashMap<Integer, Body> balls = new LinkedHashMap<>();
+	/** @representationObject */
+	final LinkedHashMap<Integer, Body> alphas = new LinkedHashMap<>();
+	
+	SpectatorState(Point bottomRight, PaddleState paddle) {
+		this.bottomRight = bottomRight;
+		this.paddle = paddle;
+	}
+	
+	/** Returns the number of the last frame that was decoded into this object. */
+	
+	public long getFrame() {
+		return frame;
+	}
+	
+	/** Returns the bottom right corner of the field. */
+	
+	public Point getBottomRight() {
+		return bottomRight;
+	}
+	
+	/** Returns the paddle. */
+	
+	public PaddleState getPaddle() {
+		return paddle;
+	}
+	
+	/**
+	 * Returns a new array holding the blocks, in the order in which they appeared.
+	 *
+	 * @creates | result
+	 */
+	
+	public BlockState[] getBlocks() {
+		return blocks.values().toArray(new BlockState[0]);
+	}
+	
+	/** Returns the number of balls in the game. */
+	
+	public int getBallCount() {
+		return balls.size();
+	}
+	
+	/** Returns the number of alphas in the game. */
+	
+	public int getAlphaCount() {
+		return alphas.size();
+	}
+	
+	/**
+	 * Lets the given visitor visit the blocks, balls, alphas, links between balls and alphas, and the paddle of this object, in that order,
+	 * like {@code BreakoutState.accept}. Blocks, balls and alphas are visited in the order in which they appeared.
+	 *
+	 * @pre | visitor != null
+	 *
+	 * @inspects | this
+	 */
+	
+	public void accept(BreakoutStateVisitor visitor) {
+		for (BlockState block: blocks.values()) {
+			visitor.visitBlock(block);
+		}
+		for (Body ball: balls.values()) {
+			Color color = ball.type == DeltaEncoder.SUPERCHARGED_BALL ? Color.GREEN : Color.WHITE;
+			visitor.visitBall(new Point(ball.x, ball.y), ball.diameter, new Vector(ball.vx, ball.vy), color, ball.eCharge);
+		}
+		for (Body alpha: alphas.values()) {
+			visitor.visitAlpha(new Point(alpha.x, alpha.y), alpha.diameter, new Vector(alpha.vx, alpha.vy), Color.LIGHT_GRAY);
+		}
+		for (Body ball: balls.values()) {
+			for (int alphaId: ball.alphaIds) {
+				Body alpha = alphas.get(alphaId);
+				visitor.visitLink(new Point(ball.x, ball.y), new Point(alpha.x, alpha.y));
+			}
+		}
+		visitor.visitPaddle(paddle);
+	}
+
+}
@@ -0,0 +1,271 @@
+package breakout.bench;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import breakout.BreakoutFacade;
+import breakout.BreakoutState;
+import breakout.BlockState;
+import breakout.GameMap;
+import breakout.radioactivity.Ball;
+import breakout.radioactivity.NormalBall;
+import breakout.simulation.PaddleInput;
+import breakout.simulation.SimulationRunner;
+import breakout.utils.Point;
+import breakout.utils.Rect;
+import breakout.utils.Vector;
+
+/**
+ * A named piece of code whose speed is measured by a {@code BenchmarkRunner}.
+ * For every measurement, a fresh {@code Operation} is prepared for a scenario, and only running that operation is timed.
+ * 
+ * @immutable
+ * 
+ * @invar | getName() != null
+ * @invar | getOperationsPerIteration() > 0
+ */
+
+public class Benchmark {
+	
+	/** The number of ticks in an iteration of the tick benchmarks, which is also the number of paddle directions they record. */
+	private static final int TICKS = 200;
+	
+	private final String name;
+	private final int operationsPerIteration;
+	private final Function<Scenario, Operation> preparation;
+	
+	/**
+	 * Initializes this benchmark with the given name, the number of operations that are timed together as one iteration 
+	 * and the function that prepares an operation for a scenario.
+	 * 
+	 * @pre | name != null
+	 * @pre | operationsPerIteration > 0
+	 * @pre | preparation != null
+	 * 
+	 * @post | getName().equals(name)
+	 * @post | getOperationsPerIteration() == operationsPerIteration
+	 */
+	
+	public Benchmark(String name, int operationsPerIteration, Function<Scenario, Operation> preparation) {
+		this.name = name;
+		this.operationsPerIteration = operationsPerIteration;
+		this.preparation = preparation;
+	}
+	
+	/** Returns the name of this benchmark. */
+	
+	public String getName() {
+		return name;
+	}
+	
+	/** Returns the number of operations that are timed together as one iteration. */
+	
+	public int getOperationsPerIteration() {
+		return operationsPerIteration;
+	}
+	
+	/**
+	 * Returns a new operation of this benchmark for the given scenario. Preparing it is not part of the measurement.
+	 * 
+	 * @pre | scenario != null
+	 * 
+	 * @post | result != null
+	 */
+	
+	public Operation prepare(Scenario scenario) {
+		return preparation.apply(scenario);
+	}
+	
+	/**
+	 * Returns the benchmarks of the tick pipeline and the geometry it uses.
+	 * 
+	 * @post | result != null
+	 */
+	
+	public static List<Benchmark> all() {
+		return List.of(
+				new Benchmark("tick", TICKS, Benchmark::tick),
+				new Benchmark("sweptTick", TICKS, Benchmark::sweptTick),
+				new Benchmark("tickDuring", 10, scenario -> tickDuring(scenario, false)),
+				new Benchmark("tickDuringAdaptive", 10, scenario -> tickDuring(scenario, true)),
+				new Benchmark("collision", 10000, Benchmark::collision),
+				new Benchmark("magnetSpeed", 100000, Benchmark::magnetSpeed),
+				new Benchmark("getBallsAndAlphas", 200, Benchmark::getBallsAndAlphas),
+				new Benchmark("createStateFromDescription", 200, Benchmark::createStateFromDescription));
+	}
+	
+	/**
+	 * Ticks the scenario for 20 milliseconds at a time, with a paddle that follows the lowest ball.
+	 * A game that ends is started over, which is part of the measurement but rare.
+	 */
+	
+	private static Operation tick(Scenario scenario) {
+		return tick(scenario, 20, false);
+	}
+	
+	/**
+	 * Ticks the scenario in swept collision mode for the longest tick the game allows, {@code BreakoutState.MAX_ELAPSED_TIME} milliseconds,
+	 * which covers the same game time as {@code tick} in fewer ticks.
+	 */
+	
+	private static Operation sweptTick(Scenario scenario) {
+		return tick(scenario, BreakoutState.MAX_ELAPSED_TIME, true);
+	}
+	
+	/**
+	 * Plays the scenario with a paddle that follows the lowest ball. The paddle directions are recorded while preparing the operation,
+	 * so that choosing them is not measured: the operation replays them, and starts the game over when they run out,
+	 * which is where the recorded game ended or the recording stopped.
+	 */
+	
+	private static Operation tick(Scenario scenario, int tickLength, boolean swept) {
+		int[] track = recordTrack(scenario, tickLength, swept);
+		BreakoutState[] state = {createState(scenario, swept)};
+		int[] position = {0};
+		return count -> {
+			long result = 0;
+			for (int i = 0; i < count; i++) {
+				if (position[0] == track.length) {
+					state[0] = createState(scenario, swept);
+					position[0] = 0;
+				}
+				int paddleDir = track[position[0]++];
+				SimulationRunner.step(state[0], paddleDir, tickLength);
+				result += state[0].getPaddle().getCenter().getX();
+			}
+			return result;
+		};
+	}
+	
+	/** Returns the directions a paddle that follows the lowest ball takes in the scenario, until the game ends or {@code TICKS} ticks. */
+	
+	private static int[] recordTrack(Scenario scenario, int tickLength, boolean swept) {
+		BreakoutState state = createState(scenario, swept);
+		PaddleInput input = PaddleInput.followLowestBall();
+		int[] track = new int[TICKS];
+		int length = 0;
+		do {
+			track[length] = input.getPaddleDir(length, state);
+			SimulationRunner.step(state, track[length], tickLength);
+			length++;
+		} while (length < TICKS && !state.isDead() && !state.isWon());
+		return Arrays.copyOf(track, length);
+	}
+	
+	private static BreakoutState createState(Scenario scenario, boolean swept) {
+		BreakoutState state = scenario.createState();
+		state.setSweptCollisions(swept);
+		return state;
+	}
+	
+	/**
+	 * Fast-forwards the scenario by one second at a time through the facade, with fixed or adaptive steps. 
+	 * A game that ends is started over, which is part of the measurement.
+	 */
+	
+	private static Operation tickDuring(Scenario scenario, boolean adaptive) {
+		BreakoutFacade facade = new BreakoutFacade();
+		BreakoutState[] state = {scenario.createState()};
+		return count -> {
+			long result = 0;
+			for (int i = 0; i < count; i++) {
+				if (state[0].isDead() || state[0].isWon())
+					state[0] = scenario.createState();
+				if (adaptive)
+					facade.tickDuringAdaptive(state[0], 1000);
+				else
+					facade.tickDuring(state[0], 1000);
+				result += state[0].getBlocks().length;
+			}
+			return result;
+		};
+	}
+	
+	/**
+	 * Checks every side of a block for a ball of the scenario and bounces the ball off the block when it is hit,
+	 * with balls placed against every side of the block in turn.
+	 */
+	
+	private static Operation collision(Scenario scenario) {
+		BreakoutState state = scenario.createState();
+		BlockState block = state.getBlocks()[0];
+		Rect rect = new Rect(block.getTopLeft(), block.getBottomRight());
+		Ball template = state.getBalls()[0];
+		int radius = template.getDiameter() / 2;
+		int middleX = (block.getTopLeft().getX() + block.getBottomRight().getX()) / 2;
+		int middleY = (block.getTopLeft().getY() + block.getBottomRight().getY()) / 2;
+		Point[] centers = {
+				new Point(middleX, block.getBottomRight().getY() + radius / 2),
+				new Point(block.getTopLeft().getX() - radius / 2, middleY),
+				new Point(middleX, block.getTopLeft().getY() - radius / 2),
+				new Point(block.getBottomRight().getX() + radius / 2, middleY)};
+		Vector[] velocities = {new Vector(1, -5), new Vector(5, 1), new Vector(-1, 5), new Vector(-5, -1)};
+		Ball[] balls = new Ball[centers.length];
+		for (int i = 0; i < balls.length; i++) {
+			balls[i] = new NormalBall(centers[i], template.getDiameter(), velocities[i]);
+		}
+		return count -> {
+			long result = 0;
+			for (int i = 0; i < count; i++) {
+				Ball ball = balls[i & 3];
+				boolean hit = false;
+				for (int side = 1; side <= 4; side++) {
+					if (ball.raaktRechthoek(rect, side))
+						hit = true;
+				}
+				if (hit) {
+					// Bouncing back and forth keeps the ball hitting the block in every operation
+					ball.hitBlock(rect, false);
+					ball.setVelocity(ball.getVelocity().scaled(-1));
+					result++;
+				}
+			}
+			return result;
+		};
+	}
+	
+	/** Computes the magnetic pull of an alpha near the top of the field on the first ball of the scenario, for eCharges 1 to 4. */
+	
+	private static Operation magnetSpeed(Scenario scenario) {
+		BreakoutState state = scenario.createState();
+		Ball ball = state.getBalls()[0];
+		Point alphaCenter = new Point(25000, 2000);
+		Point ballCenter = ball.getCenter();
+		Vector velocity = ball.getVelocity();
+		return count -> {
+			long result = 0;
+			for (int i = 0; i < count; i++) {
+				result += Vector.magnetSpeed(alphaCenter, ballCenter, 1 + (i & 3), velocity).getX();
+			}
+			return result;
+		};
+	}
+	
+	/** Takes the deep copies of the balls and alphas of the scenario that the getters return. */
+	
+	private static Operation getBallsAndAlphas(Scenario scenario) {
+		BreakoutState state = scenario.createState();
+		return count -> {
+			long result = 0;
+			for (int i = 0; i < count; i++) {
+				result += state.getBalls().length + state.getAlphas().length;
+			}
+			return result;
+		};
+	}
+	
+	/** Reads the level description of the scenario. */
+	
+	private static Operation createStateFromDescription(Scenario scenario) {
+		String description = scenario.getDescription();
+		return count -> {
+			long result = 0;
+			for (int i = 0; i < count; i++) {
+				result += GameMap.createStateFromDescription(description).getBlocks().length;
+			}
+			return result;
+		};
+	}
+	
+}
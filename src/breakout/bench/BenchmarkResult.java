@@ -0,0 +1,72 @@
+package breakout.bench;
+
+/**
+ * The measured speed of a benchmark on a scenario.
+ * 
+ * @immutable
+ * 
+ * @invar | getBenchmark() != null
+ * @invar | getScenario() != null
+ * @invar | getNanosPerOperation() >= 0
+ * @invar | getStandardDeviation() >= 0
+ */
+
+public class BenchmarkResult {
+	
+	private final String benchmark;
+	private final Scenario scenario;
+	private final double nanosPerOperation;
+	private final double standardDeviation;
+	
+	/**
+	 * Initializes this result with the name of the benchmark, the scenario, and the mean and standard deviation 
+	 * over the measured iterations of the time per operation in nanoseconds.
+	 * 
+	 * @pre | benchmark != null
+	 * @pre | scenario != null
+	 * @pre | nanosPerOperation >= 0
+	 * @pre | standardDeviation >= 0
+	 * 
+	 * @post | getBenchmark().equals(benchmark)
+	 * @post | getScenario() == scenario
+	 * @post | getNanosPerOperation() == nanosPerOperation
+	 * @post | getStandardDeviation() == standardDeviation
+	 */
+	
+	public BenchmarkResult(String benchmark, Scenario scenario, double nanosPerOperation, double standardDeviation) {
+		this.benchmark = benchmark;
+		this.scenario = scenario;
+		this.nanosPerOperation = nanosPerOperation;
+		this.standardDeviation = standardDeviation;
+	}
+	
+	/** Returns the name of the benchmark. */
+	
+	public String getBenchmark() {
+		return benchmark;
+	}
+	
+	/** Returns the scenario the benchmark was run on. */
+	
+	public Scenario getScenario() {
+		return scenario;
+	}
+	
+	/** Returns the mean time per operation in nanoseconds. */
+	
+	public double getNanosPerOperation() {
+		return nanosPerOperation;
+	}
+	
+	/** Returns the standard deviation of the time per operation over the iterations in nanoseconds. */
+	
+	public double getStandardDeviation() {
+		return standardDeviation;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("%-28s %-24s %14.1f ns/op  +- %.1f", benchmark, scenario, nanosPerOperation, standardDeviation);
+	}
+	
+}
@@ -0,0 +1,146 @@
+package breakout.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the benchmarks of {@code Benchmark.all()} on every fixed {@code Scenario}, and on generated ones that are asked for.
+ * Every benchmark is first run for a number of warmup iterations, which give the JIT compiler time to compile it, 
+ * and is then timed over a number of measured iterations. Every iteration works on a freshly prepared operation.
+ * 
+ * Run {@code main} with the names of the benchmarks to run, or without arguments to run all of them.
+ * {@code -wi <n>} and {@code -i <n>} set the number of warmup and measured iterations.
+ * {@code -s <balls>,<alphas>,<blocks>} adds a generated scenario with the given numbers of balls, alphas and blocks, and can be repeated.
+ * 
+ * @immutable
+ * 
+ * @invar | getWarmupIterations() >= 0
+ * @invar | getIterations() > 0
+ */
+
+public class BenchmarkRunner {
+	
+	private final int warmupIterations;
+	private final int iterations;
+	
+	/** Receives the values returned by the operations, so that their work is not optimized away. */
+	private static volatile long sink;
+	
+	/**
+	 * Initializes this runner with the given numbers of warmup and measured iterations.
+	 * 
+	 * @throws IllegalArgumentException if the number of warmup iterations is negative or there is not at least one measured iteration
+	 * 		| warmupIterations < 0 || iterations <= 0
+	 * 
+	 * @post | getWarmupIterations() == warmupIterations
+	 * @post | getIterations() == iterations
+	 */
+	
+	public BenchmarkRunner(int warmupIterations, int iterations) {
+		if (warmupIterations < 0 || iterations <= 0)
+			throw new IllegalArgumentException("There must be at least one measured iteration and no negative number of warmup iterations.");
+		this.warmupIterations = warmupIterations;
+		this.iterations = iterations;
+	}
+	
+	/** Returns the number of iterations that are run before the measurement starts. */
+	
+	public int getWarmupIterations() {
+		return warmupIterations;
+	}
+	
+	/** Returns the number of iterations that are measured. */
+	
+	public int getIterations() {
+		return iterations;
+	}
+	
+	/**
+	 * Measures the given benchmark on the given scenario.
+	 * 
+	 * @pre | benchmark != null
+	 * @pre | scenario != null
+	 * 
+	 * @post | result != null
+	 * @post | result.getBenchmark().equals(benchmark.getName())
+	 * @post | result.getScenario() == scenario
+	 */
+	
+	public BenchmarkResult measure(Benchmark benchmark, Scenario scenario) {
+		int operations = benchmark.getOperationsPerIteration();
+		for (int i = 0; i < warmupIterations; i++) {
+			sink += benchmark.prepare(scenario).run(operations);
+		}
+		double[] nanosPerOperation = new double[iterations];
+		for (int i = 0; i < iterations; i++) {
+			Operation operation = benchmark.prepare(scenario);
+			long start = System.nanoTime();
+			sink += operation.run(operations);
+			nanosPerOperation[i] = (double) (System.nanoTime() - start) / operations;
+		}
+		double mean = Arrays.stream(nanosPerOperation).average().getAsDouble();
+		double variance = Arrays.stream(nanosPerOperation).map(n -> (n - mean) * (n - mean)).sum() / iterations;
+		return new BenchmarkResult(benchmark.getName(), scenario, mean, Math.sqrt(variance));
+	}
+	
+	/**
+	 * Measures every given benchmark on every fixed scenario, in order.
+	 * 
+	 * @pre | benchmarks != null
+	 * @pre | benchmarks.stream().allMatch(b -> b != null)
+	 * 
+	 * @post | result.size() == benchmarks.size() * Scenario.values().size()
+	 */
+	
+	public List<BenchmarkResult> measureAll(List<Benchmark> benchmarks) {
+		return measureAll(benchmarks, Scenario.values());
+	}
+	
+	/**
+	 * Measures every given benchmark on every given scenario, in order.
+	 * 
+	 * @pre | benchmarks != null
+	 * @pre | benchmarks.stream().allMatch(b -> b != null)
+	 * @pre | scenarios != null
+	 * @pre | scenarios.stream().allMatch(s -> s != null)
+	 * 
+	 * @post | result.size() == benchmarks.size() * scenarios.size()
+	 */
+	
+	public List<BenchmarkResult> measureAll(List<Benchmark> benchmarks, List<Scenario> scenarios) {
+		List<BenchmarkResult> results = new ArrayList<>();
+		for (Benchmark benchmark: benchmarks) {
+			for (Scenario scenario: scenarios) {
+				results.add(measure(benchmark, scenario));
+			}
+		}
+		return results;
+	}
+	
+	public static void main(String[] args) {
+		int warmupIterations = 5;
+		int iterations = 10;
+		List<String> names = new ArrayList<>();
+		List<Scenario> scenarios = new ArrayList<>(Scenario.values());
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-wi") && i + 1 < args.length)
+				warmupIterations = Integer.parseInt(args[++i]);
+			else if (args[i].equals("-i") && i + 1 < args.length)
+				iterations = Integer.parseInt(args[++i]);
+			else if (args[i].equals("-s") && i + 1 < args.length) {
+				String[] counts = args[++i].split(",");
+				scenarios.add(Scenario.generated(Integer.parseInt(counts[0]), Integer.parseInt(counts[1]), Integer.parseInt(counts[2])));
+			} else
+				names.add(args[i]);
+		}
+		List<Benchmark> benchmarks = Benchmark.all().stream().filter(b -> names.isEmpty() || names.contains(b.getName())).toList();
+		BenchmarkRunner runner = new BenchmarkRunner(warmupIterations, iterations);
+		for (Benchmark benchmark: benchmarks) {
+			for (Scenario scenario: scenarios) {
+				System.out.println(runner.measure(benchmark, scenario));
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,48 @@
+package breakout.bench;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import breakout.BreakoutState;
+
+class BenchmarkRunnerTest {
+	
+	@Test
+	void testScenarios() {
+		BreakoutState someMap = Scenario.SOME_MAP.createState();
+		assertEquals(1, someMap.getBalls().length);
+		assertEquals(40, someMap.getBlocks().length);
+		
+		BreakoutState storm = Scenario.REPLICATION_STORM.createState();
+		assertEquals(64, storm.getBalls().length);
+		assertEquals(64, storm.getAlphas().length);
+		assertTrue(storm.getBalls()[0].getAlphas().size() == 2);
+	}
+	
+	@Test
+	void testGeneratedScenario() {
+		Scenario scenario = Scenario.generated(300, 40, 500);
+		BreakoutState state = scenario.createState();
+		assertEquals(300, state.getBalls().length);
+		assertEquals(40, state.getAlphas().length);
+		assertEquals(500, state.getBlocks().length);
+		assertTrue(state.getBalls()[299].getAlphas().size() == 2);
+		assertThrows(IllegalArgumentException.class, () -> Scenario.generated(0, 0, 1));
+		
+		List<BenchmarkResult> results = new BenchmarkRunner(0, 1).measureAll(Benchmark.all(), List.of(scenario));
+		assertEquals(Benchmark.all().size(), results.size());
+	}
+	
+	@Test
+	void testEveryBenchmarkRuns() {
+		BenchmarkRunner runner = new BenchmarkRunner(0, 1);
+		List<Benchmark> benchmarks = Benchmark.all();
+		List<BenchmarkResult> results = runner.measureAll(benchmarks);
+		assertEquals(benchmarks.size() * Scenario.values().size(), results.size());
+		assertTrue(results.stream().allMatch(r -> r.getNanosPerOperation() > 0));
+	}
+	
+}
@@ -0,0 +1,19 @@
+package breakout.bench;
+
+/**
+ * The measured part of a benchmark, prepared for one scenario.
+ */
+
+@FunctionalInterface
+public interface Operation {
+	
+	/**
+	 * Performs the benchmarked operation {@code count} times and returns a value computed from the results, 
+	 * so that the work cannot be optimized away.
+	 * 
+	 * @pre | count > 0
+	 */
+	
+	long run(int count);
+	
+}
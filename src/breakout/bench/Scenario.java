@@ -0,0 +1,207 @@
+package breakout.bench;
+
+import java.util.List;
+
+import breakout.BlockState;
+import breakout.BreakoutFacade;
+import breakout.BreakoutState;
+import breakout.GameMap;
+import breakout.PaddleState;
+import breakout.ReplicatingPaddleState;
+import breakout.radioactivity.Alpha;
+import breakout.radioactivity.Ball;
+import breakout.radioactivity.NormalBall;
+import breakout.utils.Point;
+import breakout.utils.Vector;
+
+/**
+ * A game state the benchmarks are run on, with its own numbers of balls, alphas and blocks.
+ * The fixed scenarios start from a level description; {@code generated} makes a scenario of any size, to see how a benchmark scales.
+ *
+ * @immutable
+ *
+ * @invar | getName() != null
+ * @invar | getDescription() != null
+ */
+
+public final class Scenario {
+	
+	/** The level the application starts with: one ball, 40 blocks and no alphas. */
+	public static final Scenario SOME_MAP = new Scenario("SOME_MAP", """
+##########
+###!######
+##########
+SSS!###!#S
+     o
+
+     =
+
+""", 0, 0, 0);
+	
+	/** Six full lines of sturdy blocks and one ball, which only rarely clears a block. */
+	public static final Scenario BRICK_WALL = new Scenario("BRICK_WALL", """
+SSSSSSSSSS
+SSSSSSSSSS
+SSSSSSSSSS
+SSSSSSSSSS
+SSSSSSSSSS
+SSSSSSSSSS
+     o
+     =
+""", 0, 0, 0);
+	
+	/**
+	 * Replicator and sturdy blocks, a replicating paddle and 64 balls that are each linked to two of 64 alphas,
+	 * as after a long series of replications.
+	 */
+	public static final Scenario REPLICATION_STORM = new Scenario("REPLICATION_STORM", """
+SSSSSSSSSS
+SRSRSRSRSR
+SSSSSSSSSS
+
+     o
+
+     =
+
+""", 64, 64, 0);
+	
+	/** The level generated scenarios start from: a ball and a paddle, whose balls and blocks are replaced. */
+	private static final String EMPTY_FIELD = """
+
+
+
+
+     o
+
+     =
+
+""";
+	
+	private static final int STORM_DIAMETER = 700;
+	/** How many times as deep as the field of {@code GameMap} the field of a generated scenario is. */
+	private static final int GENERATED_DEPTH = 10;
+	
+	private final String name;
+	private final String description;
+	private final int stormBalls;
+	private final int stormAlphas;
+	private final int generatedBlocks;
+	
+	private Scenario(String name, String description, int stormBalls, int stormAlphas, int generatedBlocks) {
+		this.name = name;
+		this.description = description;
+		this.stormBalls = stormBalls;
+		this.stormAlphas = stormAlphas;
+		this.generatedBlocks = generatedBlocks;
+	}
+	
+	/**
+	 * Returns the fixed scenarios, which the runner measures by default.
+	 *
+	 * @post | result != null
+	 */
+	
+	public static List<Scenario> values() {
+		return List.of(SOME_MAP, BRICK_WALL, REPLICATION_STORM);
+	}
+	
+	/**
+	 * Returns a scenario with the given number of balls, the given number of alphas and the given number of blocks.
+	 * Every ball is linked to two alphas if there are any. The blocks fill the upper part of the field in a grid,
+	 * and are sturdy blocks with a normal block every fifth block. The field is ten times as deep as the field of {@code GameMap},
+	 * with the paddle at the bottom, so that the balls and alphas reach the paddle, which spawns new ones, only long after an iteration of a benchmark.
+	 * Their numbers thus stay close to the given ones while a benchmark plays the scenario.
+	 *
+	 * @throws IllegalArgumentException if there is not at least one ball and one block, or the number of alphas is negative
+	 * 		| balls <= 0 || alphas < 0 || blocks <= 0
+	 *
+	 * @post | result != null
+	 * @post | result.createState().getBalls().length == balls
+	 * @post | result.createState().getAlphas().length == alphas
+	 * @post | result.createState().getBlocks().length == blocks
+	 */
+	
+	public static Scenario generated(int balls, int alphas, int blocks) {
+		if (balls <= 0 || alphas < 0 || blocks <= 0)
+			throw new IllegalArgumentException("A generated scenario needs at least one ball and one block, and no negative number of alphas.");
+		return new Scenario("GENERATED_" + balls + "_" + alphas + "_" + blocks, EMPTY_FIELD, balls, alphas, blocks);
+	}
+	
+	/** Returns the name of this scenario. */
+	
+	public String getName() {
+		return name;
+	}
+	
+	/** Returns the level description this scenario starts from. */
+	
+	public String getDescription() {
+		return description;
+	}
+	
+	/**
+	 * Returns a new state of this scenario.
+	 *
+	 * @creates | result
+	 *
+	 * @post | result != null
+	 */
+	
+	public BreakoutState createState() {
+		BreakoutState state = GameMap.createStateFromDescription(description);
+		if (stormBalls == 0)
+			return state;
+	
+		Ball[] balls = new Ball[stormBalls];
+		for (int i = 0; i < stormBalls; i++) {
+			Point center = new Point(2000 + (i % 16) * 2900 + (i / 64 % 10) * 200, 14000 + (i / 16 % 4) * 2000);
+			balls[i] = new NormalBall(center, STORM_DIAMETER, new Vector(i % 7 - 3, -2 - i % 5));
+		}
+		Alpha[] alphas = new Alpha[stormAlphas];
+		for (int i = 0; i < stormAlphas; i++) {
+			Point center = new Point(2000 + (i % 16) * 2900 + (i / 64 % 10) * 200, 14000 + (i / 16 % 4) * 2000);
+			alphas[i] = new Alpha(center, STORM_DIAMETER, new Vector(3 - i % 7, 2 + i % 3));
+		}
+		if (stormAlphas > 0) {
+			for (int i = 0; i < stormBalls; i++) {
+				balls[i].linkTo(alphas[i % stormAlphas]);
+				balls[i].linkTo(alphas[(i + 1) % stormAlphas]);
+			}
+		}
+		if (generatedBlocks == 0) {
+			PaddleState paddle = new ReplicatingPaddleState(state.getPaddle().getCenter(), 3);
+			return new BreakoutState(balls, alphas, state.getBlocks(), state.getBottomRight(), paddle);
+		}
+		Point bottomRight = new Point(state.getBottomRight().getX(), state.getBottomRight().getY() * GENERATED_DEPTH);
+		// The paddle keeps its distance to the bottom of the field
+		PaddleState paddle = new BreakoutFacade().createNormalPaddleState(
+				new Point(bottomRight.getX() / 2, bottomRight.getY() - state.getBottomRight().getY() + state.getPaddle().getCenter().getY()));
+		return new BreakoutState(balls, alphas, createBlocks(generatedBlocks), bottomRight, paddle);
+	}
+	
+	/** Returns the given number of blocks in a grid over the upper 12000 units of the field, which is as wide as the field of {@code GameMap}. */
+	
+	private static BlockState[] createBlocks(int count) {
+		BreakoutFacade facade = new BreakoutFacade();
+		int columns = (int) Math.ceil(Math.sqrt(count * 4.0));
+		int rows = (count + columns - 1) / columns;
+		int width = 50000 / columns;
+		int height = 12000 / rows;
+		BlockState[] blocks = new BlockState[count];
+		for (int i = 0; i < count; i++) {
+			int left = (i % columns) * width;
+			int top = (i / columns) * height;
+			// The gaps between the blocks are too narrow for a ball, as in the levels of GameMap
+			Point topLeft = new Point(left + 20, top + 20);
+			Point bottomRight = new Point(left + width - 50, top + height - 50);
+			blocks[i] = i % 5 == 4 ? facade.createNormalBlockState(topLeft, bottomRight) : facade.createSturdyBlockState(topLeft, bottomRight, 3);
+		}
+		return blocks;
+	}
+	
+	@Override
+	public String toString() {
+		return name;
+	}
+	
+}
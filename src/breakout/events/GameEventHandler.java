@@ -0,0 +1,53 @@
+package breakout.events;
+
+import breakout.BlockState;
+import breakout.PaddleState;
+import breakout.utils.Point;
+import breakout.utils.Vector;
+
+/**
+ * Receives the events that are drained from a {@code GameEventRing}, one method per {@code GameEventType}.
+ * Like for a {@code BreakoutStateVisitor}, balls and alphas are never handed out: their properties at the time of the event are passed as immutable values.
+ * Blocks and paddles are immutable and are passed as they are.
+ * Every method does nothing by default, so a handler only overrides what it needs.
+ */
+
+public interface GameEventHandler {
+	
+	/** Receives a block that was hit and removed from the game. */
+	
+	default void blockDestroyed(BlockState block) {}
+	
+	/** Receives the block that replaced a block that was hit, with the health it has left. */
+	
+	default void blockDamaged(BlockState block, int health) {}
+	
+	/** Receives the center at which a ball hit the lower wall. */
+	
+	default void ballLost(Point center) {}
+	
+	/** Receives the center at which an alpha hit the lower wall. */
+	
+	default void alphaLost(Point center) {}
+	
+	/** Receives the center of a ball that was replaced by a supercharged ball. */
+	
+	default void ballSupercharged(Point center) {}
+	
+	/** Receives the replicating paddle that replaced the paddle, with the number of replications it has left. */
+	
+	default void paddleReplicating(PaddleState paddle, int replications) {}
+	
+	/** Receives the center and velocity of a ball that was added to the game. */
+	
+	default void ballSpawned(Point center, Vector velocity) {}
+	
+	/** Receives the center and velocity of an alpha that was added to the game. */
+	
+	default void alphaSpawned(Point center, Vector velocity) {}
+	
+	/** Receives the centers of a ball and an alpha that were linked. */
+	
+	default void linkCreated(Point ballCenter, Point alphaCenter) {}
+	
+}
@@ -0,0 +1,214 @@
+package breakout.events;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import breakout.BlockState;
+import breakout.PaddleState;
+import breakout.utils.Point;
+import breakout.utils.Vector;
+
+/**
+ * A bounded queue of gameplay events for exactly one producer thread and one consumer thread, which never locks.
+ * The producer is the thread that ticks the {@code BreakoutState} this ring is set on with {@code setEventRing}; 
+ * the consumer calls {@code drain} whenever it wants, for instance once per frame, and receives the events in the order they were published.
+ * 
+ * An event is stored as its type, two immutable values and an integer in slots that are reused, so publishing allocates nothing.
+ * A full ring never makes the producer wait: the event is dropped instead and counted by {@code getDroppedCount}.
+ * 
+ * @invar | getCapacity() > 0 && Integer.bitCount(getCapacity()) == 1
+ * @invar | 0 <= getSize() && getSize() <= getCapacity()
+ * @invar | getDroppedCount() >= 0
+ */
+
+public class GameEventRing {
+	
+	private static final GameEventType[] TYPES = GameEventType.values();
+	private static final VarHandle HEAD;
+	private static final VarHandle TAIL;
+	private static final VarHandle DROPPED;
+	
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			HEAD = lookup.findVarHandle(GameEventRing.class, "head", long.class);
+			TAIL = lookup.findVarHandle(GameEventRing.class, "tail", long.class);
+			DROPPED = lookup.findVarHandle(GameEventRing.class, "dropped", long.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
+	/**
+	 * @invar | mask >= 0 && Integer.bitCount(mask + 1) == 1
+	 * @invar | types.length == mask + 1 && subjects.length == mask + 1 && others.length == mask + 1 && values.length == mask + 1
+	 * @invar | 0 <= tail - head && tail - head <= mask + 1
+	 * 
+	 * @representationObject
+	 */
+	
+	private final byte[] types;
+	/** @representationObject */
+	private final Object[] subjects;
+	/** @representationObject */
+	private final Object[] others;
+	/** @representationObject */
+	private final int[] values;
+	private final int mask;
+	/** The number of events the consumer has taken, which only the consumer writes. */
+	private volatile long head;
+	/** The number of events the producer has published, which only the producer writes. */
+	private volatile long tail;
+	private volatile long dropped;
+	
+	/**
+	 * Initializes this ring so that it holds at most the given number of events, rounded up to a power of two.
+	 * 
+	 * @throws IllegalArgumentException if the capacity is not positive or larger than {@code 1 << 30}
+	 * 		| capacity <= 0 || capacity > 1 << 30
+	 * 
+	 * @post | getCapacity() >= capacity && getCapacity() < 2 * capacity
+	 * @post | getSize() == 0
+	 * @post | getDroppedCount() == 0
+	 */
+	
+	public GameEventRing(int capacity) {
+		if (capacity <= 0 || capacity > 1 << 30)
+			throw new IllegalArgumentException("The capacity must be between 1 and 2^30.");
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity)
+			size <<= 1;
+		types = new byte[size];
+		subjects = new Object[size];
+		others = new Object[size];
+		values = new int[size];
+		mask = size - 1;
+	}
+	
+	/** Returns the largest number of events this ring holds. */
+	
+	public int getCapacity() {
+		return mask + 1;
+	}
+	
+	/** Returns the number of events that were published but not drained yet, as seen by the calling thread. */
+	
+	public int getSize() {
+		long h = (long) HEAD.getAcquire(this);
+		long t = (long) TAIL.getAcquire(this);
+		return (int) Math.max(0, Math.min(t - h, mask + 1));
+	}
+	
+	/** Returns the number of events that were dropped because this ring was full. */
+	
+	public long getDroppedCount() {
+		return (long) DROPPED.getAcquire(this);
+	}
+	
+	/**
+	 * Appends the given event, or drops it if this ring is full. Only the producer thread may call this method.
+	 * 
+	 * @pre | type != null
+	 * 
+	 * @mutates | this
+	 * 
+	 * @post | result == (old(getSize()) < getCapacity())
+	 */
+	
+	public boolean publish(GameEventType type, Object subject, Object other, int value) {
+		long t = (long) TAIL.get(this);
+		if (t - (long) HEAD.getAcquire(this) > mask) {
+			DROPPED.setRelease(this, (long) DROPPED.get(this) + 1);
+			return false;
+		}
+		int slot = (int) t & mask;
+		types[slot] = (byte) type.ordinal();
+		subjects[slot] = subject;
+		others[slot] = other;
+		values[slot] = value;
+		// Publishes the slot to the consumer, which reads the tail with acquire semantics
+		TAIL.setRelease(this, t + 1);
+		return true;
+	}
+	
+	/**
+	 * Passes at most {@code max} of the oldest events to the given handler, in the order they were published, and removes them from this ring. 
+	 * Returns the number of events that were passed. Only the consumer thread may call this method.
+	 * If the handler throws an exception, the events before the one it threw for are removed and the others are kept.
+	 * 
+	 * @pre | handler != null
+	 * @pre | max >= 0
+	 * 
+	 * @mutates | this
+	 * 
+	 * @post | 0 <= result && result <= max
+	 */
+	
+	public int drain(GameEventHandler handler, int max) {
+		long h = (long) HEAD.get(this);
+		long available = (long) TAIL.getAcquire(this) - h;
+		int count = (int) Math.min(available, max);
+		int done = 0;
+		try {
+			for (; done < count; done++) {
+				int slot = (int) (h + done) & mask;
+				dispatch(handler, TYPES[types[slot]], subjects[slot], others[slot], values[slot]);
+				// Releases the values, so that the ring does not keep blocks and paddles alive
+				subjects[slot] = null;
+				others[slot] = null;
+			}
+		} finally {
+			// Hands the slots back to the producer
+			HEAD.setRelease(this, h + done);
+		}
+		return done;
+	}
+	
+	/**
+	 * Passes all events that were published before the call to the given handler and removes them from this ring, and returns their number.
+	 * Only the consumer thread may call this method.
+	 * 
+	 * @pre | handler != null
+	 * 
+	 * @mutates | this
+	 * 
+	 * @post | result >= 0
+	 */
+	
+	public int drain(GameEventHandler handler) {
+		return drain(handler, mask + 1);
+	}
+	
+	private static void dispatch(GameEventHandler handler, GameEventType type, Object subject, Object other, int value) {
+		switch (type) {
+		case BLOCK_DESTROYED:
+			handler.blockDestroyed((BlockState) subject);
+			break;
+		case BLOCK_DAMAGED:
+			handler.blockDamaged((BlockState) subject, value);
+			break;
+		case BALL_LOST:
+			handler.ballLost((Point) subject);
+			break;
+		case ALPHA_LOST:
+			handler.alphaLost((Point) subject);
+			break;
+		case BALL_SUPERCHARGED:
+			handler.ballSupercharged((Point) subject);
+			break;
+		case PADDLE_REPLICATING:
+			handler.paddleReplicating((PaddleState) subject, value);
+			break;
+		case BALL_SPAWNED:
+			handler.ballSpawned((Point) subject, (Vector) other);
+			break;
+		case ALPHA_SPAWNED:
+			handler.alphaSpawned((Point) subject, (Vector) other);
+			break;
+		default:
+			// The event is a LINK_CREATED event
+			handler.linkCreated((Point) subject, (Point) other);
+		}
+	}
+	
+}
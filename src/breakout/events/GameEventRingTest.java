@@ -0,0 +1,175 @@
+package breakout.events;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import breakout.BlockState;
+import breakout.BreakoutFacade;
+import breakout.BreakoutState;
+import breakout.PaddleState;
+import breakout.radioactivity.Ball;
+import breakout.utils.Point;
+import breakout.utils.Vector;
+
+class GameEventRingTest {
+	
+	private BreakoutFacade facade = new BreakoutFacade();
+	
+	/** Writes every event it receives as a line of text. */
+	
+	private static class EventLog implements GameEventHandler {
+		
+		private final List<String> events = new ArrayList<>();
+		
+		@Override
+		public void blockDestroyed(BlockState block) {
+			events.add("blockDestroyed " + block.getTopLeft());
+		}
+		
+		@Override
+		public void blockDamaged(BlockState block, int health) {
+			events.add("blockDamaged " + block.getTopLeft() + " " + health);
+		}
+		
+		@Override
+		public void ballLost(Point center) {
+			events.add("ballLost " + center.getX());
+		}
+		
+		@Override
+		public void ballSupercharged(Point center) {
+			events.add("ballSupercharged " + center.getX());
+		}
+		
+		@Override
+		public void paddleReplicating(PaddleState paddle, int replications) {
+			events.add("paddleReplicating " + replications);
+		}
+		
+		@Override
+		public void ballSpawned(Point center, Vector velocity) {
+			events.add("ballSpawned " + center.getX());
+		}
+		
+		@Override
+		public void alphaSpawned(Point center, Vector velocity) {
+			events.add("alphaSpawned " + center.getX());
+		}
+		
+		@Override
+		public void linkCreated(Point ballCenter, Point alphaCenter) {
+			events.add("linkCreated " + ballCenter.getX() + " " + alphaCenter.getX());
+		}
+		
+	}
+	
+	@Test
+	void testPublishAndDrain() {
+		GameEventRing ring = new GameEventRing(5);
+		assertEquals(8, ring.getCapacity());
+		assertThrows(IllegalArgumentException.class, () -> new GameEventRing(0));
+		
+		EventLog log = new EventLog();
+		for (int round = 0; round < 3; round++) {
+			// The second and third rounds wrap around the end of the slots
+			for (int i = 0; i < 10; i++) {
+				assertEquals(i < 8, ring.publish(GameEventType.BALL_LOST, new Point(i, 0), null, 0));
+			}
+			assertEquals(8, ring.getSize());
+			assertEquals(2L * (round + 1), ring.getDroppedCount());
+			assertEquals(3, ring.drain(log, 3));
+			assertEquals(5, ring.drain(log));
+			assertEquals(0, ring.drain(log));
+			assertEquals(0, ring.getSize());
+		}
+		assertEquals(24, log.events.size());
+		for (int i = 0; i < 24; i++)
+			assertEquals("ballLost " + i % 8, log.events.get(i));
+	}
+	
+	@Test
+	void testDrainAfterHandlerFailure() {
+		GameEventRing ring = new GameEventRing(4);
+		for (int i = 0; i < 3; i++)
+			ring.publish(GameEventType.BLOCK_DAMAGED, facade.createNormalBlockState(new Point(i, 0), new Point(i + 1, 1)), null, i);
+		GameEventHandler failing = new GameEventHandler() {
+			@Override
+			public void blockDamaged(BlockState block, int health) {
+				if (health == 1)
+					throw new IllegalStateException();
+			}
+		};
+		assertThrows(IllegalStateException.class, () -> ring.drain(failing));
+		assertEquals(2, ring.getSize());
+		EventLog log = new EventLog();
+		assertEquals(2, ring.drain(log));
+		assertEquals(List.of("blockDamaged (1,0) 1", "blockDamaged (2,0) 2"), log.events);
+	}
+	
+	@Test
+	void testConcurrentProducerAndConsumer() throws InterruptedException {
+		int total = 200000;
+		GameEventRing ring = new GameEventRing(64);
+		BlockState block = facade.createNormalBlockState(new Point(0, 0), new Point(1, 1));
+		Thread producer = new Thread(() -> {
+			for (int i = 0; i < total; i++) {
+				while (!ring.publish(GameEventType.BLOCK_DAMAGED, block, null, i))
+					Thread.yield();
+			}
+		});
+		producer.start();
+		int[] next = {0};
+		GameEventHandler checker = new GameEventHandler() {
+			@Override
+			public void blockDamaged(BlockState damaged, int health) {
+				assertSame(block, damaged);
+				assertEquals(next[0]++, health);
+			}
+		};
+		while (next[0] < total) {
+			if (ring.drain(checker, 17) == 0)
+				Thread.yield();
+		}
+		producer.join();
+		assertEquals(0, ring.getSize());
+	}
+	
+	@Test
+	void testStateEvents() {
+		// The first, fourth and fifth balls hit a block, the second falls on the paddle and the third is lost
+		Ball[] balls = {
+				facade.createNormalBall(new Point(10000, 1500), 700, new Vector(0, -10)),
+				facade.createNormalBall(new Point(25000, 26300), 700, new Vector(0, 10)),
+				facade.createNormalBall(new Point(5000, 29600), 700, new Vector(0, 10)),
+				facade.createNormalBall(new Point(20000, 1500), 700, new Vector(0, -10)),
+				facade.createNormalBall(new Point(30000, 1500), 700, new Vector(0, -10))};
+		BlockState[] blocks = {
+				facade.createSturdyBlockState(new Point(9000, 0), new Point(11000, 1000), 2),
+				facade.createPowerupBallBlockState(new Point(19000, 0), new Point(21000, 1000)),
+				facade.createReplicatorBlockState(new Point(29000, 0), new Point(31000, 1000)),
+				facade.createNormalBlockState(new Point(40000, 0), new Point(41000, 1000))};
+		BreakoutState state = facade.createBreakoutState(balls, blocks, new Point(50000, 30000), 
+				facade.createNormalPaddleState(new Point(25000, 27000)));
+		GameEventRing ring = new GameEventRing(32);
+		state.setEventRing(ring);
+		assertSame(ring, state.getEventRing());
+		assertNull(state.copy().getEventRing());
+		state.tick(0, 20);
+		
+		EventLog log = new EventLog();
+		ring.drain(log);
+		assertEquals(List.of("ballLost 5000", "blockDamaged (9000,0) 1", "blockDestroyed (19000,0)", "ballSupercharged 20000", 
+				"blockDestroyed (29000,0)", "paddleReplicating 3", 
+				// The replicating paddle replicates the ball that hits it
+				"ballSpawned 25000", "ballSpawned 25000", "ballSpawned 25000", "alphaSpawned 25000", "linkCreated 25000 25000"), log.events);
+		
+		state.setEventRing(null);
+		state.tick(0, 20);
+		assertEquals(0, ring.getSize());
+	}
+	
+}
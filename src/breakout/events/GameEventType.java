@@ -0,0 +1,29 @@
+package breakout.events;
+
+/**
+ * The kinds of gameplay events that a {@code BreakoutState} publishes into a {@code GameEventRing} while it ticks.
+ * Each kind is passed to its own method of a {@code GameEventHandler} when the ring is drained.
+ */
+
+public enum GameEventType {
+	
+	/** A block was hit and removed from the game. */
+	BLOCK_DESTROYED,
+	/** A block was hit and replaced by a block with less health. */
+	BLOCK_DAMAGED,
+	/** A ball hit the lower wall and was removed from the game. */
+	BALL_LOST,
+	/** An alpha hit the lower wall and was removed from the game. */
+	ALPHA_LOST,
+	/** A ball hit a powerup block and was replaced by a supercharged ball. */
+	BALL_SUPERCHARGED,
+	/** A ball hit a replicator block and the paddle became a replicating paddle. */
+	PADDLE_REPLICATING,
+	/** A ball was added to the game. */
+	BALL_SPAWNED,
+	/** An alpha was added to the game. */
+	ALPHA_SPAWNED,
+	/** A ball and an alpha were linked because one of them hit the paddle. */
+	LINK_CREATED;
+	
+}
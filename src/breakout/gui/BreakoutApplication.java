@@ -1,10 +1,17 @@
 package breakout.gui;
 
 import java.awt.EventQueue;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import javax.swing.JFrame;
 
 import breakout.BreakoutFacade;
 import breakout.BreakoutState;
+import breakout.replay.InputRecorder;
 
 public class BreakoutApplication {
 
@@ -30,12 +37,20 @@ SSS!###!#S
 
 """;
 	
+	/** 
+	 * The system property that, when set to a file name, makes the application record the player's inputs 
+	 * and write the recording to that file when the application exits. 
+	 */
+	public static final String RECORDING_PROPERTY = "breakout.recording";
+	
 	public static void main(String[] args) {
 		BreakoutFacade facade = new BreakoutFacade();
 		BreakoutState state = facade.createStateFromDescription(initMap2);
 //		BreakoutState state = GameMap.someAlphas();
+		InputRecorder recorder = createRecorder(initMap2);
 		EventQueue.invokeLater(() -> {
 			GameView mazeView = new GameView(state);
+			mazeView.setInputRecorder(recorder);
 			JFrame frame = new JFrame("Breakout");
 			frame.getContentPane().add(mazeView);
 			frame.pack();
@@ -44,5 +59,21 @@ SSS!###!#S
 			frame.setVisible(true);
 		});
 	}
+	
+	private static InputRecorder createRecorder(String description) {
+		String fileName = System.getProperty(RECORDING_PROPERTY);
+		if (fileName == null)
+			return null;
+		InputRecorder recorder = new InputRecorder(description);
+		// The game ends with System.exit, so the recording is written by a shutdown hook
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(Path.of(fileName)))) {
+				recorder.toRecording().write(out);
+			} catch (IOException e) {
+				System.err.println("Could not write the input recording to " + fileName + ": " + e.getMessage());
+			}
+		}));
+		return recorder;
+	}
 
 }
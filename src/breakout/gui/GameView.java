@@ -14,11 +14,10 @@ import javax.swing.Timer;
 import breakout.BlockState;
 import breakout.BreakoutFacade;
 import breakout.BreakoutState;
+import breakout.BreakoutStateVisitor;
 import breakout.PaddleState;
-import breakout.radioactivity.Alpha;
-import breakout.radioactivity.Ball;
+import breakout.replay.InputRecorder;
 import breakout.utils.Point;
-import breakout.utils.Rect;
 import breakout.utils.Vector;
 
 @SuppressWarnings("serial")
@@ -33,6 +32,8 @@ public class GameView extends JPanel {
 	long prevTimestamp = 0;
 	
 	private BreakoutFacade facade;
+	
+	private InputRecorder inputRecorder;
 
 	private void gameChanged() {
 		repaint(10);
@@ -90,6 +91,16 @@ public class GameView extends JPanel {
 		startMovingBalls();
 	}
 
+	/**
+	 * Records the paddle direction and elapsed time of every following tick of this view's game with the given recorder,
+	 * or stops recording if {@code inputRecorder} is {@code null}.
+	 * 
+	 * @param inputRecorder recorder for the inputs of the game.
+	 */
+	public void setInputRecorder(InputRecorder inputRecorder) {
+		this.inputRecorder = inputRecorder;
+	}
+
 	private void moveBalls(long timestamp) {
 		if (prevTimestamp != 0) {
 			int elapsedTime = (int) (timestamp - prevTimestamp);
@@ -105,6 +116,9 @@ public class GameView extends JPanel {
 				facade.movePaddleRight(breakoutState, elapsedTime);
 				curPaddleDir = 1;
 			}
+			if (inputRecorder != null) {
+				inputRecorder.record(curPaddleDir, elapsedTime);
+			}
 			facade.tick(breakoutState, curPaddleDir, elapsedTime);
 			if (facade.isDead(breakoutState)) {
 				JOptionPane.showMessageDialog(this, "Game over :-(");
@@ -146,44 +160,51 @@ public class GameView extends JPanel {
 		g.setColor(Color.black);
 		g.drawRect(0, 0, botRight.getX(), botRight.getY());
 
-		paintBlocks(g);
-		paintBalls(g);
-		paintAlphas(g); //squished circles in principle.
-		paintLinks(g);
-		paintPaddle(g);
+		// The visitor sees the live state, so painting does not copy any balls or alphas
+		facade.visit(breakoutState, new BreakoutStateVisitor() {
+			@Override
+			public void visitBlock(BlockState block) {
+				g.setColor(facade.getColor(block));
+				paintBlock(g, block.getTopLeft(), block.getBottomRight());
+			}
+			
+			@Override
+			public void visitBall(Point center, int diameter, Vector velocity, Color color, int eCharge) {
+				paintBall(g, color, center, diameter);
+			}
+			
+			@Override
+			public void visitAlpha(Point center, int diameter, Vector velocity, Color color) {
+				paintAlpha(g, color, center, diameter); //squished circles in principle.
+			}
+			
+			@Override
+			public void visitLink(Point ballCenter, Point alphaCenter) {
+				paintLink(g, ballCenter, alphaCenter);
+			}
+			
+			@Override
+			public void visitPaddle(PaddleState paddle) {
+				g.setColor(facade.getColor(paddle));
+				paintPaddle(g, paddle.getTopLeft(), paddle.getBottomRight());
+			}
+		});
 		
 		// domi: this fixes a visual latency bug on my system...
 		Toolkit.getDefaultToolkit().sync();
 	}
 
-	private void paintPaddle(Graphics g) {
-		// paddle
-		PaddleState paddle = facade.getPaddle(breakoutState);
-		Rect loc = facade.getLocation(paddle);
-		Color c = facade.getColor(paddle);
-		Point tl = loc.getTopLeft();
-		Point br = loc.getBottomRight();
-		g.setColor(c);
-		paintPaddle(g, tl, br);
-	}
-
 	private void paintPaddle(Graphics g, Point tlg, Point brg) {
 		Point tl = toGUICoord(tlg);
 		Point br = toGUICoord(brg);
 		g.fillRect(tl.getX(), tl.getY(), br.getX() - tl.getX(), br.getY() - tl.getY());
 	}
 
-	private void paintBalls(Graphics g) {
-		// ball
-		for (Ball ball : facade.getBalls(breakoutState)) {
-			Point center = facade.getCenter(ball);
-			int diam = facade.getDiameter(ball);
-			int radius = diam/2;
-			Point tl = center.plus(new Vector(-radius,-radius));
-			Point br = center.plus(new Vector(radius,radius));
-			Color color = facade.getColor(ball);
-			paintBall(g, color, tl, br);
-		}
+	private void paintBall(Graphics g, Color color, Point center, int diam) {
+		int radius = diam/2;
+		Point tl = center.plus(new Vector(-radius,-radius));
+		Point br = center.plus(new Vector(radius,radius));
+		paintBall(g, color, tl, br);
 	}
 	
 	private void paintBall(Graphics g, Color color, Point tlg, Point brg) {
@@ -193,16 +214,10 @@ public class GameView extends JPanel {
 		g.fillOval(tl.getX(), tl.getY(), br.getX() - tl.getX(), br.getY() - tl.getY());
 	}
 	
-	private void paintAlphas(Graphics g) {
-		for (Alpha alpha : facade.getAlphas(breakoutState)) {
-			Point center = facade.getCenter(alpha);
-			int diam = facade.getDiameter(alpha);
-			int radius = diam/2;
-			Point tl = center.plus(new Vector(-radius,-radius / 2)); //alphas are squished ovals for now
-			Color color = facade.getColor(alpha);
-			paintAlpha(g, color, tl, diam, radius);
-			
-		}
+	private void paintAlpha(Graphics g, Color color, Point center, int diam) {
+		int radius = diam/2;
+		Point tl = center.plus(new Vector(-radius,-radius / 2)); //alphas are squished ovals for now
+		paintAlpha(g, color, tl, diam, radius);
 	}
 	
 	private void paintAlpha(Graphics g, Color color, Point tlg , int width, int height) {
@@ -211,34 +226,17 @@ public class GameView extends JPanel {
 		g.fillOval(tl.getX(), tl.getY(), width/50 , height/50);
 	}
 	
-	private void paintLinks(Graphics g) {
-		for (Ball ball : facade.getBalls(breakoutState) ) { //deep copy
-			for (Alpha alpha : facade.getAlphas(ball)) { //shallow cop
-				Point start = toGUICoord(facade.getCenter(ball));
-				Point end = toGUICoord(facade.getCenter(alpha));
-				g.setColor(Color.red);
-				g.drawLine(start.getX(), start.getY(), end.getX(), end.getY());
-			}
-		}
+	private void paintLink(Graphics g, Point ballCenter, Point alphaCenter) {
+		Point start = toGUICoord(ballCenter);
+		Point end = toGUICoord(alphaCenter);
+		g.setColor(Color.red);
+		g.drawLine(start.getX(), start.getY(), end.getX(), end.getY());
 	}
 
-	
-
 	private void paintBlock(Graphics g, Point tlg, Point brg) {
 		Point tl = toGUICoord(tlg);
 		Point br = toGUICoord(brg);
 		g.fillRect(tl.getX(), tl.getY(), br.getX() - tl.getX(), br.getY() - tl.getY());
 	}
 
-	private void paintBlocks(Graphics g) {
-		// blocks
-		for (BlockState block : facade.getBlocks(breakoutState)) {
-			g.setColor(facade.getColor(block));
-			Rect loc = facade.getLocation(block);
-			Point tl = loc.getTopLeft();
-			Point br = loc.getBottomRight();
-			paintBlock(g, tl, br);
-		}
-	}
-
 }
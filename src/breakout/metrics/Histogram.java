@@ -0,0 +1,148 @@
+package breakout.metrics;
+
+/**
+ * Counts non-negative values in buckets whose bounds are powers of two, so that recording a value takes constant time and no memory.
+ * Bucket {@code 0} holds the value {@code 0}, and bucket {@code i > 0} holds the values from {@code 2^(i-1)} up to and including {@code 2^i - 1}.
+ * Negative values are recorded as {@code 0}.
+ * 
+ * @invar | getCount() >= 0
+ * @invar | getSum() >= 0
+ * @invar | getMax() >= 0
+ * @invar | getCount() > 0 || getMax() == 0
+ */
+
+public class Histogram {
+	
+	/** The number of buckets, which covers every non-negative {@code long}. */
+	
+	public static final int BUCKETS = 64;
+	
+	/**
+	 * @invar | buckets != null && buckets.length == BUCKETS
+	 * 
+	 * @representationObject
+	 */
+	
+	private final long[] buckets = new long[BUCKETS];
+	private long count;
+	private long sum;
+	private long max;
+	
+	/**
+	 * Records the given value.
+	 * 
+	 * @mutates | this
+	 * 
+	 * @post | getCount() == old(getCount()) + 1
+	 * @post | getMax() == Math.max(old(getMax()), Math.max(0, value))
+	 */
+	
+	public void record(long value) {
+		if (value < 0)
+			value = 0;
+		buckets[bucketOf(value)]++;
+		count++;
+		sum += value;
+		if (value > max)
+			max = value;
+	}
+	
+	/** Returns the number of recorded values. */
+	
+	public long getCount() {
+		return count;
+	}
+	
+	/** Returns the sum of the recorded values. */
+	
+	public long getSum() {
+		return sum;
+	}
+	
+	/** Returns the largest recorded value, or {@code 0} if no value was recorded. */
+	
+	public long getMax() {
+		return max;
+	}
+	
+	/** Returns the mean of the recorded values, or {@code 0} if no value was recorded. */
+	
+	public double getMean() {
+		return count == 0 ? 0 : (double) sum / count;
+	}
+	
+	/**
+	 * Returns the number of recorded values in the given bucket.
+	 * 
+	 * @pre | 0 <= bucket && bucket < BUCKETS
+	 */
+	
+	public long getBucketCount(int bucket) {
+		return buckets[bucket];
+	}
+	
+	/**
+	 * Returns the largest value that falls in the given bucket.
+	 * 
+	 * @pre | 0 <= bucket && bucket < BUCKETS
+	 * 
+	 * @post | bucketOf(result) == bucket
+	 */
+	
+	public static long getUpperBound(int bucket) {
+		return bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+	}
+	
+	/**
+	 * Returns the bucket the given value falls in.
+	 * 
+	 * @pre | value >= 0
+	 */
+	
+	public static int bucketOf(long value) {
+		return 64 - Long.numberOfLeadingZeros(value);
+	}
+	
+	/**
+	 * Returns an upper estimate of the given quantile of the recorded values: the upper bound of the bucket that holds it, but at most the largest recorded value.
+	 * 
+	 * @pre | 0 <= quantile && quantile <= 1
+	 * 
+	 * @post | getCount() > 0 || result == 0
+	 * @post | result <= getMax()
+	 */
+	
+	public long getQuantile(double quantile) {
+		if (count == 0)
+			return 0;
+		long rank = Math.max(1, (long) Math.ceil(quantile * count));
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			seen += buckets[bucket];
+			if (seen >= rank)
+				return Math.min(getUpperBound(bucket), max);
+		}
+		return max;
+	}
+	
+	/**
+	 * Adds the values recorded by the given histogram to this one.
+	 * 
+	 * @pre | other != null && other != this
+	 * 
+	 * @mutates | this
+	 * 
+	 * @post | getCount() == old(getCount()) + other.getCount()
+	 * @post | getMax() == Math.max(old(getMax()), other.getMax())
+	 */
+	
+	public void add(Histogram other) {
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			buckets[bucket] += other.buckets[bucket];
+		}
+		count += other.count;
+		sum += other.sum;
+		max = Math.max(max, other.max);
+	}
+	
+}
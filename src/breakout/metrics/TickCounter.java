@@ -0,0 +1,38 @@
+package breakout.metrics;
+
+/**
+ * The events that {@code BreakoutState.tick} counts.
+ */
+
+public enum TickCounter {
+	
+	/** A ball bounced off the left, top or right wall. */
+	BALL_WALL_HITS,
+	/** An alpha bounced off the left, top or right wall. */
+	ALPHA_WALL_HITS,
+	/** A ball hit a block. */
+	BLOCK_HITS,
+	/** A ball bounced off the paddle. */
+	BALL_PADDLE_HITS,
+	/** An alpha bounced off the paddle. */
+	ALPHA_PADDLE_HITS,
+	/** A block disappeared after it was hit. */
+	BLOCKS_DESTROYED,
+	/** A ball was added to the game, by a replicating paddle or by an alpha that hit the paddle. */
+	BALLS_SPAWNED,
+	/** An alpha was added to the game by a ball that hit the paddle. */
+	ALPHAS_SPAWNED,
+	/** A ball was linked to an alpha. */
+	LINKS_CREATED,
+	/** A ball reached the bottom wall and left the game. */
+	BALLS_LOST,
+	/** An alpha reached the bottom wall and left the game. */
+	ALPHAS_LOST;
+	
+	/** Returns the name of this counter as it appears in scraped metrics. */
+	
+	public String getMetricName() {
+		return name().toLowerCase();
+	}
+	
+}
@@ -0,0 +1,38 @@
+package breakout.metrics;
+
+/**
+ * Receives the timings and counts of the ticks of a {@code BreakoutState} that it is set on with {@code setTickMetrics}.
+ * The calls of one tick are {@code tickStarted}, then {@code phaseEnded} once for every phase in the order of {@code TickPhase}
+ * with {@code counted} calls in between, and finally {@code tickEnded}.
+ * All calls are made by the thread that ticks the state, while it ticks it.
+ */
+
+public interface TickMetrics {
+	
+	/** Called before the first phase of a tick. */
+	
+	void tickStarted();
+	
+	/**
+	 * Called after the given phase of a tick, which took the given number of nanoseconds.
+	 * 
+	 * @pre | phase != null
+	 * @pre | nanos >= 0
+	 */
+	
+	void phaseEnded(TickPhase phase, long nanos);
+	
+	/**
+	 * Called when the given event happened the given number of times during the current tick.
+	 * 
+	 * @pre | counter != null
+	 * @pre | amount > 0
+	 */
+	
+	void counted(TickCounter counter, int amount);
+	
+	/** Called after the last phase of a tick. */
+	
+	void tickEnded();
+	
+}
@@ -0,0 +1,32 @@
+package breakout.metrics;
+
+/**
+ * The phases of {@code BreakoutState.tick}, in the order in which they run.
+ */
+
+public enum TickPhase {
+	
+	/** Counting down the time that supercharged balls have left. */
+	SUPERCHARGED_TIME,
+	/** Moving the balls, which in swept collision mode includes handling the blocks they hit. */
+	MOVE_BALLS,
+	/** Moving the alphas. */
+	MOVE_ALPHAS,
+	/** Bouncing balls and alphas off the left, top and right walls. */
+	WALLS,
+	/** Removing the balls and alphas that reached the bottom wall. */
+	LOWER_WALL,
+	/** Handling the blocks the balls hit, which takes no time in swept collision mode. */
+	BLOCKS,
+	/** Bouncing balls off the paddle. */
+	PADDLE_BALLS,
+	/** Bouncing alphas off the paddle. */
+	PADDLE_ALPHAS;
+	
+	/** Returns the name of this phase as it appears in scraped metrics. */
+	
+	public String getMetricName() {
+		return name().toLowerCase();
+	}
+	
+}
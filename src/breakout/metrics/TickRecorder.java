@@ -0,0 +1,263 @@
+package breakout.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Collects the timings and counts of ticks into histograms, which can be read through the getters 
+ * or scraped as text in the exposition format of Prometheus with {@code writeTo}.
+ * For every tick, it records how long each phase and the whole tick took, how many times each counted event happened,
+ * and, if the virtual machine can measure it, how many bytes the ticking thread allocated.
+ * 
+ * A recorder is not thread-safe. To measure several states that are ticked on different threads, such as the games of a {@code SimulationFarm},
+ * give every state its own recorder and combine them afterwards with {@code add}.
+ * 
+ * @invar | getTicks() >= 0
+ * @invar | getTickNanos().getCount() == getTicks()
+ */
+
+public class TickRecorder implements TickMetrics {
+	
+	private static final TickPhase[] PHASES = TickPhase.values();
+	private static final TickCounter[] COUNTERS = TickCounter.values();
+	
+	/**
+	 * @invar | phaseNanos.length == PHASES.length
+	 * @invar | counts.length == COUNTERS.length && tickCounts.length == COUNTERS.length && totals.length == COUNTERS.length
+	 * 
+	 * @representationObject
+	 */
+	
+	private final Histogram[] phaseNanos = new Histogram[PHASES.length];
+	/** @representationObject */
+	private final Histogram[] counts = new Histogram[COUNTERS.length];
+	/** @representationObject */
+	private final long[] totals = new long[COUNTERS.length];
+	/** The counts of the current tick. @representationObject */
+	private final int[] tickCounts = new int[COUNTERS.length];
+	/** @representationObject */
+	private final Histogram tickNanos = new Histogram();
+	/** @representationObject */
+	private final Histogram allocatedBytes = new Histogram();
+	/** The bean that measures the allocations of the current thread, or {@code null} if the virtual machine can not do so. */
+	private final com.sun.management.ThreadMXBean allocations;
+	private long tickStart;
+	private long allocationStart;
+	
+	/**
+	 * Initializes this recorder without any recorded ticks.
+	 * 
+	 * @post | getTicks() == 0
+	 */
+	
+	public TickRecorder() {
+		for (int i = 0; i < phaseNanos.length; i++) {
+			phaseNanos[i] = new Histogram();
+		}
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = new Histogram();
+		}
+		allocations = allocationBean();
+	}
+	
+	private static com.sun.management.ThreadMXBean allocationBean() {
+		try {
+			ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			if (bean instanceof com.sun.management.ThreadMXBean allocationBean && allocationBean.isThreadAllocatedMemorySupported()
+					&& allocationBean.isThreadAllocatedMemoryEnabled())
+				return allocationBean;
+		} catch (LinkageError | UnsupportedOperationException e) {
+			// The jdk.management module is not available
+		}
+		return null;
+	}
+	
+	@Override
+	public void tickStarted() {
+		Arrays.fill(tickCounts, 0);
+		if (allocations != null)
+			allocationStart = allocations.getCurrentThreadAllocatedBytes();
+		tickStart = System.nanoTime();
+	}
+	
+	@Override
+	public void phaseEnded(TickPhase phase, long nanos) {
+		phaseNanos[phase.ordinal()].record(nanos);
+	}
+	
+	@Override
+	public void counted(TickCounter counter, int amount) {
+		tickCounts[counter.ordinal()] += amount;
+	}
+	
+	@Override
+	public void tickEnded() {
+		tickNanos.record(System.nanoTime() - tickStart);
+		if (allocations != null)
+			allocatedBytes.record(allocations.getCurrentThreadAllocatedBytes() - allocationStart);
+		for (int i = 0; i < tickCounts.length; i++) {
+			counts[i].record(tickCounts[i]);
+			totals[i] += tickCounts[i];
+		}
+	}
+	
+	/** Returns the number of recorded ticks. */
+	
+	public long getTicks() {
+		return tickNanos.getCount();
+	}
+	
+	/**
+	 * Returns the histogram of the nanoseconds the given phase took per tick.
+	 * 
+	 * @pre | phase != null
+	 * 
+	 * @post | result != null
+	 */
+	
+	public Histogram getPhaseNanos(TickPhase phase) {
+		return phaseNanos[phase.ordinal()];
+	}
+	
+	/**
+	 * Returns the histogram of the nanoseconds whole ticks took.
+	 * 
+	 * @post | result != null
+	 */
+	
+	public Histogram getTickNanos() {
+		return tickNanos;
+	}
+	
+	/**
+	 * Returns the histogram of the number of times the given event happened per tick.
+	 * 
+	 * @pre | counter != null
+	 * 
+	 * @post | result != null
+	 * @post | result.getSum() == getTotal(counter)
+	 */
+	
+	public Histogram getCounts(TickCounter counter) {
+		return counts[counter.ordinal()];
+	}
+	
+	/**
+	 * Returns the number of times the given event happened in all recorded ticks.
+	 * 
+	 * @pre | counter != null
+	 */
+	
+	public long getTotal(TickCounter counter) {
+		return totals[counter.ordinal()];
+	}
+	
+	/**
+	 * Returns the histogram of the bytes the ticking thread allocated per tick. 
+	 * It stays empty if the virtual machine can not measure allocations, see {@code isMeasuringAllocations}.
+	 * These are estimates, as the virtual machine counts allocations per buffer rather than per object.
+	 * 
+	 * @post | result != null
+	 */
+	
+	public Histogram getAllocatedBytes() {
+		return allocatedBytes;
+	}
+	
+	/** Returns whether this recorder measures the bytes allocated per tick. */
+	
+	public boolean isMeasuringAllocations() {
+		return allocations != null;
+	}
+	
+	/**
+	 * Adds the ticks recorded by the given recorder to this one.
+	 * 
+	 * @pre | other != null && other != this
+	 * 
+	 * @mutates | this
+	 * 
+	 * @post | getTicks() == old(getTicks()) + other.getTicks()
+	 */
+	
+	public void add(TickRecorder other) {
+		for (int i = 0; i < phaseNanos.length; i++) {
+			phaseNanos[i].add(other.phaseNanos[i]);
+		}
+		for (int i = 0; i < counts.length; i++) {
+			counts[i].add(other.counts[i]);
+			totals[i] += other.totals[i];
+		}
+		tickNanos.add(other.tickNanos);
+		allocatedBytes.add(other.allocatedBytes);
+	}
+	
+	/**
+	 * Writes every histogram of this recorder to the given output in the text exposition format of Prometheus, 
+	 * with cumulative buckets up to the highest bucket that holds a value.
+	 * 
+	 * @pre | out != null
+	 * 
+	 * @throws UncheckedIOException if writing to the output fails
+	 */
+	
+	public void writeTo(Appendable out) {
+		try {
+			writeHeader(out, "breakout_tick_nanos", "The time a whole tick took, in nanoseconds.");
+			writeHistogram(out, "breakout_tick_nanos", "", tickNanos);
+			writeHeader(out, "breakout_tick_phase_nanos", "The time a phase of a tick took, in nanoseconds.");
+			for (TickPhase phase: PHASES) {
+				writeHistogram(out, "breakout_tick_phase_nanos", "phase=\"" + phase.getMetricName() + "\",", getPhaseNanos(phase));
+			}
+			writeHeader(out, "breakout_tick_events", "The number of times an event happened during a tick.");
+			for (TickCounter counter: COUNTERS) {
+				writeHistogram(out, "breakout_tick_events", "event=\"" + counter.getMetricName() + "\",", getCounts(counter));
+			}
+			if (allocations != null) {
+				writeHeader(out, "breakout_tick_allocated_bytes", "The estimated number of bytes the ticking thread allocated during a tick.");
+				writeHistogram(out, "breakout_tick_allocated_bytes", "", allocatedBytes);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Returns every histogram of this recorder in the text exposition format of Prometheus, as written by {@code writeTo}.
+	 * 
+	 * @post | result != null
+	 */
+	
+	public String scrape() {
+		StringBuilder builder = new StringBuilder();
+		writeTo(builder);
+		return builder.toString();
+	}
+	
+	private static void writeHeader(Appendable out, String name, String help) throws IOException {
+		out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+		out.append("# TYPE ").append(name).append(" histogram\n");
+	}
+	
+	private static void writeHistogram(Appendable out, String name, String labels, Histogram histogram) throws IOException {
+		int last = 0;
+		for (int bucket = 0; bucket < Histogram.BUCKETS; bucket++) {
+			if (histogram.getBucketCount(bucket) > 0)
+				last = bucket;
+		}
+		long cumulative = 0;
+		for (int bucket = 0; bucket <= last && bucket < Histogram.BUCKETS - 1; bucket++) {
+			cumulative += histogram.getBucketCount(bucket);
+			out.append(name).append("_bucket{").append(labels).append("le=\"").append(String.valueOf(Histogram.getUpperBound(bucket)))
+					.append("\"} ").append(String.valueOf(cumulative)).append('\n');
+		}
+		out.append(name).append("_bucket{").append(labels).append("le=\"+Inf\"} ").append(String.valueOf(histogram.getCount())).append('\n');
+		String plainLabels = labels.isEmpty() ? "" : "{" + labels.substring(0, labels.length() - 1) + "}";
+		out.append(name).append("_sum").append(plainLabels).append(' ').append(String.valueOf(histogram.getSum())).append('\n');
+		out.append(name).append("_count").append(plainLabels).append(' ').append(String.valueOf(histogram.getCount())).append('\n');
+	}
+	
+}
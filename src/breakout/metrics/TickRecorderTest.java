@@ -0,0 +1,76 @@
+package breakout.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import breakout.BlockState;
+import breakout.BreakoutFacade;
+import breakout.BreakoutState;
+import breakout.radioactivity.Ball;
+import breakout.utils.Point;
+import breakout.utils.Vector;
+
+class TickRecorderTest {
+	
+	private BreakoutFacade facade = new BreakoutFacade();
+	
+	@Test
+	void testHistogram() {
+		Histogram histogram = new Histogram();
+		assertEquals(0, histogram.getQuantile(0.5));
+		for (long value: new long[] {0, 1, 2, 3, 100, -5})
+			histogram.record(value);
+		assertEquals(6, histogram.getCount());
+		assertEquals(106, histogram.getSum());
+		assertEquals(100, histogram.getMax());
+		assertEquals(2, histogram.getBucketCount(0));
+		assertEquals(2, histogram.getBucketCount(Histogram.bucketOf(3)));
+		assertEquals(3, histogram.getQuantile(0.6));
+		assertEquals(100, histogram.getQuantile(1));
+		assertEquals(Long.MAX_VALUE, Histogram.getUpperBound(Histogram.bucketOf(Long.MAX_VALUE)));
+	}
+	
+	@Test
+	void testRecordTicks() {
+		// The ball falls on the paddle, which turns it around and creates an alpha linked to it
+		Ball ball = facade.createNormalBall(new Point(25000, 26000), 700, new Vector(0, 10));
+		BlockState block = facade.createNormalBlockState(new Point(0, 0), new Point(5000, 1000));
+		BreakoutState state = facade.createBreakoutState(new Ball[] {ball}, new BlockState[] {block}, new Point(50000, 30000), 
+				facade.createNormalPaddleState(new Point(25000, 27000)));
+		state.tick(0, 20);
+		
+		TickRecorder recorder = new TickRecorder();
+		state.setTickMetrics(recorder);
+		assertSame(recorder, state.getTickMetrics());
+		for (int i = 0; i < 10; i++)
+			state.tick(0, 20);
+		
+		assertEquals(10, recorder.getTicks());
+		for (TickPhase phase: TickPhase.values())
+			assertEquals(10, recorder.getPhaseNanos(phase).getCount());
+		assertEquals(1, recorder.getTotal(TickCounter.BALL_PADDLE_HITS));
+		assertEquals(1, recorder.getTotal(TickCounter.ALPHAS_SPAWNED));
+		assertEquals(1, recorder.getTotal(TickCounter.LINKS_CREATED));
+		assertEquals(0, recorder.getTotal(TickCounter.BLOCK_HITS));
+		assertEquals(10, recorder.getCounts(TickCounter.ALPHAS_SPAWNED).getCount());
+		assertEquals(recorder.isMeasuringAllocations() ? 10 : 0, recorder.getAllocatedBytes().getCount());
+		
+		String scraped = recorder.scrape();
+		assertTrue(scraped.contains("# TYPE breakout_tick_phase_nanos histogram"));
+		assertTrue(scraped.contains("breakout_tick_phase_nanos_count{phase=\"move_balls\"} 10"));
+		assertTrue(scraped.contains("breakout_tick_events_bucket{event=\"alphas_spawned\",le=\"1\"} 10"));
+		assertTrue(scraped.contains("breakout_tick_events_sum{event=\"alphas_spawned\"} 1"));
+		
+		TickRecorder total = new TickRecorder();
+		total.add(recorder);
+		total.add(recorder);
+		assertEquals(20, total.getTicks());
+		assertEquals(2, total.getTotal(TickCounter.ALPHAS_SPAWNED));
+		
+		state.setTickMetrics(null);
+		state.tick(0, 20);
+		assertEquals(10, recorder.getTicks());
+	}
+	
+}
@@ -2,6 +2,7 @@ package breakout.radioactivity;
 
 import java.awt.Color;
 import java.util.*;
+import java.util.function.Consumer;
 
 import breakout.utils.Point;
 import breakout.utils.Vector;
@@ -22,18 +23,12 @@ import logicalcollections.LogicalSet;
  * 		| getBalls().stream().allMatch(b -> b!=null && b.getAlphas().contains(this))
  */
 
-public class Alpha {
+public class Alpha extends MovingBody {
 	
 	/**
-	 * @invar | center != null
-	 * @invar | diameter >= 0
-	 * @invar | velocity != null
 	 * @invar | color == Color.LIGHT_GRAY
 	 */
 	
-	private Point center;
-	private int diameter;
-	private Vector velocity;
 	private final Color color;
 	
 	/**
@@ -43,7 +38,7 @@ public class Alpha {
      * @representationObject
      */
 	
-	private Set<Ball> linkedBalls = new HashSet<Ball>();
+	private LinkSet<Ball> linkedBalls = new LinkSet<Ball>();
 	
 	/**
 	 * Constructs a new alpha particle with the given center, diameter and velocity
@@ -62,9 +57,7 @@ public class Alpha {
 	 */
 	
 	public Alpha(Point center, int diameter, Vector initVelocity) {
-		this.center = center;
-		this.diameter = Math.abs(diameter);	
-		this.velocity = initVelocity;
+		super(center, diameter, initVelocity);
 		this.color = Color.LIGHT_GRAY;
 	}
 	
@@ -100,6 +93,50 @@ public class Alpha {
 		linkedBalls.remove(ball);
 	}
 	
+	/**
+	 * Unlinks this alpha from every ball it is linked to
+	 * 
+	 * @mutates_properties | this.getBalls(), (...getBalls()).getAlphas(), (...getBalls()).getEcharge()
+	 * 
+	 * @post | getBalls().isEmpty()
+	 * @post | old(getBalls()).stream().allMatch(b -> !b.getAlphas().contains(this) && b.getEcharge() == b.calculateAndSetEcharge())
+	 */
+	
+	public void unLinkAll() {
+		int ballCount = linkedBalls.size();
+		for (Ball ball: linkedBalls) {
+			ball.linkedAlphaUnlinkedAll(this, ballCount);
+		}
+		linkedBalls.clear();
+	}
+	
+	/**
+	 * Adds every ball linked to this alpha to the given collection, without copying the set of linked balls.
+	 * 
+	 * @pre | balls != null
+	 * 
+	 * @mutates | balls
+	 */
+	
+	void addBallsTo(Collection<Ball> balls) {
+		balls.addAll(linkedBalls);
+	}
+	
+	/**
+	 * Tells every ball linked to this alpha, except {@code changedBall}, that the number of balls this alpha is linked to changed from {@code oldBallCount},
+	 * after {@code changedBall} was linked to or unlinked from this alpha.
+	 * 
+	 * @pre | changedBall != null
+	 */
+	
+	void ballCountChanged(Ball changedBall, int oldBallCount) {
+		int ballCount = linkedBalls.size();
+		for (Ball ball: linkedBalls) {
+			if (ball != changedBall)
+				ball.linkedAlphaBallCountChanged(oldBallCount, ballCount);
+		}
+	}
+	
 	/**
 	 * Returns a shallow copy of the set of the balls linked to this alpha
 	 * 
@@ -130,58 +167,49 @@ public class Alpha {
 		return getBallsInternal();
 	}
 	
-	/** Returns this alpha's center */
-	
-	public Point getCenter() {
-		return center;
-	}
-	
-	/** Returns this alpha's center */
-	
-	public int getDiameter() {
-		return diameter;
-	}
-	
-	/** Returns this alpha's velocity */
+	/**
+	 * Performs the given action for every ball linked to this alpha, without copying the set of linked balls.
+	 * The action must not link or unlink this alpha.
+	 * 
+	 * @pre | action != null
+	 * 
+	 * @inspects | this
+	 */
 	
-	public Vector getVelocity() {
-		return velocity;
+	public void forEachLinkedBall(Consumer<Ball> action) {
+		for (int i = 0; i < linkedBalls.size(); i++) {
+			action.accept(linkedBalls.get(i));
+		}
 	}
 	
-	/** Returns this alpha's color
-	 * 
+	/**
+	 * Returns whether this alpha is linked to the given ball, without copying the set of linked balls.
 	 * 
-	 * @immutable This object is associated with the same color throughout its lifetime
+	 * @post | result == getBalls().contains(ball)
 	 */
 	
-	public Color getColor() {
-		return color;
+	public boolean isLinkedTo(Ball ball) {
+		return linkedBalls.contains(ball);
 	}
 	
 	/**
-	 * Changes the center and diameter of this ball to the given center and diameter
+	 * Returns the number of balls linked to this alpha
 	 * 
-	 * @pre | center != null
-	 * 
-	 * @post | getCenter() == center
-	 * @post | getDiameter() == Math.abs(diameter)
+	 * @post | result == getBalls().size()
 	 */
 	
-	public void setLocation(Point center, int diameter) {
-		this.center = center;
-		this.diameter = diameter;
+	public int getBallCount() {
+		return linkedBalls.size();
 	}
 	
-	/**
-	 * Changes the velocity of this alpha to the given velocity
+	/** Returns this alpha's color
 	 * 
-	 * @pre velocity != null
 	 * 
-	 * @post getVelocity() == velocity
+	 * @immutable This object is associated with the same color throughout its lifetime
 	 */
 	
-	public void setVelocity(Vector velocity) {
-		this.velocity = velocity;
+	public Color getColor() {
+		return color;
 	}
 	
 	/**
@@ -207,10 +235,13 @@ public class Alpha {
 	 */
 	
 	public Alpha clone() {
-		Alpha retAlpha = new Alpha(center, diameter, velocity);
-		for (Ball ball: getBalls()) {
-			ball.linkTo(retAlpha);
+		Alpha retAlpha = new Alpha(getCenter(), getDiameter(), getVelocity());
+		// Linking the balls one at a time would update the eCharge of every earlier ball for each later one
+		LinkBatch batch = new LinkBatch();
+		for (Ball ball: linkedBalls) {
+			batch.link(ball, retAlpha);
 		}
+		batch.commit();
 		return retAlpha;
 	}
 	
@@ -231,16 +262,15 @@ public class Alpha {
 		if (obj == null)
 			return false;
 		return obj.getClass() == getClass() && 
-				((Alpha)obj).getCenter().equals(center) &&
-				((Alpha)obj).getDiameter() == diameter &&
-				((Alpha)obj).getVelocity().equals(velocity) && 
+				((Alpha)obj).getCenter().equals(getCenter()) &&
+				((Alpha)obj).getDiameter() == getDiameter() &&
+				((Alpha)obj).getVelocity().equals(getVelocity()) && 
 				((Alpha)obj).getBalls().size() == linkedBalls.size();
 	}
 	
 	/**
 	 * Changes this alpha's properties according to the given ball's properties.
-	 * We use this method to avoid code duplication. Since Alpha functions in much the same way as Ball, 
-	 * we can use that to temporarily put the alpha's properties in a ball, call certain methods on the ball, and then copy the ball's changed properties if needed.
+	 * Alphas are moved and bounced in place by the methods of {@code MovingBody}, so the game itself no longer needs this method.
 	 * 
 	 * @pre Argument {@code ball} is not {@code null}
 	 * 		| ball != null
@@ -259,12 +289,10 @@ public class Alpha {
 	 */
 	
 	public void changeAlphaFromBall(Ball ball) {
-		// There are other solutions to solving e.g. wall bounces on alphas, but this seemed the easiest and least error-prone way to do it, 
-		//	since all methods from ball have been tested extensively and alpha reacts the same way when it bounces against a wall as a ball.
-		if (!center.equals(ball.getCenter()))
-			center = ball.getCenter();
-		if (!velocity.equals(ball.getVelocity()))
-			velocity = ball.getVelocity();
+		if (!getCenter().equals(ball.getCenter()))
+			setLocation(ball.getCenter(), getDiameter());
+		if (!getVelocity().equals(ball.getVelocity()))
+			setVelocity(ball.getVelocity());
 	}
 	
 	/**
@@ -281,8 +309,7 @@ public class Alpha {
 	 */
 	
 	public Ball createNormalBallFromAlpha() {
-		// We use this method for the same reason as the changeFromAlpha method. 
-		return new NormalBall(center, diameter, velocity);
+		return new NormalBall(getCenter(), getDiameter(), getVelocity());
 	}
 	
 }
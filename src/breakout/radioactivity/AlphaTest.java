@@ -176,5 +176,31 @@ public class AlphaTest {
 		assertTrue(tb4.raaktRechthoek(rightWall, 2));
 	}
 	
+	@Test
+	void testMoveAndBounceInPlace() {
+		Alpha alpha = new Alpha(new Point(14500, 7000), 500, new Vector(100, 5));
+		Ball ball = alpha.createNormalBallFromAlpha();
+		Rect rightWall = new Rect(new Point(br3.getX(), 0), new Point(br3.getX()+1, br3.getY()));
+		
+		alpha.move(br3, 5);
+		ball.moveBall(br3, 5);
+		assertEquals(ball.getCenter(), alpha.getCenter());
+		assertEquals(14750, alpha.getCenterX());
+		assertEquals(7025, alpha.getCenterY());
+		
+		assertEquals(Alpha.LEFT_SIDE, alpha.collisionSides(rightWall));
+		alpha.bounce(alpha.collisionSides(rightWall));
+		ball.hitBlock(rightWall, false);
+		assertEquals(ball.getVelocity(), alpha.getVelocity());
+		assertEquals(new Vector(-100, 5), alpha.getVelocity());
+		assertEquals(-100, alpha.getVelocityX());
+		
+		// A center or velocity that is set is returned as is
+		Point center = new Point(1000, 1000);
+		alpha.setLocation(center, 500);
+		assertSame(center, alpha.getCenter());
+		assertSame(alpha.getCenter(), alpha.getCenter());
+	}
+	
 }
 
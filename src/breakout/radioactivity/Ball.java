@@ -10,6 +10,7 @@ import logicalcollections.LogicalSet;
 import java.util.stream.IntStream;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * This class represents a ball on a 2D-grid, as part of a ball-alpha graph
@@ -26,22 +27,14 @@ import java.util.*;
  * 		| getAlphas().stream().allMatch(a -> a != null && a.getBalls().contains(this))
  */
 
-public abstract class Ball {
-	
-	public static final Vector[] MIRROR_VECTORS = {new Vector(0, 1), new Vector(-1, 0), new Vector(0, -1), new Vector(1, 0)};
+public abstract class Ball extends MovingBody {
 	
 	/**
-	 * @invar | center != null
-	 * @invar | diameter >= 0
-	 * @invar | velocity != null
 	 * @invar | color != null
 	 * @invar | color == Color.GREEN || color == Color.WHITE
 	 * @invar | eCharge != 0
 	 */
 	
-	private Point center;
-	private int diameter;
-	private Vector velocity;
 	private final Color color;
 	private int eCharge = 1;
 	
@@ -52,7 +45,23 @@ public abstract class Ball {
      * @representationObject
      */
 	
-	private Set<Alpha> linkedAlphas = new HashSet<Alpha>();
+	private LinkSet<Alpha> linkedAlphas = new LinkSet<Alpha>();
+	
+	/**
+	 * The number of linked alphas for each number of balls such an alpha is linked to, so that the eCharge can be kept up to date 
+	 * without visiting every linked alpha whenever one of them gets linked to another ball.
+	 * These counts are only up to date after {@code calculateAndSetEcharge} when the links were changed by {@code linkToWithoutEcharge}.
+	 * 
+	 * @invar | ballCounts != null
+	 * @invar | 0 <= maxBallCount && maxBallCount < Math.max(1, ballCounts.length)
+	 * @invar | linkedAlphas.isEmpty() == (maxBallCount == 0)
+	 * 
+	 * @representationObject
+	 */
+	
+	private int[] ballCounts = new int[0];
+	/** The largest number of balls that any linked alpha is linked to, or {@code 0} if this ball is not linked to any alpha. */
+	private int maxBallCount;
 	
 	/**
 	 * Constructs a new ball with the given center, diameter, velocity and color
@@ -73,30 +82,10 @@ public abstract class Ball {
 	 */
 	
 	public Ball(Point center, int diameter, Vector velocity, Color color) {
-		this.center = center;
-		this.diameter = Math.abs(diameter);
-		this.velocity = velocity;
+		super(center, diameter, velocity);
 		this.color = color;
 	}
 	
-	/** Returns this ball's diameter */
-	
-	public int getDiameter() {
-		return diameter;
-	}
-	
-	/** Returns this ball's center point */
-	
-	public Point getCenter() {
-		return center;
-	}
-	
-	/** Returns this ball's velocity */
-	
-	public Vector getVelocity() {
-		return velocity;
-	}
-	
 	/** 
 	 * Returns this ball's color 
 	 * 
@@ -126,32 +115,6 @@ public abstract class Ball {
 		return eCharge;
 	}
 	
-	/** 
-	 * Changes the center and diameter of this ball to the given center and diameter
-	 *  
-	 *  @pre | center != null
-	 *  
-	 *  @post | getCenter() == center
-	 *  @post | getDiameter() == diameter
-	 */
-	
-	public void setLocation(Point center, int diameter) {
-		this.center = center;
-		this.diameter = diameter;
-	}
-	
-	/**
-	 * Changes the velocity of this ball to the given velocity
-	 * 
-	 * @pre velocity != null
-	 * 
-	 * @post getVelocity() == velocity
-	 */
-	
-	public void setVelocity(Vector velocity) {
-		this.velocity = velocity;
-	}
-	
 	/**
 	 * Links this ball to the given alpha
 	 * 
@@ -170,11 +133,14 @@ public abstract class Ball {
 	 */
 	
 	public void linkTo(Alpha alpha) {
-		linkedAlphas.add(alpha);
+		// Re-adding a link changes nothing
+		if (!linkedAlphas.add(alpha))
+			return;
 		alpha.addBall(this);
-		for(Ball ball: alpha.getBalls()) {
-			ball.calculateAndSetEcharge();
-		}
+		int ballCount = alpha.getBallCount();
+		addBallCount(ballCount);
+		updateEcharge();
+		alpha.ballCountChanged(this, ballCount - 1);
 	}
 	
 	/**
@@ -196,12 +162,89 @@ public abstract class Ball {
 	 */
 	
 	public void unLink(Alpha alpha) {
+		// Re-removing a link changes nothing
+		if (!linkedAlphas.remove(alpha))
+			return;
+		int ballCount = alpha.getBallCount();
 		alpha.removeBall(this);
-		linkedAlphas.remove(alpha);
-		for(Ball ball: alpha.getBalls()) {
-			ball.calculateAndSetEcharge();
+		removeBallCount(ballCount);
+		updateEcharge();
+		alpha.ballCountChanged(this, ballCount);
+	}
+	
+	/**
+	 * Links this ball to every given alpha it is not linked to yet
+	 * 
+	 * @pre | alphas != null && alphas.stream().allMatch(a -> a != null)
+	 * 
+	 * @mutates_properties | this.getAlphas(), (...alphas).getBalls(), this.getEcharge()
+	 * 
+	 * @post | this.getAlphas().containsAll(old(this.getAlphas())) && this.getAlphas().containsAll(alphas)
+	 * @post | this.getAlphas().stream().allMatch(a -> old(this.getAlphas()).contains(a) || alphas.contains(a))
+	 * @post | alphas.stream().allMatch(a -> a.getBalls().contains(this))
+	 * @post | getEcharge() == calculateAndSetEcharge()
+	 */
+	
+	public void linkToAll(Collection<Alpha> alphas) {
+		for (Alpha alpha: alphas) {
+			linkTo(alpha);
+		}
+	}
+	
+	/**
+	 * Unlinks this ball from every alpha it is linked to
+	 * 
+	 * @mutates_properties | this.getAlphas(), (...getAlphas()).getBalls(), this.getEcharge()
+	 * 
+	 * @post | getAlphas().isEmpty()
+	 * @post | old(getAlphas()).stream().allMatch(a -> !a.getBalls().contains(this))
+	 * @post | getEcharge() == 1
+	 */
+	
+	public void unLinkAll() {
+		for (Alpha alpha: linkedAlphas) {
+			int ballCount = alpha.getBallCount();
+			alpha.removeBall(this);
+			alpha.ballCountChanged(this, ballCount);
 		}
-		calculateAndSetEcharge();
+		linkedAlphas.clear();
+		Arrays.fill(ballCounts, 0);
+		maxBallCount = 0;
+		updateEcharge();
+	}
+	
+	/**
+	 * Moves every link of this ball to the given ball, which is not linked to any alpha, and re-calculates the eCharge of both balls.
+	 * Every alpha keeps the same number of linked balls, so the eCharges of the other balls linked to those alphas do not change
+	 * and, unlike linking and unlinking the alphas one by one, this does not re-calculate them.
+	 * 
+	 * @pre | ball != null && ball != this
+	 * @pre | ball.getAlphas().isEmpty()
+	 * 
+	 * @mutates_properties | this.getAlphas(), ball.getAlphas(), (...getAlphas()).getBalls(), this.getEcharge(), ball.getEcharge()
+	 * 
+	 * @post The given ball is linked to the alphas this ball was linked to, and this ball is not linked to any alpha anymore
+	 * 		| ball.getAlphas().equals(old(getAlphas())) && getAlphas().isEmpty()
+	 * @post Every alpha this ball was linked to is linked to the given ball instead
+	 * 		| old(getAlphas()).stream().allMatch(a -> a.getBalls().contains(ball) && !a.getBalls().contains(this))
+	 * @post | getEcharge() == 1
+	 */
+	
+	public void transferLinksTo(Ball ball) {
+		for (Alpha alpha: linkedAlphas) {
+			alpha.removeBall(this);
+			alpha.addBall(ball);
+			ball.linkedAlphas.add(alpha);
+		}
+		linkedAlphas.clear();
+		// The given ball has no links, so its counts are all zero
+		int[] counts = ball.ballCounts;
+		ball.ballCounts = ballCounts;
+		ball.maxBallCount = maxBallCount;
+		ballCounts = counts;
+		maxBallCount = 0;
+		updateEcharge();
+		ball.updateEcharge();
 	}
 	
 	/**
@@ -234,6 +277,108 @@ public abstract class Ball {
 		return getAlphasInternal();
 	}
 	
+	/**
+	 * Performs the given action for the center of every alpha linked to this ball, without copying the set of linked alphas.
+	 * The action must not link or unlink this ball.
+	 * 
+	 * @pre | action != null
+	 * 
+	 * @inspects | this
+	 */
+	
+	public void forEachLinkedAlphaCenter(Consumer<Point> action) {
+		for (int i = 0; i < linkedAlphas.size(); i++) {
+			action.accept(linkedAlphas.get(i).getCenter());
+		}
+	}
+	
+	/**
+	 * Performs the given action for every alpha linked to this ball, without copying the set of linked alphas.
+	 * The action must not link or unlink this ball.
+	 * 
+	 * @pre | action != null
+	 * 
+	 * @inspects | this
+	 */
+	
+	public void forEachLinkedAlpha(Consumer<Alpha> action) {
+		for (int i = 0; i < linkedAlphas.size(); i++) {
+			action.accept(linkedAlphas.get(i));
+		}
+	}
+	
+	/**
+	 * Returns whether this ball is linked to the given alpha, without copying the set of linked alphas.
+	 * 
+	 * @post | result == getAlphas().contains(alpha)
+	 */
+	
+	public boolean isLinkedTo(Alpha alpha) {
+		return linkedAlphas.contains(alpha);
+	}
+	
+	/**
+	 * Returns the number of alphas linked to this ball
+	 * 
+	 * @post | result == getAlphas().size()
+	 */
+	
+	public int getAlphaCount() {
+		return linkedAlphas.size();
+	}
+	
+	/**
+	 * Returns an unmodifiable view of the set of the alphas linked to this ball, which follows later changes of the links
+	 * 
+	 * @post | result != null
+	 * 
+	 * @peerObjects (package-level)
+	 */
+	
+	Set<Alpha> getAlphasView(){
+		return Collections.unmodifiableSet(linkedAlphas);
+	}
+	
+	/**
+	 * Links this ball to the given alpha without re-calculating any eCharge, and returns whether they were not linked yet. 
+	 * The caller must call {@code calculateAndSetEcharge} on every ball linked to the given alpha afterwards.
+	 * 
+	 * @pre | alpha != null
+	 * 
+	 * @mutates_properties | this.getAlphas(), alpha.getBalls()
+	 * 
+	 * @post | result == !old(this.getAlphas()).contains(alpha)
+	 * @post | this.getAlphas().equals(LogicalSet.plus(old(this.getAlphas()), alpha))
+	 * @post | alpha.getBalls().equals(LogicalSet.plus(old(alpha.getBalls()), this))
+	 */
+	
+	boolean linkToWithoutEcharge(Alpha alpha) {
+		if (!linkedAlphas.add(alpha))
+			return false;
+		alpha.addBall(this);
+		return true;
+	}
+	
+	/**
+	 * Unlinks this ball from the given alpha without re-calculating any eCharge, and returns whether they were linked.
+	 * The caller must call {@code calculateAndSetEcharge} on this ball and on every ball linked to the given alpha afterwards.
+	 * 
+	 * @pre | alpha != null
+	 * 
+	 * @mutates_properties | this.getAlphas(), alpha.getBalls()
+	 * 
+	 * @post | result == old(this.getAlphas()).contains(alpha)
+	 * @post | this.getAlphas().equals(LogicalSet.minus(old(this.getAlphas()), alpha))
+	 * @post | alpha.getBalls().equals(LogicalSet.minus(old(alpha.getBalls()), this))
+	 */
+	
+	boolean unLinkWithoutEcharge(Alpha alpha) {
+		if (!linkedAlphas.remove(alpha))
+			return false;
+		alpha.removeBall(this);
+		return true;
+	}
+	
 	/**
 	 * Calculates the ball's eCharge, changes its current eCharge to the newly calculated one and returns the newly calculated one 
 	 * 
@@ -254,16 +399,54 @@ public abstract class Ball {
 	 */
 	
 	public int calculateAndSetEcharge() {
-		int newEcharge = 1;
+		Arrays.fill(ballCounts, 0);
+		maxBallCount = 0;
 		for (Alpha alpha: linkedAlphas) {
-			newEcharge = Math.max(newEcharge, alpha.getBalls().size());
-		}
-		if (linkedAlphas.size() % 2 != 0) {
-			eCharge = -newEcharge;
-			return -newEcharge;
-		}else{ eCharge = newEcharge;
-			return newEcharge;
+			addBallCount(alpha.getBallCount());
 		}
+		updateEcharge();
+		return eCharge;
+	}
+	
+	/**
+	 * Removes the link to the given alpha from this ball, after the alpha, which was linked to {@code oldBallCount} balls, unlinked all of its balls, 
+	 * and changes this ball's eCharge accordingly.
+	 */
+	
+	void linkedAlphaUnlinkedAll(Alpha alpha, int oldBallCount) {
+		linkedAlphas.remove(alpha);
+		removeBallCount(oldBallCount);
+		updateEcharge();
+	}
+	
+	/**
+	 * Updates the counts of this ball after the number of balls that one of its linked alphas is linked to changed from {@code oldBallCount} to {@code newBallCount}, 
+	 * and changes its eCharge accordingly.
+	 */
+	
+	void linkedAlphaBallCountChanged(int oldBallCount, int newBallCount) {
+		addBallCount(newBallCount);
+		removeBallCount(oldBallCount);
+		updateEcharge();
+	}
+	
+	private void addBallCount(int ballCount) {
+		if (ballCount >= ballCounts.length)
+			ballCounts = Arrays.copyOf(ballCounts, Math.max(4, ballCount * 2));
+		ballCounts[ballCount]++;
+		if (ballCount > maxBallCount)
+			maxBallCount = ballCount;
+	}
+	
+	private void removeBallCount(int ballCount) {
+		ballCounts[ballCount]--;
+		while (maxBallCount > 0 && ballCounts[maxBallCount] == 0)
+			maxBallCount--;
+	}
+	
+	private void updateEcharge() {
+		int newEcharge = Math.max(1, maxBallCount);
+		eCharge = linkedAlphas.size() % 2 != 0 ? -newEcharge : newEcharge;
 	}
 	
 	/**
@@ -344,9 +527,9 @@ public abstract class Ball {
 		if (obj == null)
 			return false;
 		return obj.getClass() == getClass() && 
-				((Ball)obj).getCenter().equals(center) &&
-				((Ball)obj).getDiameter() == diameter &&
-				((Ball)obj).getVelocity().equals(velocity) && 
+				((Ball)obj).getCenter().equals(getCenter()) &&
+				((Ball)obj).getDiameter() == getDiameter() &&
+				((Ball)obj).getVelocity().equals(getVelocity()) && 
 				((Ball)obj).getAlphas().size() == linkedAlphas.size() && 
 				((Ball)obj).getEcharge() == eCharge;	
 				
@@ -411,22 +594,7 @@ public abstract class Ball {
 	 */
 	
 	public void moveBall(Point br, int timeElapsed) {
-		Point newCenter = center.plus(velocity.scaled(timeElapsed));
-		if (newCenter.getX() - diameter/2 < 0) {
-			newCenter = new Point(diameter/2, newCenter.getY());
-		}
-		if (newCenter.getX() + diameter/2 > br.getX()) {
-			newCenter = new Point(br.getX() - diameter/2, newCenter.getY());
-		}
-		
-		if (newCenter.getY() + diameter/2 > br.getY()) {
-			newCenter = new Point(newCenter.getX(), br.getY() - diameter/2);
-		}
-		
-		if (newCenter.getY() - diameter/2 < 0) {
-			newCenter = new Point(newCenter.getX(), diameter/2);
-		}
-		center = newCenter;
+		move(br, timeElapsed);
 	}
 	
 	/**
@@ -444,24 +612,7 @@ public abstract class Ball {
 	 */
 	
 	public void linkedAlphaHitWall(Alpha alpha) {
-		velocity = Vector.magnetSpeed(alpha.getCenter(), center, eCharge, velocity);
-	}
-	
-	/**
-	 * Returns the dot product of the vector {@code n} and the vector constructed by scaling {@code velocity} with -1. 
-	 * 
-	 * @pre {@code velocity} should not be null
-	 * 		| velocity != null
-	 * @pre {@code n} should not be null
-	 * 		| n != null
-	 * 
-	 * @post The result is true if the angle between the velocity and vector v is sharp
-	 * 		| result == velocity.scaled(-1).product(n) >= 0
-	 */
-	
-	public boolean raakDotProduct(Vector velocity, Vector n) {
-		Vector v = velocity.scaled(-1);
-		return v.product(n) >= 0;
+		setVelocity(Vector.magnetSpeed(alpha.getCenter(), getCenter(), eCharge, getVelocity()));
 	}
 	
 	/**
@@ -485,131 +636,26 @@ public abstract class Ball {
 	 */
 	
 	public void hitBlock(Rect rect, boolean destroyed) {
-			if (raaktRechthoek(rect, 2)) {
-				velocity = velocity.mirrorOver(MIRROR_VECTORS[1]);
-				return;
-			}
-		
-			if (raaktRechthoek(rect, 1)) {
-				velocity = velocity.mirrorOver(MIRROR_VECTORS[0]);
-				return;
-			}
-			
-			if (raaktRechthoek(rect, 4)) {
-				velocity = velocity.mirrorOver(MIRROR_VECTORS[3]);
-				return;
-			}
-			
-			if (raaktRechthoek(rect, 3)) {
-				velocity = velocity.mirrorOver(MIRROR_VECTORS[2]);
-			}
-		
+		hitBlock(collisionSides(rect), destroyed);
 	}
 	
 	/**
-	 * Returns true if the ball has hit {@code rechthoek} on the given side, indicated by {@code sideNumber}.
-	 * 			(1 indicates the bottom side, 2 indicates the left side, 3 indicates the top side and 4 indicates the right side)
-	 * 
-	 * @pre Argument {@code sideNumber} should be 1, 2, 3 or 4
-	 * 		| sideNumber == 1 || sideNumber == 2 || sideNumber == 3 || sideNumber == 4
-	 * @pre Argument {@code rechthoek} should not be {@code null}
-	 * 		| rechthoek != null
-	 * 
-	 * @inspects | this
+	 * Changes this ball's velocity after it bounced against a block it hit on the given sides, as returned by {@code collisionSides}, 
+	 * depending on what kind of ball this is.
+	 * If the ball hit more than one side, it bounces off the left, bottom, right or top side, in that order of preference.
 	 * 
-	 * @post The result is true if the distance between the circle's center to the given side is smaller than or equal to the circle's radius, 
-	 * 		 and if the dot product of the direction of the ball and the vector perpendicular to the given side of the rectangle is positive.
-	 * 		| result == ((Math.max(rechthoek.getTopLeft().getX(), Math.min(getCenter().getX(), rechthoek.getBottomRight().getX())) - getCenter().getX()) -
-	 * 		|			(Math.max(rechthoek.getTopLeft().getX(), Math.min(getCenter().getX(), rechthoek.getBottomRight().getX())) - getCenter().getX()) + 
-	 * 		|		(Math.max(rechthoek.getTopLeft().getY(), Math.min(getCenter().getY(), rechthoek.getBottomRight().getY())) - getCenter().getY()) * 
-	 * 		|			(Math.max(rechthoek.getTopLeft().getY(), Math.min(getCenter().getY(), rechthoek.getBottomRight().getY())) - getCenter().getY())) 
-	 * 		|	<= getDiameter()/2 * getDiameter()/2 &&
-	 * 		| 		Arrays.stream(MIRROR_VECTORS).anyMatch(v -> raakDotProduct(getVelocity(), v)) ||
-	 * 		| result == false
+	 * @pre | sides != 0
 	 * 
-	 */
-	
-	public boolean raaktRechthoek(Rect rechthoek, int sideNumber) {
-		Point ballOnderstePunt = new Point(center.getX(), center.getY() + diameter/2);
-		Point ballBovenstePunt = new Point(center.getX(), center.getY() - diameter/2);
-		Point ballLinksePunt = new Point(center.getX() - diameter/2, center.getY());
-		Point ballRechtsePunt = new Point(center.getX() + diameter/2, center.getY());
-		// bottomSide
-		if (sideNumber == 1) {
-			if (ballRechtsePunt.getX() >= rechthoek.getTopLeft().getX() && ballLinksePunt.getX() <= rechthoek.getBottomRight().getX() && center.getY() >= rechthoek.getBottomRight().getY() && ballBovenstePunt.getY() <= rechthoek.getBottomRight().getY()) {
-				Point linksOnder = new Point(rechthoek.getTopLeft().getX(), rechthoek.getBottomRight().getY());
-				Point rechtsOnder = rechthoek.getBottomRight();
-				if (getDiameter()/2 * getDiameter()/2 >= distanceCenterTo2Points(linksOnder, rechtsOnder)) {
-					return raakDotProduct(velocity, MIRROR_VECTORS[0]);
-				}
-			}
-		}
-		// leftSide
-		if (sideNumber == 2) {
-			if (center.getX() <= rechthoek.getTopLeft().getX() && ballRechtsePunt.getX() >= rechthoek.getTopLeft().getX() && ballBovenstePunt.getY() <= rechthoek.getBottomRight().getY() && ballOnderstePunt.getY() >= rechthoek.getTopLeft().getY()) {
-				Point linksBoven = rechthoek.getTopLeft();
-				Point linksOnder = new Point(rechthoek.getTopLeft().getX(), rechthoek.getBottomRight().getY());
-				if (getDiameter()/2 * getDiameter()/2 >= distanceCenterTo2Points(linksBoven, linksOnder)) {
-					return raakDotProduct(velocity, MIRROR_VECTORS[1]);
-				}
-			}
-		}
-		//topSide
-		if (sideNumber == 3) {
-			if (ballRechtsePunt.getX() >= rechthoek.getTopLeft().getX() && ballLinksePunt.getX() <= rechthoek.getBottomRight().getX() && center.getY() <= rechthoek.getTopLeft().getY() && ballOnderstePunt.getY() >= rechthoek.getTopLeft().getY()) {
-				Point rechthoekRechtsBovenPunt = new Point(rechthoek.getBottomRight().getX(), rechthoek.getTopLeft().getY());
-				if (getDiameter()/2 * getDiameter()/2 >= distanceCenterTo2Points(rechthoek.getTopLeft(), rechthoekRechtsBovenPunt)) {
-					return raakDotProduct(velocity, MIRROR_VECTORS[2]);
-				}
-			}
-		}
-		//rightSide
-		if (sideNumber == 4) {
-			if (ballOnderstePunt.getY() >= rechthoek.getTopLeft().getY() && ballBovenstePunt.getY() <= rechthoek.getBottomRight().getY() && center.getX() >= rechthoek.getBottomRight().getX() && ballLinksePunt.getX() <= rechthoek.getBottomRight().getX()) {
-				Point rechthoekRechtsBovenPunt = new Point(rechthoek.getBottomRight().getX(), rechthoek.getTopLeft().getY());
-				if (getDiameter()/2 * getDiameter()/2 >= distanceCenterTo2Points(rechthoekRechtsBovenPunt, rechthoek.getBottomRight())) {
-					return raakDotProduct(velocity, MIRROR_VECTORS[3]);
-				}
-			}
-		}
-		return false;
-	}
-	
-	/**
-	 * Returns the distance of the center of the ball to a line constructed by 2 points to the power of 2.
-	 * 
-	 * @pre {@code punt1} is not {@code null}
-	 * 		| punt1 != null
-	 * @pre {@code punt2} is not {@code null}
-	 * 		| punt2 != null
-	 * @pre {@code punt1} must have either a different x-coordinate to {@code punt2}, a different y-coordinate or both.
-	 * 		| punt1.getX() != punt2.getX() || 
-	 * 		|	punt1.getY() != punt2.getY()
-	 * 
-	 * @inspects | this
+	 * @mutates_properties | this.getVelocity()
 	 * 
-	 * @post The result is the distance between the center of the ball and the line constructed by the 2 given points.
-	 * 		| result == 
-	 * 		|	((punt2.getX() - punt1.getX()) * (punt1.getY() - getCenter().getY()) - 
-	 * 		| 			(punt1.getX() - getCenter().getX()) * (punt2.getY() - punt1.getY())) * 
-	 * 		|		((punt2.getX() - punt1.getX()) * (punt1.getY() - getCenter().getY()) - 
-	 * 		| 			(punt1.getX() - getCenter().getX()) * (punt2.getY() - punt1.getY())) / 
-	 * 		|	((punt2.getX() - punt1.getX()) * (punt2.getX() - punt1.getX()) + 
-	 * 		|		(punt2.getY() - punt1.getY()) * (punt2.getY() - punt1.getY()))
+	 * @post Depending on which side this ball hit the block on, what kind of ball this is
+	 * 		 and if the block is destroyable or not, this ball's velocity got changed accordingly.
+	 * 		| Arrays.stream(MIRROR_VECTORS).anyMatch(v -> getVelocity().equals(old(getVelocity()).mirrorOver(v))) ||
+	 * 		| destroyed == true && getClass() == SuperchargedBall.class && getVelocity().equals(old(getVelocity()))
 	 */
 	
-	private int distanceCenterTo2Points(Point punt1, Point punt2) {
-		int x1 = punt1.getX();
-		int x2 = punt2.getX();
-		int y1 = punt1.getY();
-		int y2 = punt2.getY();
-		int x0 = center.getX();
-		int y0 = center.getY();
-		int bovenEquation = (x2 - x1)*(y1 - y0) - (x1 - x0)*(y2 - y1);
-		int onderEquation = (x2 - x1)*(x2 - x1) + (y2 - y1)*(y2 - y1);
-		int equation = (bovenEquation)*(bovenEquation) / (onderEquation);
-		
-		return equation;
+	public void hitBlock(int sides, boolean destroyed) {
+		bounce(sides);
 	}
 	
 }
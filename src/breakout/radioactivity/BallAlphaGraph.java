@@ -0,0 +1,112 @@
+package breakout.radioactivity;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.stream.IntStream;
+
+import breakout.utils.Vector;
+
+/**
+ * A deep copy of a ball-alpha graph: copies of a number of balls and alphas, linked to each other in the same way as the originals.
+ * Links to balls or alphas that are not part of the copied arrays are not copied.
+ * The arrays returned by the getters are the copy itself, so they are not copied again.
+ * 
+ * @invar | getBalls() != null
+ * @invar | getAlphas() != null
+ */
+
+public class BallAlphaGraph {
+	
+	private static final Vector NO_CHANGE = new Vector(0, 0);
+	
+	/**
+	 * @invar | balls != null
+	 * @invar | alphas != null
+	 */
+	
+	private final Ball[] balls;
+	private final Alpha[] alphas;
+	
+	private BallAlphaGraph(Ball[] balls, Alpha[] alphas) {
+		this.balls = balls;
+		this.alphas = alphas;
+	}
+	
+	/**
+	 * Returns a deep copy of the graph formed by the given balls and alphas.
+	 * Every copied ball is a ball of the same kind with the same properties as the original, every copied alpha has the same properties as the original,
+	 * and a copied ball is linked to a copied alpha exactly when the originals are linked.
+	 * The copy takes time linear in the number of balls, alphas and links.
+	 * 
+	 * @pre | balls != null
+	 * @pre | alphas != null
+	 * @pre | Arrays.stream(balls).noneMatch(b -> b == null)
+	 * @pre | Arrays.stream(alphas).noneMatch(a -> a == null)
+	 * 
+	 * @inspects | balls, alphas
+	 * 
+	 * @creates | result
+	 * 
+	 * @post | result.getBalls().length == balls.length
+	 * @post | result.getAlphas().length == alphas.length
+	 * @post | IntStream.range(0, balls.length).allMatch(i -> 
+	 * 		 |	result.getBalls()[i].getClass() == balls[i].getClass() &&
+	 * 		 |	result.getBalls()[i].getCenter().equals(balls[i].getCenter()) && 
+	 * 		 |	result.getBalls()[i].getVelocity().equals(balls[i].getVelocity()) && 
+	 * 		 |	result.getBalls()[i].getDiameter() == balls[i].getDiameter() && 
+	 * 		 |	result.getBalls()[i].getTime() == balls[i].getTime())
+	 * @post | IntStream.range(0, alphas.length).allMatch(j -> 
+	 * 		 |	result.getAlphas()[j].getCenter().equals(alphas[j].getCenter()) && 
+	 * 		 |	result.getAlphas()[j].getVelocity().equals(alphas[j].getVelocity()) && 
+	 * 		 |	result.getAlphas()[j].getDiameter() == alphas[j].getDiameter())
+	 * @post | IntStream.range(0, balls.length).allMatch(i -> IntStream.range(0, alphas.length).allMatch(j -> 
+	 * 		 |	result.getBalls()[i].getAlphas().contains(result.getAlphas()[j]) == balls[i].getAlphas().contains(alphas[j])))
+	 */
+	
+	public static BallAlphaGraph copyOf(Ball[] balls, Alpha[] alphas) {
+		Ball[] ballRes = new Ball[balls.length];
+		Alpha[] alphaRes = new Alpha[alphas.length];
+		IdentityHashMap<Alpha, Alpha> alphaCopies = new IdentityHashMap<Alpha, Alpha>(alphas.length * 2);
+		
+		for (int j=0; j<alphas.length; j++) {
+			alphaRes[j] = new Alpha(alphas[j].getCenter(), alphas[j].getDiameter(), alphas[j].getVelocity());
+			alphaCopies.put(alphas[j], alphaRes[j]);
+		}
+		for (int i=0; i<balls.length; i++) {
+			ballRes[i] = balls[i].cloneBallWithChangedVelocity(NO_CHANGE);
+			if (alphas.length == 0)
+				continue;
+			for (Alpha alpha: balls[i].getAlphasView()) {
+				Alpha alphaCopy = alphaCopies.get(alpha);
+				if (alphaCopy != null)
+					ballRes[i].linkToWithoutEcharge(alphaCopy);
+			}
+		}
+		// Every eCharge is calculated once, after all links exist, instead of after every link
+		for (Ball ball: ballRes) {
+			ball.calculateAndSetEcharge();
+		}
+		return new BallAlphaGraph(ballRes, alphaRes);
+	}
+	
+	/**
+	 * Returns the copied balls, in the order of the original balls.
+	 * 
+	 * @peerObjects
+	 */
+	
+	public Ball[] getBalls() {
+		return balls;
+	}
+	
+	/**
+	 * Returns the copied alphas, in the order of the original alphas.
+	 * 
+	 * @peerObjects
+	 */
+	
+	public Alpha[] getAlphas() {
+		return alphas;
+	}
+	
+}
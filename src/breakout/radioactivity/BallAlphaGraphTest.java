@@ -0,0 +1,43 @@
+package breakout.radioactivity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import breakout.utils.Point;
+import breakout.utils.Vector;
+
+class BallAlphaGraphTest {
+	
+	@Test
+	void testCopyOf() {
+		Ball ball1 = new NormalBall(new Point(1000, 1000), 700, new Vector(3, 4));
+		Ball ball2 = new SuperchargedBall(new Point(2000, 1000), 700, new Vector(-3, 4), 500);
+		Alpha alpha1 = new Alpha(new Point(1000, 2000), 700, new Vector(1, 1));
+		Alpha alpha2 = new Alpha(new Point(2000, 2000), 700, new Vector(-1, 1));
+		Alpha outside = new Alpha(new Point(3000, 2000), 700, new Vector(0, 1));
+		ball1.linkTo(alpha1);
+		ball1.linkTo(alpha2);
+		ball2.linkTo(alpha2);
+		ball2.linkTo(outside);
+		
+		BallAlphaGraph copy = BallAlphaGraph.copyOf(new Ball[] {ball1, ball2}, new Alpha[] {alpha1, alpha2});
+		Ball[] balls = copy.getBalls();
+		Alpha[] alphas = copy.getAlphas();
+		
+		assertNotSame(ball1, balls[0]);
+		assertNotSame(alpha1, alphas[0]);
+		assertEquals(SuperchargedBall.class, balls[1].getClass());
+		assertEquals(500, balls[1].getTime());
+		assertTrue(balls[0].getAlphas().contains(alphas[0]) && balls[0].getAlphas().contains(alphas[1]));
+		assertTrue(balls[1].getAlphas().contains(alphas[1]));
+		// The link to an alpha outside of the copied arrays is not copied
+		assertEquals(1, balls[1].getAlphas().size());
+		assertEquals(2, alphas[1].getBallCount());
+		
+		assertEquals(2, balls[0].getEcharge());
+		assertEquals(-2, balls[1].getEcharge());
+		assertEquals(2, ball2.getAlphas().size());
+	}
+	
+}
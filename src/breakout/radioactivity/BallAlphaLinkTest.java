@@ -3,6 +3,8 @@ package breakout.radioactivity;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -247,4 +249,85 @@ class BallAlphaLinkTest {
 		}
 	}
 
+	@Test
+	void testTransferLinksTo() {
+		Ball from = new NormalBall(center1, diameter, velocity1);
+		Ball other = new NormalBall(center2, diameter, velocity2);
+		Ball to = new SuperchargedBall(center3, diameter, velocity3, 0);
+		Alpha a = new Alpha(center1, diameter, velocity1);
+		Alpha b = new Alpha(center2, diameter, velocity2);
+		Alpha c = new Alpha(center3, diameter, velocity3);
+		from.linkTo(a);
+		from.linkTo(b);
+		from.linkTo(c);
+		other.linkTo(a);
+		assertEquals(-2, from.getEcharge());
+		assertEquals(-2, other.getEcharge());
+		
+		from.transferLinksTo(to);
+		assertTrue(from.getAlphas().isEmpty());
+		assertEquals(1, from.getEcharge());
+		assertEquals(Set.of(a, b, c), to.getAlphas());
+		assertTrue(a.getBalls().contains(to) && !a.getBalls().contains(from));
+		assertEquals(-2, to.getEcharge());
+		assertEquals(-2, other.getEcharge());
+		assertEquals(2, a.getBallCount());
+	}
+	
+	@Test
+	void testEchargeFollowsLinkChanges() {
+		Ball[] balls = new Ball[6];
+		Alpha[] alphas = new Alpha[5];
+		for (int i = 0; i < balls.length; i++)
+			balls[i] = new NormalBall(center1, diameter, velocity1);
+		for (int i = 0; i < alphas.length; i++)
+			alphas[i] = new Alpha(center2, diameter, velocity2);
+		Random random = new Random(18);
+		for (int step = 0; step < 500; step++) {
+			Ball ball = balls[random.nextInt(balls.length)];
+			Alpha alpha = alphas[random.nextInt(alphas.length)];
+			switch (random.nextInt(5)) {
+				case 0, 1 -> ball.linkTo(alpha);
+				case 2, 3 -> ball.unLink(alpha);
+				default -> {
+					if (random.nextBoolean())
+						ball.unLinkAll();
+					else
+						alpha.unLinkAll();
+				}
+			}
+			for (Ball b: balls) {
+				int eCharge = b.getEcharge();
+				assertEquals(b.calculateAndSetEcharge(), eCharge);
+			}
+		}
+	}
+	
+	@Test
+	void testRepeatedLinkChanges() {
+		normalBall1.linkTo(alpha1);
+		normalBall2.linkTo(alpha1);
+		normalBall1.linkTo(alpha1);
+		assertEquals(2, alpha1.getBallCount());
+		assertEquals(-2, normalBall1.getEcharge());
+		assertEquals(-2, normalBall2.getEcharge());
+		
+		normalBall2.unLink(alpha1);
+		normalBall2.unLink(alpha1);
+		assertEquals(1, alpha1.getBallCount());
+		assertEquals(-1, normalBall1.getEcharge());
+		assertEquals(1, normalBall2.getEcharge());
+		
+		normalBall2.linkToAll(Set.of(alpha1, alpha2));
+		assertEquals(Set.of(alpha1, alpha2), normalBall2.getAlphas());
+		assertEquals(2, normalBall2.getEcharge());
+		assertEquals(-2, normalBall1.getEcharge());
+		
+		alpha1.unLinkAll();
+		assertTrue(alpha1.getBalls().isEmpty());
+		assertTrue(normalBall1.getAlphas().isEmpty());
+		assertEquals(1, normalBall1.getEcharge());
+		assertEquals(-1, normalBall2.getEcharge());
+	}
+	
 }
@@ -212,5 +212,99 @@ public class BallTest {
 		assertTrue(superchargedBall2.equalContent(ball2AfterBounce));
 	}
 	
+	@Test
+	void testCollisionSides() {
+		Rect block = new Rect(new Point(23000, 25480), new Point(29000, 29000));
+		
+		// ball1 touches the top side of the block while moving down
+		assertEquals(Ball.TOP_SIDE, normalBall1.collisionSides(block));
+		assertEquals(Ball.TOP_SIDE, Ball.collisionSides(25000, 25000, 1000, 10, 5, 23000, 25480, 29000, 29000));
+		// Moving away from the block, nothing is hit
+		assertEquals(0, Ball.collisionSides(25000, 25000, 1000, 10, -5, 23000, 25480, 29000, 29000));
+		
+		// A ball near a corner can hit two sides at once
+		int sides = Ball.collisionSides(22800, 25300, 1000, 5, 5, 23000, 25480, 29000, 29000);
+		assertEquals(Ball.LEFT_SIDE | Ball.TOP_SIDE, sides);
+		
+		// The result agrees with the point-based side test that collisionSides replaced
+		for (int x = 21000; x <= 31000; x += 250) {
+			for (int y = 23500; y <= 31000; y += 250) {
+				for (Vector velocity: new Vector[] {velocity1, velocity1.scaled(-1), new Vector(-7, 3), new Vector(4, -9)}) {
+					Ball ball = new NormalBall(new Point(x, y), diameter1, velocity);
+					int expected = 0;
+					for (int n = 1; n <= 4; n++) {
+						if (pointBasedHit(ball, block, n))
+							expected |= 1 << (n - 1);
+					}
+					assertEquals(expected, ball.collisionSides(block));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * The side test {@code raaktRechthoek} did before it used {@code collisionSides}.
+	 */
+	
+	private static boolean pointBasedHit(Ball ball, Rect rechthoek, int sideNumber) {
+		Point center = ball.getCenter();
+		int diameter = ball.getDiameter();
+		Point ballOnderstePunt = new Point(center.getX(), center.getY() + diameter/2);
+		Point ballBovenstePunt = new Point(center.getX(), center.getY() - diameter/2);
+		Point ballLinksePunt = new Point(center.getX() - diameter/2, center.getY());
+		Point ballRechtsePunt = new Point(center.getX() + diameter/2, center.getY());
+		Point linksBoven = rechthoek.getTopLeft();
+		Point rechtsOnder = rechthoek.getBottomRight();
+		Point linksOnder = new Point(linksBoven.getX(), rechtsOnder.getY());
+		Point rechtsBoven = new Point(rechtsOnder.getX(), linksBoven.getY());
+		Point punt1;
+		Point punt2;
+		if (sideNumber == 1 && ballRechtsePunt.getX() >= linksBoven.getX() && ballLinksePunt.getX() <= rechtsOnder.getX() && center.getY() >= rechtsOnder.getY() && ballBovenstePunt.getY() <= rechtsOnder.getY()) {
+			punt1 = linksOnder;
+			punt2 = rechtsOnder;
+		} else if (sideNumber == 2 && center.getX() <= linksBoven.getX() && ballRechtsePunt.getX() >= linksBoven.getX() && ballBovenstePunt.getY() <= rechtsOnder.getY() && ballOnderstePunt.getY() >= linksBoven.getY()) {
+			punt1 = linksBoven;
+			punt2 = linksOnder;
+		} else if (sideNumber == 3 && ballRechtsePunt.getX() >= linksBoven.getX() && ballLinksePunt.getX() <= rechtsOnder.getX() && center.getY() <= linksBoven.getY() && ballOnderstePunt.getY() >= linksBoven.getY()) {
+			punt1 = linksBoven;
+			punt2 = rechtsBoven;
+		} else if (sideNumber == 4 && ballOnderstePunt.getY() >= linksBoven.getY() && ballBovenstePunt.getY() <= rechtsOnder.getY() && center.getX() >= rechtsOnder.getX() && ballLinksePunt.getX() <= rechtsOnder.getX()) {
+			punt1 = rechtsBoven;
+			punt2 = rechtsOnder;
+		} else {
+			return false;
+		}
+		int bovenEquation = (punt2.getX() - punt1.getX())*(punt1.getY() - center.getY()) - (punt1.getX() - center.getX())*(punt2.getY() - punt1.getY());
+		int onderEquation = (punt2.getX() - punt1.getX())*(punt2.getX() - punt1.getX()) + (punt2.getY() - punt1.getY())*(punt2.getY() - punt1.getY());
+		if (diameter/2 * diameter/2 < bovenEquation*bovenEquation / onderEquation)
+			return false;
+		Vector[] normals = {new Vector(0, 1), new Vector(-1, 0), new Vector(0, -1), new Vector(1, 0)};
+		return ball.getVelocity().scaled(-1).product(normals[sideNumber - 1]) >= 0;
+	}
+	
+	@Test
+	void testTimeOfImpact() {
+		// A fast ball moving up passes through a thin block within 60 ms; it first touches the bottom side after 18 ms
+		assertEquals(18, Ball.timeOfImpact(5000, 10000, 700, 0, -20, 4000, 9000, 6000, 9300, 60));
+		assertEquals(-1, Ball.timeOfImpact(5000, 10000, 700, 0, -20, 4000, 9000, 6000, 9300, 17));
+		assertEquals(-1, Ball.timeOfImpact(5000, 10000, 700, 0, 20, 4000, 9000, 6000, 9300, 60));
+		assertEquals(-1, Ball.timeOfImpact(8000, 10000, 700, 0, -20, 4000, 9000, 6000, 9300, 60));
+		
+		// The result is the first time at which collisionSides reports a hit
+		Rect block = new Rect(new Point(23000, 25480), new Point(29000, 29000));
+		for (int x = 19000; x <= 33000; x += 1000) {
+			for (int y = 21000; y <= 33000; y += 1000) {
+				for (Vector velocity: new Vector[] {new Vector(60, 45), new Vector(-70, 30), new Vector(40, -90), new Vector(0, -100), new Vector(0, 0)}) {
+					int expected = -1;
+					for (int t = 1; t <= 50 && expected == -1; t++) {
+						if (Ball.collisionSides(x + velocity.getX() * t, y + velocity.getY() * t, diameter1, velocity.getX(), velocity.getY(), 
+								23000, 25480, 29000, 29000) != 0)
+							expected = t;
+					}
+					assertEquals(expected, Ball.timeOfImpact(x, y, diameter1, velocity.getX(), velocity.getY(), 23000, 25480, 29000, 29000, 50));
+				}
+			}
+		}
+	}
+	
 }
-
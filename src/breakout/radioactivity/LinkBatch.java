@@ -0,0 +1,168 @@
+package breakout.radioactivity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A number of changes to the links between balls and alphas that are applied together by {@code commit}.
+ * Linking or unlinking one pair at a time keeps the eCharge of every ball up to date after each change. 
+ * A batch first changes all of the links and then calculates the eCharge of every ball that may have changed, once.
+ * Nothing changes before {@code commit} is called.
+ * 
+ * @invar | getSize() >= 0
+ */
+
+public class LinkBatch {
+	
+	private static final int LINK = 0;
+	private static final int UNLINK = 1;
+	private static final int TRANSFER = 2;
+	
+	/** One recorded change: linking {@code ball} to {@code other}, unlinking it from {@code other}, or transferring its links to {@code other}. */
+	
+	private static class Change {
+		
+		private final int kind;
+		private final Ball ball;
+		private final Object other;
+		
+		private Change(int kind, Ball ball, Object other) {
+			this.kind = kind;
+			this.ball = ball;
+			this.other = other;
+		}
+		
+	}
+	
+	/**
+	 * @invar | changes != null
+	 * 
+	 * @representationObject
+	 */
+	
+	private final List<Change> changes = new ArrayList<Change>();
+	
+	/** Returns the number of changes that have been recorded since this batch was created or last committed. */
+	
+	public int getSize() {
+		return changes.size();
+	}
+	
+	/**
+	 * Records that the given ball is to be linked to the given alpha. Linking a pair that is already linked does nothing.
+	 * 
+	 * @pre | ball != null && alpha != null
+	 * 
+	 * @mutates | this
+	 * 
+	 * @post | getSize() == old(getSize()) + 1
+	 * @post | result == this
+	 */
+	
+	public LinkBatch link(Ball ball, Alpha alpha) {
+		changes.add(new Change(LINK, ball, alpha));
+		return this;
+	}
+	
+	/**
+	 * Records that the given ball is to be linked to every given alpha, in the order of the given collection.
+	 * The collection is read now, so later changes to it do not affect this batch.
+	 * 
+	 * @pre | ball != null
+	 * @pre | alphas != null && alphas.stream().allMatch(a -> a != null)
+	 * 
+	 * @mutates | this
+	 * 
+	 * @post | getSize() == old(getSize()) + alphas.size()
+	 * @post | result == this
+	 */
+	
+	public LinkBatch linkAll(Ball ball, Collection<Alpha> alphas) {
+		for (Alpha alpha: alphas) {
+			changes.add(new Change(LINK, ball, alpha));
+		}
+		return this;
+	}
+	
+	/**
+	 * Records that the given ball is to be unlinked from the given alpha. Unlinking a pair that is not linked does nothing.
+	 * 
+	 * @pre | ball != null && alpha != null
+	 * 
+	 * @mutates | this
+	 * 
+	 * @post | getSize() == old(getSize()) + 1
+	 * @post | result == this
+	 */
+	
+	public LinkBatch unLink(Ball ball, Alpha alpha) {
+		changes.add(new Change(UNLINK, ball, alpha));
+		return this;
+	}
+	
+	/**
+	 * Records that every link of ball {@code from} is to be moved to ball {@code to}, like {@code from.transferLinksTo(to)}.
+	 * When this change is applied, {@code to} must not be linked to any alpha.
+	 * 
+	 * @pre | from != null && to != null && from != to
+	 * 
+	 * @mutates | this
+	 * 
+	 * @post | getSize() == old(getSize()) + 1
+	 * @post | result == this
+	 */
+	
+	public LinkBatch transferLinks(Ball from, Ball to) {
+		changes.add(new Change(TRANSFER, from, to));
+		return this;
+	}
+	
+	/**
+	 * Applies the recorded changes in the order in which they were recorded, and then calculates the eCharge of every ball 
+	 * that was linked, unlinked or transferred, or that is linked to an alpha whose number of linked balls changed.
+	 * Afterwards, this batch is empty and can be used again.
+	 * 
+	 * @mutates | this
+	 * 
+	 * @post The links are the same as when the changes are applied one at a time, and so are the eCharges
+	 * @post | getSize() == 0
+	 */
+	
+	public void commit() {
+		Set<Ball> changedBalls = Collections.newSetFromMap(new IdentityHashMap<Ball, Boolean>());
+		Set<Alpha> changedAlphas = Collections.newSetFromMap(new IdentityHashMap<Alpha, Boolean>());
+		for (Change change: changes) {
+			switch (change.kind) {
+			case LINK:
+				if (change.ball.linkToWithoutEcharge((Alpha) change.other)) {
+					changedBalls.add(change.ball);
+					changedAlphas.add((Alpha) change.other);
+				}
+				break;
+			case UNLINK:
+				if (change.ball.unLinkWithoutEcharge((Alpha) change.other)) {
+					changedBalls.add(change.ball);
+					changedAlphas.add((Alpha) change.other);
+				}
+				break;
+			default:
+				// The alphas keep the same number of linked balls, so only the two balls are affected
+				change.ball.transferLinksTo((Ball) change.other);
+				changedBalls.add(change.ball);
+				changedBalls.add((Ball) change.other);
+			}
+		}
+		changes.clear();
+		for (Alpha alpha: changedAlphas) {
+			alpha.addBallsTo(changedBalls);
+		}
+		for (Ball ball: changedBalls) {
+			ball.calculateAndSetEcharge();
+		}
+	}
+	
+}
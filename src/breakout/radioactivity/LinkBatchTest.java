@@ -0,0 +1,84 @@
+package breakout.radioactivity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import breakout.utils.Point;
+import breakout.utils.Vector;
+
+class LinkBatchTest {
+	
+	private Ball ball1;
+	private Ball ball2;
+	private Ball ball3;
+	private Alpha alpha1;
+	private Alpha alpha2;
+	
+	@BeforeEach
+	void setUp() {
+		ball1 = new NormalBall(new Point(1000, 1000), 500, new Vector(5, 5));
+		ball2 = new NormalBall(new Point(2000, 1000), 500, new Vector(-5, 5));
+		ball3 = new SuperchargedBall(new Point(3000, 1000), 500, new Vector(5, -5), 0);
+		alpha1 = new Alpha(new Point(1000, 2000), 500, new Vector(1, 1));
+		alpha2 = new Alpha(new Point(2000, 2000), 500, new Vector(-1, 1));
+	}
+	
+	@Test
+	void testNothingChangesBeforeCommit() {
+		LinkBatch batch = new LinkBatch().link(ball1, alpha1).link(ball2, alpha1);
+		assertEquals(2, batch.getSize());
+		assertTrue(ball1.getAlphas().isEmpty());
+		assertEquals(0, alpha1.getBallCount());
+		
+		batch.commit();
+		assertEquals(0, batch.getSize());
+		assertEquals(Set.of(ball1, ball2), alpha1.getBalls());
+		assertEquals(-2, ball1.getEcharge());
+		assertEquals(-2, ball2.getEcharge());
+	}
+	
+	@Test
+	void testCommitMatchesSingleChanges() {
+		ball1.linkTo(alpha1);
+		ball2.linkTo(alpha1);
+		ball2.linkTo(alpha2);
+		
+		new LinkBatch()
+				.link(ball3, alpha1)
+				.link(ball3, alpha1)
+				.unLink(ball2, alpha1)
+				.unLink(ball2, alpha1)
+				.linkAll(ball1, Set.of(alpha2))
+				.transferLinks(ball2, new NormalBall(new Point(0, 0), 500, new Vector(0, 0)))
+				.commit();
+		assertEquals(Set.of(alpha1, alpha2), ball1.getAlphas());
+		assertTrue(ball2.getAlphas().isEmpty());
+		assertEquals(Set.of(alpha1), ball3.getAlphas());
+		assertEquals(2, alpha1.getBallCount());
+		assertEquals(2, alpha2.getBallCount());
+		for (Ball ball: new Ball[] {ball1, ball2, ball3}) {
+			int eCharge = ball.getEcharge();
+			assertEquals(ball.calculateAndSetEcharge(), eCharge);
+		}
+		assertEquals(2, ball1.getEcharge());
+		assertEquals(1, ball2.getEcharge());
+		assertEquals(-2, ball3.getEcharge());
+	}
+	
+	@Test
+	void testClonesShareLinks() {
+		ball1.linkTo(alpha1);
+		ball2.linkTo(alpha1);
+		Alpha alphaClone = alpha1.clone();
+		assertEquals(Set.of(ball1, ball2), alphaClone.getBalls());
+		Ball ballClone = ball1.clone();
+		assertEquals(Set.of(alpha1, alphaClone), ballClone.getAlphas());
+		assertEquals(3, ballClone.getEcharge());
+		assertEquals(3, ball2.getEcharge());
+	}
+	
+}
@@ -0,0 +1,194 @@
+package breakout.radioactivity;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of the balls or alphas that one alpha or ball is linked to, which compares its elements by identity.
+ * The elements are kept in a small array, which is searched from start to end while the set is small, as most sets are.
+ * Once the set grows beyond {@code INLINE_CAPACITY} elements, an open-addressing table on the identity hash codes of the elements 
+ * keeps finding an element constant in time.
+ * Removing an element moves the last element into its place, so the elements are iterated in the order in which they were added
+ * until one is removed.
+ * 
+ * The iterator of this set does not support {@code remove}, and the set must not be changed while it is iterated.
+ * 
+ * @invar | size() >= 0
+ */
+
+final class LinkSet<T> extends AbstractSet<T> {
+	
+	/** The largest number of elements that are found by a linear search instead of the table. */
+	
+	static final int INLINE_CAPACITY = 8;
+	
+	private static final Object[] NO_ELEMENTS = {};
+	
+	/**
+	 * @invar | elements != null
+	 * @invar | 0 <= size && size <= elements.length
+	 * @invar | Arrays.stream(elements, 0, size).allMatch(e -> e != null)
+	 * @invar | Arrays.stream(elements, size, elements.length).allMatch(e -> e == null)
+	 * @invar The table holds one more than the position of every element, at or after the slot of the element's hash code
+	 * 		| table == null || table.length > 2 * size
+	 * 
+	 * @representationObject
+	 */
+	
+	private Object[] elements = NO_ELEMENTS;
+	private int size;
+	/** @representationObject */
+	private int[] table;
+	
+	@Override
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Returns the element at the given position, in the order in which the elements are iterated.
+	 * 
+	 * @pre | 0 <= position && position < size()
+	 */
+	
+	@SuppressWarnings("unchecked")
+	T get(int position) {
+		return (T) elements[position];
+	}
+	
+	@Override
+	public boolean contains(Object element) {
+		return positionOf(element) >= 0;
+	}
+	
+	@Override
+	public boolean add(T element) {
+		if (positionOf(element) >= 0)
+			return false;
+		if (size == elements.length)
+			elements = Arrays.copyOf(elements, Math.max(2, size * 2));
+		elements[size++] = element;
+		if (table != null && 2 * size < table.length)
+			table[emptySlot(element)] = size;
+		else if (size > INLINE_CAPACITY)
+			rebuildTable();
+		return true;
+	}
+	
+	@Override
+	public boolean remove(Object element) {
+		int position = positionOf(element);
+		if (position < 0)
+			return false;
+		if (table != null)
+			removeSlot(slotOf(element));
+		int last = --size;
+		if (position != last) {
+			elements[position] = elements[last];
+			// The table entry of the moved element still points to its old position
+			if (table != null)
+				table[slotOf(elements[position])] = position + 1;
+		}
+		elements[last] = null;
+		if (table != null && size <= INLINE_CAPACITY / 2)
+			table = null;
+		return true;
+	}
+	
+	@Override
+	public void clear() {
+		Arrays.fill(elements, 0, size, null);
+		size = 0;
+		table = null;
+	}
+	
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			
+			private int next;
+			
+			@Override
+			public boolean hasNext() {
+				return next < size;
+			}
+			
+			@Override
+			public T next() {
+				if (next >= size)
+					throw new NoSuchElementException();
+				return get(next++);
+			}
+			
+		};
+	}
+	
+	private int positionOf(Object element) {
+		if (table == null) {
+			for (int i = 0; i < size; i++) {
+				if (elements[i] == element)
+					return i;
+			}
+			return -1;
+		}
+		int mask = table.length - 1;
+		for (int slot = home(element, mask); table[slot] != 0; slot = (slot + 1) & mask) {
+			if (elements[table[slot] - 1] == element)
+				return table[slot] - 1;
+		}
+		return -1;
+	}
+	
+	/** Returns the slot of the table that holds the position of the given element, which is in this set. */
+	
+	private int slotOf(Object element) {
+		int mask = table.length - 1;
+		int slot = home(element, mask);
+		while (elements[table[slot] - 1] != element)
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+	
+	/** Returns the first empty slot of the table at or after the slot of the given element's hash code. */
+	
+	private int emptySlot(Object element) {
+		int mask = table.length - 1;
+		int slot = home(element, mask);
+		while (table[slot] != 0)
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+	
+	/** Empties the given slot and moves later entries of the same run back, so that every entry can still be found from the slot of its hash code. */
+	
+	private void removeSlot(int slot) {
+		int mask = table.length - 1;
+		int empty = slot;
+		table[empty] = 0;
+		for (int next = (empty + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+			int home = home(elements[table[next] - 1], mask);
+			// The entry may move to the empty slot only if that slot lies cyclically between its home slot and its current slot
+			if (((next - home) & mask) >= ((next - empty) & mask)) {
+				table[empty] = table[next];
+				table[next] = 0;
+				empty = next;
+			}
+		}
+	}
+	
+	private void rebuildTable() {
+		int length = Integer.highestOneBit(size * 4);
+		table = new int[length];
+		for (int i = 0; i < size; i++) {
+			table[emptySlot(elements[i])] = i + 1;
+		}
+	}
+	
+	private static int home(Object element, int mask) {
+		int hash = System.identityHashCode(element);
+		return (hash ^ (hash >>> 16)) * 0x9E3779B9 >>> 16 & mask;
+	}
+	
+}
@@ -0,0 +1,63 @@
+package breakout.radioactivity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class LinkSetTest {
+	
+	@Test
+	void testAddAndRemoveInOrder() {
+		LinkSet<Object> set = new LinkSet<Object>();
+		Object a = new Object();
+		Object b = new Object();
+		Object c = new Object();
+		assertTrue(set.add(a));
+		assertTrue(set.add(b));
+		assertTrue(set.add(c));
+		assertFalse(set.add(b));
+		assertEquals(List.of(a, b, c), new ArrayList<Object>(set));
+		
+		assertTrue(set.remove(a));
+		assertFalse(set.remove(a));
+		// The last element takes the place of the removed one
+		assertEquals(List.of(c, b), new ArrayList<Object>(set));
+		assertFalse(set.contains(a));
+		
+		set.clear();
+		assertTrue(set.isEmpty());
+	}
+	
+	@Test
+	void testMatchesIdentitySet() {
+		Object[] pool = new Object[200];
+		for (int i = 0; i < pool.length; i++)
+			pool[i] = new Object();
+		LinkSet<Object> set = new LinkSet<Object>();
+		Set<Object> expected = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+		Random random = new Random(20);
+		for (int step = 0; step < 20000; step++) {
+			// Alternately grow and shrink the set, so that the table is built and dropped again
+			boolean growing = step / 1000 % 2 == 0;
+			Object element = pool[random.nextInt(pool.length)];
+			if (random.nextInt(10) < (growing ? 3 : 9))
+				assertEquals(expected.remove(element), set.remove(element));
+			else
+				assertEquals(expected.add(element), set.add(element));
+			assertEquals(expected.size(), set.size());
+			if (step % 97 == 0) {
+				for (Object candidate: pool)
+					assertEquals(expected.contains(candidate), set.contains(candidate));
+			}
+		}
+		assertEquals(expected, Set.copyOf(set));
+	}
+	
+}
@@ -0,0 +1,412 @@
+package breakout.radioactivity;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import breakout.utils.Point;
+import breakout.utils.Rect;
+import breakout.utils.Vector;
+
+/**
+ * A round body that moves in a straight line on a 2D-grid and bounces off rectangles, which is what balls and alphas have in common.
+ * Its center and velocity are stored as coordinates, so moving and bouncing it does not create any objects. 
+ * {@code getCenter()} and {@code getVelocity()} only create a new point or vector after the center or velocity changed.
+ * 
+ * @invar | getCenter() != null
+ * @invar | getDiameter() >= 0
+ * @invar | getVelocity() != null
+ * @invar | getCenterX() == getCenter().getX() && getCenterY() == getCenter().getY()
+ * @invar | getVelocityX() == getVelocity().getX() && getVelocityY() == getVelocity().getY()
+ */
+
+public abstract class MovingBody {
+	
+	public static final Vector[] MIRROR_VECTORS = {new Vector(0, 1), new Vector(-1, 0), new Vector(0, -1), new Vector(1, 0)};
+	
+	/** 
+	 * The codes returned by {@code collisionSides} for each side of a rectangle. 
+	 * The code of side number {@code n} (as used by {@code raaktRechthoek}) is {@code 1 << (n - 1)}.
+	 */
+	
+	public static final int BOTTOM_SIDE = 1;
+	public static final int LEFT_SIDE = 2;
+	public static final int TOP_SIDE = 4;
+	public static final int RIGHT_SIDE = 8;
+	
+	/**
+	 * @invar | diameter >= 0
+	 * @invar | center == null || center.getX() == x && center.getY() == y
+	 * @invar | velocity == null || velocity.getX() == vx && velocity.getY() == vy
+	 */
+	
+	private int x;
+	private int y;
+	private int diameter;
+	private int vx;
+	private int vy;
+	/** The center as a point, or {@code null} if it has not been created since the center last changed. */
+	private Point center;
+	/** The velocity as a vector, or {@code null} if it has not been created since the velocity last changed. */
+	private Vector velocity;
+	
+	/**
+	 * Initializes this body with the given center, diameter and velocity
+	 * 
+	 * @pre | center != null
+	 * @pre | velocity != null
+	 * 
+	 * @post | getCenter() == center
+	 * @post | getDiameter() == Math.abs(diameter)
+	 * @post | getVelocity() == velocity
+	 */
+	
+	MovingBody(Point center, int diameter, Vector velocity) {
+		setLocation(center, Math.abs(diameter));
+		setVelocity(velocity);
+	}
+	
+	/** Returns this body's diameter */
+	
+	public int getDiameter() {
+		return diameter;
+	}
+	
+	/** Returns this body's center point */
+	
+	public Point getCenter() {
+		if (center == null)
+			center = new Point(x, y);
+		return center;
+	}
+	
+	/** Returns the x-coordinate of this body's center, without creating a point */
+	
+	public int getCenterX() {
+		return x;
+	}
+	
+	/** Returns the y-coordinate of this body's center, without creating a point */
+	
+	public int getCenterY() {
+		return y;
+	}
+	
+	/** Returns this body's velocity */
+	
+	public Vector getVelocity() {
+		if (velocity == null)
+			velocity = new Vector(vx, vy);
+		return velocity;
+	}
+	
+	/** Returns the x-component of this body's velocity, without creating a vector */
+	
+	public int getVelocityX() {
+		return vx;
+	}
+	
+	/** Returns the y-component of this body's velocity, without creating a vector */
+	
+	public int getVelocityY() {
+		return vy;
+	}
+	
+	/** 
+	 * Changes the center and diameter of this body to the given center and diameter
+	 *  
+	 *  @pre | center != null
+	 *  
+	 *  @post | getCenter() == center
+	 *  @post | getDiameter() == diameter
+	 */
+	
+	public void setLocation(Point center, int diameter) {
+		this.x = center.getX();
+		this.y = center.getY();
+		this.center = center;
+		this.diameter = diameter;
+	}
+	
+	/**
+	 * Changes the velocity of this body to the given velocity
+	 * 
+	 * @pre | velocity != null
+	 * 
+	 * @post | getVelocity() == velocity
+	 */
+	
+	public void setVelocity(Vector velocity) {
+		this.vx = velocity.getX();
+		this.vy = velocity.getY();
+		this.velocity = velocity;
+	}
+	
+	/** 
+	 * Changes this body's center according to its velocity and the given amount of milliseconds, keeping it inside of the field.
+	 * 
+	 * @pre | br != null
+	 * @pre | timeElapsed > 0
+	 * 
+	 * @mutates_properties | getCenter()
+	 * 
+	 * @post The body has moved according to its velocity and the elapsed time, keeping in mind that it can't go outside of the field.
+	 * 		| getCenter().getX() == old(getCenter()).plus(getVelocity().scaled(timeElapsed)).getX()  || 
+	 * 		| getCenter().getX() == getDiameter()/2  || 
+	 * 		| getCenter().getX() == br.getX() - getDiameter()/2 ||
+	 * 		| getCenter().getY() == getDiameter()/2  ||
+	 * 		| getCenter().getY() == br.getY() - getDiameter()/2
+	 */
+	
+	public void move(Point br, int timeElapsed) {
+		int radius = diameter/2;
+		int newX = x + vx * timeElapsed;
+		int newY = y + vy * timeElapsed;
+		if (newX - radius < 0) {
+			newX = radius;
+		}
+		if (newX + radius > br.getX()) {
+			newX = br.getX() - radius;
+		}
+		if (newY + radius > br.getY()) {
+			newY = br.getY() - radius;
+		}
+		if (newY - radius < 0) {
+			newY = radius;
+		}
+		if (newX != x || newY != y) {
+			x = newX;
+			y = newY;
+			center = null;
+		}
+	}
+	
+	/**
+	 * Mirrors this body's velocity after it bounced against a rectangle it hit on the given sides, as returned by {@code collisionSides}.
+	 * If the body hit more than one side, it bounces off the left, bottom, right or top side, in that order of preference.
+	 * 
+	 * @pre | sides != 0
+	 * 
+	 * @mutates_properties | this.getVelocity()
+	 * 
+	 * @post | (sides & LEFT_SIDE) != 0 ? getVelocity().equals(old(getVelocity()).mirrorOver(MIRROR_VECTORS[1])) :
+	 * 		 | (sides & BOTTOM_SIDE) != 0 ? getVelocity().equals(old(getVelocity()).mirrorOver(MIRROR_VECTORS[0])) :
+	 * 		 | (sides & RIGHT_SIDE) != 0 ? getVelocity().equals(old(getVelocity()).mirrorOver(MIRROR_VECTORS[3])) :
+	 * 		 | (sides & TOP_SIDE) != 0 ? getVelocity().equals(old(getVelocity()).mirrorOver(MIRROR_VECTORS[2])) :
+	 * 		 | getVelocity().equals(old(getVelocity()))
+	 */
+	
+	public void bounce(int sides) {
+		// Mirroring over a unit vector along an axis negates the velocity's component along that axis
+		if ((sides & (LEFT_SIDE | RIGHT_SIDE)) != 0 && ((sides & LEFT_SIDE) != 0 || (sides & BOTTOM_SIDE) == 0)) {
+			vx = -vx;
+			velocity = null;
+		} else if ((sides & (BOTTOM_SIDE | TOP_SIDE)) != 0) {
+			vy = -vy;
+			velocity = null;
+		}
+	}
+	
+	/**
+	 * Returns the dot product of the vector {@code n} and the vector constructed by scaling {@code velocity} with -1. 
+	 * 
+	 * @pre {@code velocity} should not be null
+	 * 		| velocity != null
+	 * @pre {@code n} should not be null
+	 * 		| n != null
+	 * 
+	 * @post The result is true if the angle between the velocity and vector v is sharp
+	 * 		| result == velocity.scaled(-1).product(n) >= 0
+	 */
+	
+	public boolean raakDotProduct(Vector velocity, Vector n) {
+		Vector v = velocity.scaled(-1);
+		return v.product(n) >= 0;
+	}
+	
+	/**
+	 * Returns true if the body has hit {@code rechthoek} on the given side, indicated by {@code sideNumber}.
+	 * 			(1 indicates the bottom side, 2 indicates the left side, 3 indicates the top side and 4 indicates the right side)
+	 * 
+	 * @pre Argument {@code sideNumber} should be 1, 2, 3 or 4
+	 * 		| sideNumber == 1 || sideNumber == 2 || sideNumber == 3 || sideNumber == 4
+	 * @pre Argument {@code rechthoek} should not be {@code null}
+	 * 		| rechthoek != null
+	 * 
+	 * @inspects | this
+	 * 
+	 * @post The result is true if the distance between the circle's center to the given side is smaller than or equal to the circle's radius, 
+	 * 		 and if the dot product of the direction of the body and the vector perpendicular to the given side of the rectangle is positive.
+	 * 		| result == ((Math.max(rechthoek.getTopLeft().getX(), Math.min(getCenter().getX(), rechthoek.getBottomRight().getX())) - getCenter().getX()) -
+	 * 		|			(Math.max(rechthoek.getTopLeft().getX(), Math.min(getCenter().getX(), rechthoek.getBottomRight().getX())) - getCenter().getX()) + 
+	 * 		|		(Math.max(rechthoek.getTopLeft().getY(), Math.min(getCenter().getY(), rechthoek.getBottomRight().getY())) - getCenter().getY()) * 
+	 * 		|			(Math.max(rechthoek.getTopLeft().getY(), Math.min(getCenter().getY(), rechthoek.getBottomRight().getY())) - getCenter().getY())) 
+	 * 		|	<= getDiameter()/2 * getDiameter()/2 &&
+	 * 		| 		Arrays.stream(MIRROR_VECTORS).anyMatch(v -> raakDotProduct(getVelocity(), v)) ||
+	 * 		| result == false
+	 * 
+	 */
+	
+	public boolean raaktRechthoek(Rect rechthoek, int sideNumber) {
+		return raaktZijde(sideNumber, x, y, diameter, vx, vy, 
+				rechthoek.getTopLeft().getX(), rechthoek.getTopLeft().getY(), rechthoek.getBottomRight().getX(), rechthoek.getBottomRight().getY());
+	}
+	
+	/**
+	 * Returns the sides of {@code rechthoek} this body has hit, as a combination of {@code BOTTOM_SIDE}, {@code LEFT_SIDE}, {@code TOP_SIDE} and {@code RIGHT_SIDE}.
+	 * 
+	 * @pre Argument {@code rechthoek} should not be {@code null}
+	 * 		| rechthoek != null
+	 * 
+	 * @inspects | this
+	 * 
+	 * @post | result == collisionSides(getCenter().getX(), getCenter().getY(), getDiameter(), getVelocity().getX(), getVelocity().getY(), 
+	 * 		 |		rechthoek.getTopLeft().getX(), rechthoek.getTopLeft().getY(), rechthoek.getBottomRight().getX(), rechthoek.getBottomRight().getY())
+	 */
+	
+	public int collisionSides(Rect rechthoek) {
+		return collisionSides(x, y, diameter, vx, vy, 
+				rechthoek.getTopLeft().getX(), rechthoek.getTopLeft().getY(), rechthoek.getBottomRight().getX(), rechthoek.getBottomRight().getY());
+	}
+	
+	/**
+	 * Returns the sides of the rectangle with the given coordinates that a ball with the given center, diameter and velocity hits, 
+	 * as a combination of {@code BOTTOM_SIDE}, {@code LEFT_SIDE}, {@code TOP_SIDE} and {@code RIGHT_SIDE}, or {@code 0} if it hits none of them.
+	 * A side is hit under the same conditions as in {@code raaktRechthoek}, but this method does not create any objects.
+	 * 
+	 * @pre The rectangle has a positive width and height
+	 * 		| right > left && bottom > top
+	 * 
+	 * @post The result contains the code of every side that is hit, and nothing else
+	 * 		| IntStream.rangeClosed(1, 4).allMatch(n -> 
+	 * 		|	((result & (1 << (n - 1))) != 0) == raaktZijde(n, centerX, centerY, diameter, velocityX, velocityY, left, top, right, bottom)) &&
+	 * 		| (result & ~(BOTTOM_SIDE | LEFT_SIDE | TOP_SIDE | RIGHT_SIDE)) == 0
+	 */
+	
+	public static int collisionSides(int centerX, int centerY, int diameter, int velocityX, int velocityY, int left, int top, int right, int bottom) {
+		int sides = 0;
+		if (raaktZijde(1, centerX, centerY, diameter, velocityX, velocityY, left, top, right, bottom))
+			sides |= BOTTOM_SIDE;
+		if (raaktZijde(2, centerX, centerY, diameter, velocityX, velocityY, left, top, right, bottom))
+			sides |= LEFT_SIDE;
+		if (raaktZijde(3, centerX, centerY, diameter, velocityX, velocityY, left, top, right, bottom))
+			sides |= TOP_SIDE;
+		if (raaktZijde(4, centerX, centerY, diameter, velocityX, velocityY, left, top, right, bottom))
+			sides |= RIGHT_SIDE;
+		return sides;
+	}
+	
+	/**
+	 * Returns the first whole number of milliseconds, from {@code 1} up to and including {@code maxTime}, after which a ball with the given center, 
+	 * diameter and velocity hits the rectangle with the given coordinates when it moves in a straight line, or {@code -1} if it does not hit it in that time.
+	 * This is the ceiling of the time of impact of the swept ball, so a fast ball can not pass through a thin rectangle unnoticed.
+	 * Only the times at which the body's bounding box overlaps the rectangle are checked, so this method does not create any objects.
+	 * 
+	 * @pre The rectangle has a positive width and height
+	 * 		| right > left && bottom > top
+	 * @pre | maxTime >= 0
+	 * 
+	 * @post The result is the first time at which the body hits the rectangle, or -1 if there is none
+	 * 		| result == IntStream.rangeClosed(1, maxTime).filter(t -> collisionSides(centerX + velocityX * t, centerY + velocityY * t, 
+	 * 		|	diameter, velocityX, velocityY, left, top, right, bottom) != 0).findFirst().orElse(-1)
+	 */
+	
+	public static int timeOfImpact(int centerX, int centerY, int diameter, int velocityX, int velocityY, int left, int top, int right, int bottom, int maxTime) {
+		int radius = diameter/2;
+		// A side can only be hit while the center lies inside the rectangle grown by the radius
+		int from = Math.max(1, Math.max(slabEntry(centerX, velocityX, left - radius, right + radius), slabEntry(centerY, velocityY, top - radius, bottom + radius)));
+		int to = Math.min(maxTime, Math.min(slabExit(centerX, velocityX, left - radius, right + radius), slabExit(centerY, velocityY, top - radius, bottom + radius)));
+		for (int t = from; t <= to; t++) {
+			if (collisionSides(centerX + velocityX * t, centerY + velocityY * t, diameter, velocityX, velocityY, left, top, right, bottom) != 0)
+				return t;
+		}
+		return -1;
+	}
+	
+	/** Returns the first whole time at which {@code position + velocity * t} lies between {@code min} and {@code max}, or {@code Integer.MAX_VALUE} if there is none. */
+	
+	private static int slabEntry(int position, int velocity, int min, int max) {
+		if (velocity == 0)
+			return position < min || position > max ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+		long entry = velocity > 0 ? ceilDiv(min - (long) position, velocity) : ceilDiv(max - (long) position, velocity);
+		return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, entry));
+	}
+	
+	/** Returns the last whole time at which {@code position + velocity * t} lies between {@code min} and {@code max}, or {@code Integer.MIN_VALUE} if there is none. */
+	
+	private static int slabExit(int position, int velocity, int min, int max) {
+		if (velocity == 0)
+			return position < min || position > max ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+		long exit = velocity > 0 ? Math.floorDiv(max - (long) position, velocity) : Math.floorDiv(min - (long) position, velocity);
+		return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, exit));
+	}
+	
+	private static long ceilDiv(long dividend, long divisor) {
+		return -Math.floorDiv(-dividend, divisor);
+	}
+	
+	/**
+	 * Returns true if a ball with the given center, diameter and velocity has hit the rectangle with the given coordinates on the given side, 
+	 * 			indicated by {@code sideNumber} like in {@code raaktRechthoek}.
+	 * 
+	 * @pre Argument {@code sideNumber} should be 1, 2, 3 or 4
+	 * 		| sideNumber == 1 || sideNumber == 2 || sideNumber == 3 || sideNumber == 4
+	 */
+	
+	private static boolean raaktZijde(int sideNumber, int centerX, int centerY, int diameter, int velocityX, int velocityY, int left, int top, int right, int bottom) {
+		int radius = diameter/2;
+		// bottomSide
+		if (sideNumber == 1) {
+			if (centerX + radius >= left && centerX - radius <= right && centerY >= bottom && centerY - radius <= bottom) {
+				if (diameter/2 * diameter/2 >= distanceTo2Points(centerX, centerY, left, bottom, right, bottom)) {
+					return -velocityY >= 0;
+				}
+			}
+		}
+		// leftSide
+		if (sideNumber == 2) {
+			if (centerX <= left && centerX + radius >= left && centerY - radius <= bottom && centerY + radius >= top) {
+				if (diameter/2 * diameter/2 >= distanceTo2Points(centerX, centerY, left, top, left, bottom)) {
+					return velocityX >= 0;
+				}
+			}
+		}
+		//topSide
+		if (sideNumber == 3) {
+			if (centerX + radius >= left && centerX - radius <= right && centerY <= top && centerY + radius >= top) {
+				if (diameter/2 * diameter/2 >= distanceTo2Points(centerX, centerY, left, top, right, top)) {
+					return velocityY >= 0;
+				}
+			}
+		}
+		//rightSide
+		if (sideNumber == 4) {
+			if (centerY + radius >= top && centerY - radius <= bottom && centerX >= right && centerX - radius <= right) {
+				if (diameter/2 * diameter/2 >= distanceTo2Points(centerX, centerY, right, top, right, bottom)) {
+					return -velocityX >= 0;
+				}
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns the distance of the point {@code (x0, y0)} to a line constructed by the points {@code (x1, y1)} and {@code (x2, y2)} to the power of 2.
+	 * 
+	 * @pre The two points that construct the line must have either a different x-coordinate, a different y-coordinate or both.
+	 * 		| x1 != x2 || y1 != y2
+	 * 
+	 * @post The result is the distance between the given point and the line constructed by the 2 other given points.
+	 * 		| result == 
+	 * 		|	((x2 - x1) * (y1 - y0) - (x1 - x0) * (y2 - y1)) * ((x2 - x1) * (y1 - y0) - (x1 - x0) * (y2 - y1)) / 
+	 * 		|	((x2 - x1) * (x2 - x1) + (y2 - y1) * (y2 - y1))
+	 */
+	
+	private static int distanceTo2Points(int x0, int y0, int x1, int y1, int x2, int y2) {
+		int bovenEquation = (x2 - x1)*(y1 - y0) - (x1 - x0)*(y2 - y1);
+		int onderEquation = (x2 - x1)*(x2 - x1) + (y2 - y1)*(y2 - y1);
+		int equation = (bovenEquation)*(bovenEquation) / (onderEquation);
+		
+		return equation;
+	}
+	
+}
@@ -107,9 +107,7 @@ public class NormalBall extends Ball{
 	
 	public Ball clone() {
 		Ball retBall = new NormalBall(getCenter(), getDiameter(), getVelocity());
-		for (Alpha alpha: getAlphas()) {
-			retBall.linkTo(alpha);
-		}
+		new LinkBatch().linkAll(retBall, getAlphasView()).commit();
 		return retBall;
 	}
 	
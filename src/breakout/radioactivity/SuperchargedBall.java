@@ -5,7 +5,6 @@ import java.util.Arrays;
 import java.util.stream.IntStream;
 
 import breakout.utils.Point;
-import breakout.utils.Rect;
 import breakout.utils.Vector;
 
 /**
@@ -56,16 +55,11 @@ public class SuperchargedBall extends Ball {
 	}
 	
 	/**
-	 * Changes this supercharged ball's velocity after it bounced against a non-destroyable block that is presented as {@code rect}.
+	 * Changes this supercharged ball's velocity after it bounced against a non-destroyable block it hit on the given {@code sides}.
 	 * If the block is destroyable, the ball's velocity remains unchanged.
 	 * 
-	 * @pre {@code rect} is not {@code null}
-	 * 		| rect != null
 	 * @pre This ball hit the block on one of its sides
-	 * 		| raaktRechthoek(rect, 1) || 
-	 * 		| raaktRechthoek(rect, 2) || 
-	 * 		| raaktRechthoek(rect, 3) || 
-	 * 		| raaktRechthoek(rect, 4)
+	 * 		| sides != 0
 	 * 
 	 * @mutates_properties | this.getVelocity()
 	 * 
@@ -78,9 +72,9 @@ public class SuperchargedBall extends Ball {
 	
 	@Override
 	
-	public void hitBlock(Rect rect, boolean destroyed) {
+	public void hitBlock(int sides, boolean destroyed) {
 		if (destroyed == false) 
-			super.hitBlock(rect, destroyed);
+			super.hitBlock(sides, destroyed);
 		else return;
 	}
 	
@@ -131,10 +125,7 @@ public class SuperchargedBall extends Ball {
 	public Ball superchargedTimeHandler(int elapsedTime, int maxTime) {
 		if (time + elapsedTime >= maxTime) {
 			Ball retBall = new NormalBall(getCenter(), getDiameter(), getVelocity());
-			for (Alpha alpha: getAlphas()) {
-				retBall.linkTo(alpha);
-				unLink(alpha);
-			}
+			transferLinksTo(retBall);
 			return retBall;
 		}
 		time += elapsedTime;
@@ -204,9 +195,7 @@ public class SuperchargedBall extends Ball {
 	
 	public Ball clone() {
 		Ball retBall = new SuperchargedBall(getCenter(), getDiameter(), getVelocity(), time);
-		for (Alpha alpha: getAlphas()) {
-			retBall.linkTo(alpha);
-		}
+		new LinkBatch().linkAll(retBall, getAlphasView()).commit();
 		return retBall;
 	}
 	
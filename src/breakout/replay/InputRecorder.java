@@ -0,0 +1,74 @@
+package breakout.replay;
+
+import java.util.Arrays;
+
+/**
+ * Records the inputs of a game while it is being played, to make an {@code InputRecording} of it.
+ * The methods of a recorder are synchronized, so that a recording can be taken from another thread than the one playing the game.
+ * 
+ * @invar | getTickCount() >= 0
+ */
+
+public class InputRecorder {
+	
+	private final String description;
+	/** @representationObject */
+	private int[] paddleDirs = new int[1024];
+	/** @representationObject */
+	private int[] elapsedTimes = new int[1024];
+	private int tickCount;
+	
+	/**
+	 * Initializes this recorder for a game that starts from the map with the given description.
+	 * 
+	 * @pre | description != null
+	 * 
+	 * @post | getTickCount() == 0
+	 */
+	
+	public InputRecorder(String description) {
+		this.description = description;
+	}
+	
+	/**
+	 * Records a tick in which the paddle was moved in the given direction and the game was advanced by the given elapsed time.
+	 * 
+	 * @throws IllegalArgumentException if the paddle direction is not -1, 0 or 1, or the elapsed time is negative
+	 * 		| paddleDir < -1 || paddleDir > 1 || elapsedTime < 0
+	 * 
+	 * @mutates | this
+	 * 
+	 * @post | getTickCount() == old(getTickCount()) + 1
+	 */
+	
+	public synchronized void record(int paddleDir, int elapsedTime) {
+		if (paddleDir < -1 || paddleDir > 1 || elapsedTime < 0)
+			throw new IllegalArgumentException("Invalid paddle direction or elapsed time");
+		if (tickCount == paddleDirs.length) {
+			paddleDirs = Arrays.copyOf(paddleDirs, tickCount * 2);
+			elapsedTimes = Arrays.copyOf(elapsedTimes, tickCount * 2);
+		}
+		paddleDirs[tickCount] = paddleDir;
+		elapsedTimes[tickCount] = elapsedTime;
+		tickCount++;
+	}
+	
+	/** Returns the number of ticks recorded so far. */
+	
+	public synchronized int getTickCount() {
+		return tickCount;
+	}
+	
+	/**
+	 * Returns a recording of the ticks recorded so far.
+	 * 
+	 * @creates | result
+	 * 
+	 * @post | result.getTickCount() == getTickCount()
+	 */
+	
+	public synchronized InputRecording toRecording() {
+		return new InputRecording(description, Arrays.copyOf(paddleDirs, tickCount), Arrays.copyOf(elapsedTimes, tickCount));
+	}
+	
+}
@@ -0,0 +1,187 @@
+package breakout.replay;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A recording of a game: the description of the map it started from and, for every tick, 
+ * the direction the paddle was moved in and the elapsed time the game was advanced by.
+ * Replaying these inputs from the map gives the same game again, because ticking a {@code BreakoutState} is deterministic.
+ * 
+ * In the binary format, written by {@code write} and read by {@code read}, a tick usually takes a single byte:
+ * the paddle direction plus one in the two high bits and the elapsed time in the six low bits. 
+ * An elapsed time that is zero or does not fit in six bits is stored as a zero in the low bits, followed by the full time as an int.
+ * 
+ * @immutable
+ * 
+ * @invar | getDescription() != null
+ * @invar | getTickCount() >= 0
+ * @invar | IntStream.range(0, getTickCount()).allMatch(i -> getPaddleDir(i) >= -1 && getPaddleDir(i) <= 1)
+ * @invar | IntStream.range(0, getTickCount()).allMatch(i -> getElapsedTime(i) >= 0)
+ */
+
+public class InputRecording {
+	
+	/** The first four bytes of every recording: {@code BRKR} in ASCII. */
+	
+	public static final int MAGIC = 0x42524B52;
+	
+	/** The version of the binary format written by {@code write}. */
+	
+	public static final int VERSION = 1;
+	
+	private static final int SHORT_TIME_LIMIT = 1 << 6;
+	
+	private final String description;
+	/** @representationObject */
+	private final byte[] paddleDirs;
+	/** @representationObject */
+	private final int[] elapsedTimes;
+	
+	/**
+	 * Initializes this recording with the given map description and the given inputs, one per tick.
+	 * 
+	 * @throws IllegalArgumentException if an argument is {@code null}, the arrays have different lengths, 
+	 * 		a paddle direction is not -1, 0 or 1, or an elapsed time is negative
+	 * 		| description == null || paddleDirs == null || elapsedTimes == null || paddleDirs.length != elapsedTimes.length ||
+	 * 		| IntStream.range(0, paddleDirs.length).anyMatch(i -> paddleDirs[i] < -1 || paddleDirs[i] > 1 || elapsedTimes[i] < 0)
+	 * 
+	 * @inspects | paddleDirs, elapsedTimes
+	 * 
+	 * @post | getDescription().equals(description)
+	 * @post | getTickCount() == paddleDirs.length
+	 * @post | IntStream.range(0, getTickCount()).allMatch(i -> getPaddleDir(i) == paddleDirs[i] && getElapsedTime(i) == elapsedTimes[i])
+	 */
+	
+	public InputRecording(String description, int[] paddleDirs, int[] elapsedTimes) {
+		if (description == null || paddleDirs == null || elapsedTimes == null)
+			throw new IllegalArgumentException("The arguments of a recording can't be null");
+		if (paddleDirs.length != elapsedTimes.length)
+			throw new IllegalArgumentException("A recording needs a paddle direction and an elapsed time for every tick");
+		this.description = description;
+		this.paddleDirs = new byte[paddleDirs.length];
+		this.elapsedTimes = elapsedTimes.clone();
+		for (int i = 0; i < paddleDirs.length; i++) {
+			if (paddleDirs[i] < -1 || paddleDirs[i] > 1 || elapsedTimes[i] < 0)
+				throw new IllegalArgumentException("Tick " + i + " has an invalid paddle direction or elapsed time");
+			this.paddleDirs[i] = (byte) paddleDirs[i];
+		}
+	}
+	
+	/** Returns the description of the map the recorded game started from. */
+	
+	public String getDescription() {
+		return description;
+	}
+	
+	/** Returns the number of recorded ticks. */
+	
+	public int getTickCount() {
+		return paddleDirs.length;
+	}
+	
+	/** 
+	 * Returns the direction the paddle was moved in during the given tick. 
+	 * 
+	 * @pre | 0 <= tick && tick < getTickCount()
+	 */
+	
+	public int getPaddleDir(int tick) {
+		return paddleDirs[tick];
+	}
+	
+	/** 
+	 * Returns the time in milliseconds the game was advanced by during the given tick. 
+	 * 
+	 * @pre | 0 <= tick && tick < getTickCount()
+	 */
+	
+	public int getElapsedTime(int tick) {
+		return elapsedTimes[tick];
+	}
+	
+	/**
+	 * Returns the recording of the first {@code tickCount} ticks of this recording.
+	 * 
+	 * @pre | 0 <= tickCount && tickCount <= getTickCount()
+	 * 
+	 * @post | result.getDescription().equals(getDescription())
+	 * @post | result.getTickCount() == tickCount
+	 */
+	
+	public InputRecording prefix(int tickCount) {
+		int[] dirs = new int[tickCount];
+		for (int i = 0; i < tickCount; i++)
+			dirs[i] = paddleDirs[i];
+		return new InputRecording(description, dirs, Arrays.copyOf(elapsedTimes, tickCount));
+	}
+	
+	/**
+	 * Writes this recording to the given stream in the binary format.
+	 * 
+	 * @pre | out != null
+	 * 
+	 * @throws IOException if writing to the stream fails
+	 */
+	
+	public void write(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeByte(VERSION);
+		data.writeUTF(description);
+		data.writeInt(paddleDirs.length);
+		for (int i = 0; i < paddleDirs.length; i++) {
+			int dirBits = (paddleDirs[i] + 1) << 6;
+			if (0 < elapsedTimes[i] && elapsedTimes[i] < SHORT_TIME_LIMIT) {
+				data.writeByte(dirBits | elapsedTimes[i]);
+			} else {
+				data.writeByte(dirBits);
+				data.writeInt(elapsedTimes[i]);
+			}
+		}
+		data.flush();
+	}
+	
+	/**
+	 * Reads a recording in the binary format from the given stream.
+	 * 
+	 * @pre | in != null
+	 * 
+	 * @throws IOException if reading from the stream fails, or the stream does not hold a recording of a version this class can read
+	 * 
+	 * @post | result != null
+	 */
+	
+	public static InputRecording read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		if (data.readInt() != MAGIC)
+			throw new IOException("The stream does not hold an input recording");
+		int version = data.readUnsignedByte();
+		if (version != VERSION)
+			throw new IOException("Unsupported input recording version " + version);
+		String description = data.readUTF();
+		int tickCount = data.readInt();
+		if (tickCount < 0)
+			throw new IOException("Invalid tick count " + tickCount);
+		int[] dirs = new int[tickCount];
+		int[] times = new int[tickCount];
+		for (int i = 0; i < tickCount; i++) {
+			int code = data.readUnsignedByte();
+			dirs[i] = (code >>> 6) - 1;
+			times[i] = code & (SHORT_TIME_LIMIT - 1);
+			if (times[i] == 0)
+				times[i] = data.readInt();
+		}
+		try {
+			return new InputRecording(description, dirs, times);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid input recording", e);
+		}
+	}
+	
+}
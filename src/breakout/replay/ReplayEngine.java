@@ -0,0 +1,135 @@
+package breakout.replay;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import breakout.BreakoutState;
+import breakout.GameMap;
+import breakout.simulation.SimulationResult;
+import breakout.simulation.SimulationRunner;
+import breakout.snapshot.SnapshotCodec;
+
+/**
+ * Re-simulates an {@code InputRecording} without a user interface, as fast as the processor allows.
+ * To seek to a tick, the engine can keep a snapshot of the state every {@code getCheckpointInterval()} ticks, 
+ * so that it only has to re-simulate the ticks after the closest earlier checkpoint. 
+ * Snapshots are encoded by {@code SnapshotCodec}, which keeps checkpoints of long replays compact.
+ * Checkpoints are taken the first time the ticks they belong to are simulated.
+ * 
+ * @invar | getRecording() != null
+ * @invar | getCheckpointInterval() >= 0
+ */
+
+public class ReplayEngine {
+	
+	private final InputRecording recording;
+	private final int checkpointInterval;
+	
+	/** 
+	 * A snapshot of the state after {@code i * checkpointInterval} ticks, for every {@code i} up to the furthest tick simulated so far.
+	 * 
+	 * @representationObject 
+	 */
+	private final List<ByteBuffer> checkpoints = new ArrayList<>();
+	
+	/**
+	 * Initializes this engine for the given recording, without checkpoints.
+	 * 
+	 * @pre | recording != null
+	 * 
+	 * @post | getRecording() == recording
+	 * @post | getCheckpointInterval() == 0
+	 */
+	
+	public ReplayEngine(InputRecording recording) {
+		this(recording, 0);
+	}
+	
+	/**
+	 * Initializes this engine for the given recording, keeping a checkpoint every {@code checkpointInterval} ticks, 
+	 * or no checkpoints if {@code checkpointInterval} is zero.
+	 * 
+	 * @pre | recording != null
+	 * @throws IllegalArgumentException if the checkpoint interval is negative
+	 * 		| checkpointInterval < 0
+	 * 
+	 * @post | getRecording() == recording
+	 * @post | getCheckpointInterval() == checkpointInterval
+	 */
+	
+	public ReplayEngine(InputRecording recording, int checkpointInterval) {
+		if (checkpointInterval < 0)
+			throw new IllegalArgumentException("The checkpoint interval must not be negative");
+		this.recording = recording;
+		this.checkpointInterval = checkpointInterval;
+	}
+	
+	/** Returns the recording this engine replays. */
+	
+	public InputRecording getRecording() {
+		return recording;
+	}
+	
+	/** Returns the number of ticks between two checkpoints, or zero if this engine keeps no checkpoints. */
+	
+	public int getCheckpointInterval() {
+		return checkpointInterval;
+	}
+	
+	/**
+	 * Replays the whole recording and returns the result, with the state the game ended in.
+	 * The replay stops early if the game is won or lost before the recording ends.
+	 * 
+	 * @post | result != null
+	 * @post | result.getTicks() <= getRecording().getTickCount()
+	 */
+	
+	public SimulationResult replay() {
+		long start = System.nanoTime();
+		BreakoutState state = GameMap.createStateFromDescription(recording.getDescription());
+		long simulatedTime = 0;
+		int tick = 0;
+		for (; tick < recording.getTickCount() && !state.isDead() && !state.isWon(); tick++) {
+			simulatedTime += recording.getElapsedTime(tick);
+			SimulationRunner.step(state, recording.getPaddleDir(tick), recording.getElapsedTime(tick));
+		}
+		long elapsedNanos = System.nanoTime() - start;
+		return new SimulationResult(SimulationRunner.outcomeOf(state), state, tick, simulatedTime, elapsedNanos);
+	}
+	
+	/**
+	 * Returns a new state that is the state of the recorded game after the given number of ticks.
+	 * Ticks after the game was won or lost are still simulated, like they were in the recorded game.
+	 * 
+	 * @pre | 0 <= tick && tick <= getRecording().getTickCount()
+	 * 
+	 * @mutates | this
+	 * 
+	 * @creates | result
+	 * 
+	 * @post | result != null
+	 */
+	
+	public BreakoutState stateAt(int tick) {
+		BreakoutState state;
+		int from;
+		if (checkpointInterval == 0) {
+			state = GameMap.createStateFromDescription(recording.getDescription());
+			from = 0;
+		} else {
+			if (checkpoints.isEmpty())
+				checkpoints.add(SnapshotCodec.encode(GameMap.createStateFromDescription(recording.getDescription())));
+			int index = Math.min(tick / checkpointInterval, checkpoints.size() - 1);
+			state = SnapshotCodec.decodeTrusted(checkpoints.get(index).duplicate());
+			from = index * checkpointInterval;
+		}
+		for (int i = from; i < tick; i++) {
+			SimulationRunner.step(state, recording.getPaddleDir(i), recording.getElapsedTime(i));
+			if (checkpointInterval != 0 && (i + 1) % checkpointInterval == 0 && (i + 1) / checkpointInterval == checkpoints.size())
+				checkpoints.add(SnapshotCodec.encode(state));
+		}
+		return state;
+	}
+	
+}
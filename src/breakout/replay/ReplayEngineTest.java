@@ -0,0 +1,113 @@
+package breakout.replay;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import breakout.BreakoutState;
+import breakout.GameMap;
+import breakout.radioactivity.Ball;
+import breakout.simulation.SimulationResult;
+import breakout.simulation.SimulationRunner;
+
+class ReplayEngineTest {
+	
+	private static final String MAP = """
+##########
+###!######
+#R######R#
+SSS!###!#S
+     o
+
+     =
+
+""";
+	
+	/** Plays the map like a player would, following the lowest ball with varying frame times, and records it. */
+	
+	private static InputRecording play(int ticks) {
+		InputRecorder recorder = new InputRecorder(MAP);
+		BreakoutState state = GameMap.createStateFromDescription(MAP);
+		for (int tick = 0; tick < ticks && !state.isDead() && !state.isWon(); tick++) {
+			int elapsedTime = 15 + tick * 7 % 20;
+			Ball[] balls = state.getBalls();
+			Ball lowest = balls[0];
+			for (Ball ball: balls) {
+				if (ball.getCenter().getY() > lowest.getCenter().getY())
+					lowest = ball;
+			}
+			int paddleDir = Integer.signum(lowest.getCenter().getX() - state.getPaddle().getCenter().getX());
+			recorder.record(paddleDir, elapsedTime);
+			SimulationRunner.step(state, paddleDir, elapsedTime);
+		}
+		return recorder.toRecording();
+	}
+	
+	private static void assertSameState(BreakoutState expected, BreakoutState actual) {
+		Ball[] expectedBalls = expected.getBalls();
+		Ball[] actualBalls = actual.getBalls();
+		assertEquals(expectedBalls.length, actualBalls.length);
+		for (int i = 0; i < expectedBalls.length; i++)
+			assertTrue(expectedBalls[i].equalContent(actualBalls[i]));
+		assertEquals(expected.getAlphas().length, actual.getAlphas().length);
+		assertTrue(Arrays.equals(expected.getBlocks(), actual.getBlocks()));
+		assertEquals(expected.getPaddle(), actual.getPaddle());
+	}
+	
+	@Test
+	void testBinaryFormat() throws IOException {
+		InputRecording recording = new InputRecording("o\n=\n", new int[] {-1, 0, 1, 1}, new int[] {20, 0, 63, 1000});
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		recording.write(out);
+		// Header, description, tick count, two one-byte ticks and two ticks with a full elapsed time
+		assertEquals(4 + 1 + 2 + 4 + 4 + 1 + 5 + 1 + 5, out.size());
+		
+		InputRecording read = InputRecording.read(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(recording.getDescription(), read.getDescription());
+		assertEquals(4, read.getTickCount());
+		for (int i = 0; i < 4; i++) {
+			assertEquals(recording.getPaddleDir(i), read.getPaddleDir(i));
+			assertEquals(recording.getElapsedTime(i), read.getElapsedTime(i));
+		}
+		
+		byte[] corrupt = out.toByteArray();
+		corrupt[0] = 0;
+		assertThrows(IOException.class, () -> InputRecording.read(new ByteArrayInputStream(corrupt)));
+	}
+	
+	@Test
+	void testReplayReproducesGame() {
+		InputRecording recording = play(1500);
+		BreakoutState expected = GameMap.createStateFromDescription(MAP);
+		for (int tick = 0; tick < recording.getTickCount(); tick++)
+			SimulationRunner.step(expected, recording.getPaddleDir(tick), recording.getElapsedTime(tick));
+		
+		SimulationResult result = new ReplayEngine(recording).replay();
+		assertEquals(recording.getTickCount(), result.getTicks());
+		assertSameState(expected, result.getState());
+	}
+	
+	@Test
+	void testSeekWithCheckpoints() {
+		InputRecording recording = play(800);
+		ReplayEngine withoutCheckpoints = new ReplayEngine(recording);
+		ReplayEngine withCheckpoints = new ReplayEngine(recording, 100);
+		
+		// Seeking forward, backward and forward again must give the same states as replaying from the start
+		for (int tick: new int[] {350, 120, 0, 799, 400}) {
+			if (tick > recording.getTickCount())
+				continue;
+			assertSameState(withoutCheckpoints.stateAt(tick), withCheckpoints.stateAt(tick));
+		}
+		// A returned state is a copy, so changing it does not change later seeks
+		BreakoutState state = withCheckpoints.stateAt(300);
+		SimulationRunner.step(state, 1, 20);
+		assertSameState(withoutCheckpoints.stateAt(300), withCheckpoints.stateAt(300));
+	}
+	
+}
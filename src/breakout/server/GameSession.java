@@ -0,0 +1,155 @@
+package breakout.server;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import breakout.BreakoutState;
+import breakout.simulation.SimulationRunner;
+
+/**
+ * One game hosted by a {@code SessionServer}. The session owns its {@code BreakoutState}: only the server ticks it,
+ * one slice at a time, so the state is never touched by two threads at once and needs no synchronization.
+ *
+ * A client steers the paddle by sending paddle directions to the mailbox of the session with {@code offer}, from any thread.
+ * A direction holds until the next one, like a key that is held down. The mailbox is bounded: when it is full,
+ * {@code offer} refuses the direction instead of waiting, so a client that sends faster than the game ticks can not make the server fall behind.
+ * Before every tick, the session takes all directions in its mailbox and steers with the last one.
+ *
+ * To follow the game, a client sets a {@code GameEventRing} or {@code TickMetrics} on the state before opening the session;
+ * the thread that ticks the session is then their producer.
+ *
+ * @invar | getId() >= 0
+ * @invar | getState() != null
+ * @invar | getMailboxCapacity() > 0
+ * @invar | getTicks() >= 0
+ */
+
+public class GameSession {
+
+	private final long id;
+	/** @peerObject */
+	private final BreakoutState state;
+	/** @representationObject */
+	private final ArrayBlockingQueue<Integer> mailbox;
+	private final int mailboxCapacity;
+	/** The direction of the last input, which only the ticking thread uses. */
+	private int paddleDir;
+	private volatile long ticks;
+	private final AtomicLong rejectedInputs = new AtomicLong();
+	private volatile boolean closed;
+	private volatile boolean finished;
+	private volatile RuntimeException failure;
+	
+	GameSession(long id, BreakoutState state, int mailboxCapacity) {
+		this.id = id;
+		this.state = state;
+		this.mailboxCapacity = mailboxCapacity;
+		this.mailbox = new ArrayBlockingQueue<>(mailboxCapacity);
+	}
+	
+	/** Returns the number that identifies this session on its server. */
+	
+	public long getId() {
+		return id;
+	}
+	
+	/**
+	 * Returns the state of this game. It must not be used while the session is ticking it, which is until {@code isFinished()}
+	 * or until the server is closed.
+	 *
+	 * @peerObject
+	 */
+	
+	public BreakoutState getState() {
+		return state;
+	}
+	
+	/** Returns the number of inputs the mailbox of this session holds at most. */
+	
+	public int getMailboxCapacity() {
+		return mailboxCapacity;
+	}
+	
+	/** Returns the number of ticks this session has done. */
+	
+	public long getTicks() {
+		return ticks;
+	}
+	
+	/** Returns the number of inputs that were refused because the mailbox was full. */
+	
+	public long getRejectedInputs() {
+		return rejectedInputs.get();
+	}
+	
+	/** Returns whether this session stopped ticking, because the game was won or lost, the session was closed, or a tick failed. */
+	
+	public boolean isFinished() {
+		return finished;
+	}
+	
+	/** Returns the exception a tick of this session threw, or {@code null} if none did. */
+	
+	public RuntimeException getFailure() {
+		return failure;
+	}
+	
+	/**
+	 * Sends the given paddle direction to the mailbox of this session, and returns whether the mailbox accepted it.
+	 * It is refused if the mailbox is full or the session is finished. Can be called from any thread.
+	 *
+	 * @throws IllegalArgumentException if the direction is not {@code -1}, {@code 0} or {@code 1}
+	 * 		| paddleDir < -1 || paddleDir > 1
+	 *
+	 * @mutates | this
+	 */
+	
+	public boolean offer(int paddleDir) {
+		if (paddleDir < -1 || paddleDir > 1)
+			throw new IllegalArgumentException("The paddle direction must be -1, 0 or 1.");
+		if (finished)
+			return false;
+		if (!mailbox.offer(paddleDir)) {
+			rejectedInputs.incrementAndGet();
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Stops this session. It does not tick anymore after the slice it may be in, and its server drops it in its next round.
+	 * Can be called from any thread.
+	 *
+	 * @mutates | this
+	 */
+	
+	public void close() {
+		closed = true;
+	}
+	
+	/**
+	 * Ticks this session once, for the given elapsed time, with the last input in its mailbox, and returns whether it is finished afterwards.
+	 * Only one thread at a time may call this method.
+	 */
+	
+	boolean runSlice(int elapsedTime) {
+		if (!finished) {
+			try {
+				if (closed || state.isWon() || state.isDead()) {
+					finished = true;
+				} else {
+					for (Integer input = mailbox.poll(); input != null; input = mailbox.poll())
+						paddleDir = input;
+					SimulationRunner.step(state, paddleDir, elapsedTime);
+					ticks++;
+					finished = state.isWon() || state.isDead();
+				}
+			} catch (RuntimeException e) {
+				failure = e;
+				finished = true;
+			}
+		}
+		return finished;
+	}
+
+}
@@ -0,0 +1,157 @@
+package breakout.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import breakout.GameMap;
+import breakout.simulation.LevelGenerator;
+
+/**
+ * Puts load on a {@code SessionServer} from within the same virtual machine: it opens sessions, and client threads send random paddle directions
+ * to their mailboxes while the server ticks them, like players who each press a key every few ticks.
+ * Every client steers an equal share of the sessions, and sends one input to each of them in turn, then waits for the input interval.
+ *
+ * Run {@code main} with the number of sessions, the number of clients and the number of seconds to run, which default to 1000, 8 and 10.
+ *
+ * @immutable
+ *
+ * @invar | getSessions() > 0
+ * @invar | getClients() > 0
+ * @invar | getInputInterval() >= 0
+ */
+
+public class LoadGenerator {
+
+	private final int sessions;
+	private final int clients;
+	private final int inputInterval;
+	
+	/**
+	 * Initializes this generator so that it opens the given number of sessions, steered by the given number of clients
+	 * that each wait for the given number of milliseconds after sending an input to all their sessions.
+	 *
+	 * @throws IllegalArgumentException if there is not at least one session and one client, or the input interval is negative
+	 * 		| sessions <= 0 || clients <= 0 || inputInterval < 0
+	 *
+	 * @post | getSessions() == sessions
+	 * @post | getClients() == clients
+	 * @post | getInputInterval() == inputInterval
+	 */
+	
+	public LoadGenerator(int sessions, int clients, int inputInterval) {
+		if (sessions <= 0 || clients <= 0 || inputInterval < 0)
+			throw new IllegalArgumentException("There must be sessions and clients, and the input interval must not be negative.");
+		this.sessions = sessions;
+		this.clients = clients;
+		this.inputInterval = inputInterval;
+	}
+	
+	/** Returns the number of sessions this generator opens. */
+	
+	public int getSessions() {
+		return sessions;
+	}
+	
+	/** Returns the number of client threads that send inputs. */
+	
+	public int getClients() {
+		return clients;
+	}
+	
+	/** Returns the number of milliseconds a client waits after sending an input to all its sessions. */
+	
+	public int getInputInterval() {
+		return inputInterval;
+	}
+	
+	/**
+	 * Opens the sessions on the given server, each with a random level made from the given seed, starts the server and the clients,
+	 * lets them run for the given number of milliseconds, then stops the clients, closes the server and returns what was measured.
+	 *
+	 * @pre | server != null
+	 * @pre | durationMillis >= 0
+	 *
+	 * @throws IllegalStateException if the server was already started or is closed
+	 * @throws InterruptedException if the calling thread is interrupted while it waits for the clients
+	 *
+	 * @mutates | server
+	 *
+	 * @post | result != null
+	 * @post | result.getSessions() == getSessions()
+	 */
+	
+	public LoadReport run(SessionServer server, long durationMillis, long seed) throws InterruptedException {
+		List<GameSession> opened = new ArrayList<>(sessions);
+		for (int i = 0; i < sessions; i++)
+			opened.add(server.open(GameMap.createStateFromDescription(LevelGenerator.randomDescription(seed + i))));
+		
+		AtomicLong sent = new AtomicLong();
+		AtomicLong rejected = new AtomicLong();
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+		Thread[] threads = new Thread[clients];
+		for (int c = 0; c < clients; c++) {
+			int client = c;
+			threads[c] = new Thread(() -> steer(opened, client, seed, deadline, sent, rejected), "breakout-load-client-" + c);
+			threads[c].setDaemon(true);
+		}
+		server.start();
+		for (Thread thread: threads)
+			thread.start();
+		for (Thread thread: threads)
+			thread.join();
+		server.close();
+		long elapsedNanos = System.nanoTime() - start;
+		
+		int finished = 0;
+		long minTicks = Long.MAX_VALUE;
+		long maxTicks = 0;
+		for (GameSession session: opened) {
+			if (session.isFinished()) {
+				finished++;
+			} else {
+				minTicks = Math.min(minTicks, session.getTicks());
+				maxTicks = Math.max(maxTicks, session.getTicks());
+			}
+		}
+		return new LoadReport(sessions, finished, server.getRounds(), finished == sessions ? 0 : minTicks, maxTicks, sent.get(), rejected.get(),
+				elapsedNanos);
+	}
+	
+	/** Sends random inputs to the sessions of the given client until the deadline. */
+	
+	private void steer(List<GameSession> opened, int client, long seed, long deadline, AtomicLong sent, AtomicLong rejected) {
+		SplittableRandom random = new SplittableRandom(seed * 31 + client);
+		long clientSent = 0;
+		long clientRejected = 0;
+		try {
+			while (System.nanoTime() < deadline) {
+				for (int i = client; i < opened.size(); i += clients) {
+					clientSent++;
+					if (!opened.get(i).offer(random.nextInt(3) - 1))
+						clientRejected++;
+				}
+				if (inputInterval > 0)
+					Thread.sleep(inputInterval);
+			}
+		} catch (InterruptedException e) {
+			// An interrupted client stops sending
+		} finally {
+			sent.addAndGet(clientSent);
+			rejected.addAndGet(clientRejected);
+		}
+	}
+	
+	public static void main(String[] args) throws InterruptedException {
+		int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int clients = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+		SessionServer server = new SessionServer(20);
+		System.out.println("Virtual threads: " + server.isUsingVirtualThreads());
+		System.out.println(new LoadGenerator(sessions, clients, 20).run(server, seconds * 1000L, 1));
+	}
+
+}
@@ -0,0 +1,121 @@
+package breakout.server;
+
+/**
+ * What a {@code LoadGenerator} measured while its clients steered the sessions of a {@code SessionServer}.
+ *
+ * @immutable
+ *
+ * @invar | getSessions() >= 0
+ * @invar | 0 <= getFinishedSessions() && getFinishedSessions() <= getSessions()
+ * @invar | getRounds() >= 0
+ * @invar | 0 <= getMinTicks() && getMinTicks() <= getMaxTicks()
+ * @invar | getInputsSent() >= 0
+ * @invar | 0 <= getInputsRejected() && getInputsRejected() <= getInputsSent()
+ * @invar | getElapsedNanos() >= 0
+ */
+
+public class LoadReport {
+
+	private final int sessions;
+	private final int finishedSessions;
+	private final long rounds;
+	private final long minTicks;
+	private final long maxTicks;
+	private final long inputsSent;
+	private final long inputsRejected;
+	private final long elapsedNanos;
+	
+	/**
+	 * Initializes this report with the given measurements.
+	 *
+	 * @pre | sessions >= 0
+	 * @pre | 0 <= finishedSessions && finishedSessions <= sessions
+	 * @pre | rounds >= 0
+	 * @pre | 0 <= minTicks && minTicks <= maxTicks
+	 * @pre | inputsSent >= 0
+	 * @pre | 0 <= inputsRejected && inputsRejected <= inputsSent
+	 * @pre | elapsedNanos >= 0
+	 *
+	 * @post | getSessions() == sessions
+	 * @post | getFinishedSessions() == finishedSessions
+	 * @post | getRounds() == rounds
+	 * @post | getMinTicks() == minTicks
+	 * @post | getMaxTicks() == maxTicks
+	 * @post | getInputsSent() == inputsSent
+	 * @post | getInputsRejected() == inputsRejected
+	 * @post | getElapsedNanos() == elapsedNanos
+	 */
+	
+	public LoadReport(int sessions, int finishedSessions, long rounds, long minTicks, long maxTicks, long inputsSent, long inputsRejected,
+			long elapsedNanos) {
+		this.sessions = sessions;
+		this.finishedSessions = finishedSessions;
+		this.rounds = rounds;
+		this.minTicks = minTicks;
+		this.maxTicks = maxTicks;
+		this.inputsSent = inputsSent;
+		this.inputsRejected = inputsRejected;
+		this.elapsedNanos = elapsedNanos;
+	}
+	
+	/** Returns the number of sessions the clients steered. */
+	
+	public int getSessions() {
+		return sessions;
+	}
+	
+	/** Returns the number of sessions whose game ended or failed during the run. */
+	
+	public int getFinishedSessions() {
+		return finishedSessions;
+	}
+	
+	/** Returns the number of rounds the server ran. */
+	
+	public long getRounds() {
+		return rounds;
+	}
+	
+	/** Returns the smallest number of ticks of a session that did not finish, or {@code 0} if all of them finished. */
+	
+	public long getMinTicks() {
+		return minTicks;
+	}
+	
+	/** Returns the largest number of ticks of a session that did not finish, or {@code 0} if all of them finished. */
+	
+	public long getMaxTicks() {
+		return maxTicks;
+	}
+	
+	/** Returns the number of inputs the clients sent. */
+	
+	public long getInputsSent() {
+		return inputsSent;
+	}
+	
+	/** Returns the number of inputs that were refused because a mailbox was full or a session had finished. */
+	
+	public long getInputsRejected() {
+		return inputsRejected;
+	}
+	
+	/** Returns the wall-clock time the run took in nanoseconds. */
+	
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+	
+	/** Returns the number of rounds per second of wall-clock time, or {@code 0} if no time elapsed. */
+	
+	public double getRoundsPerSecond() {
+		return elapsedNanos == 0 ? 0 : rounds * 1e9 / elapsedNanos;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("%d sessions (%d finished), %d rounds (%.1f/s), %d-%d ticks per session, %d inputs (%d rejected)",
+				sessions, finishedSessions, rounds, getRoundsPerSecond(), minTicks, maxTicks, inputsSent, inputsRejected);
+	}
+
+}
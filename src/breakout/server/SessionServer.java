@@ -0,0 +1,309 @@
+package breakout.server;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import breakout.BreakoutState;
+
+/**
+ * Hosts many games in one virtual machine, each in its own {@code GameSession} that clients steer through its mailbox.
+ *
+ * The server ticks its sessions in rounds. In every round, each session gets exactly one slice, in which it ticks once for the tick length
+ * of the server, and the round ends when all slices are done. A session therefore never gets ahead of another one, however slow its ticks are,
+ * and a session is ticked by one worker at a time. When the server can not keep up with its tick length,
+ * all games slow down together instead of some of them starving. The slices of a round start in a rotating order,
+ * so the same sessions do not always finish last.
+ *
+ * Slices run on a worker executor: one virtual thread per slice if the virtual machine supports virtual threads,
+ * and otherwise a pool with a platform thread per processor. Rounds are started either by the scheduler thread of the server,
+ * every tick length, after {@code start()}, or by calling {@code runRound()} directly, for instance in tests.
+ *
+ * @invar | getTickLength() > 0
+ * @invar | getMailboxCapacity() > 0
+ * @invar | getRounds() >= 0
+ */
+
+public class SessionServer implements AutoCloseable {
+
+	/** The number of inputs the mailbox of a session holds by default. */
+	
+	public static final int DEFAULT_MAILBOX_CAPACITY = 16;
+	
+	/**
+	 * @invar | 0 < tickLength && tickLength <= BreakoutState.MAX_ELAPSED_TIME && mailboxCapacity > 0
+	 * @invar | sessions != null && openedSessions != null && workers != null
+	 */
+	
+	private final int tickLength;
+	private final int mailboxCapacity;
+	/** @representationObject */
+	private final ExecutorService workers;
+	private final boolean virtualThreads;
+	private final int parallelism;
+	/** The sessions that take part in the next round. Only the thread that runs the rounds uses this list. @representationObject */
+	private final ArrayList<GameSession> sessions = new ArrayList<>();
+	/** The sessions that were opened since the last round started. @representationObject */
+	private final ConcurrentLinkedQueue<GameSession> openedSessions = new ConcurrentLinkedQueue<>();
+	private final AtomicLong nextId = new AtomicLong();
+	private final AtomicInteger sessionCount = new AtomicInteger();
+	private volatile long rounds;
+	private int rotation;
+	private Thread scheduler;
+	private volatile boolean closed;
+	
+	/**
+	 * Initializes this server so that its sessions tick for the given number of milliseconds in every round,
+	 * with mailboxes of the default capacity, on virtual threads if possible.
+	 *
+	 * @throws IllegalArgumentException if the tick length is not positive or longer than a tick of the game can be
+	 * 		| tickLength <= 0 || tickLength > BreakoutState.MAX_ELAPSED_TIME
+	 *
+	 * @post | getTickLength() == tickLength
+	 * @post | getMailboxCapacity() == DEFAULT_MAILBOX_CAPACITY
+	 * @post | getSessionCount() == 0
+	 * @post | getRounds() == 0
+	 */
+	
+	public SessionServer(int tickLength) {
+		this(tickLength, DEFAULT_MAILBOX_CAPACITY);
+	}
+	
+	/**
+	 * Initializes this server so that its sessions tick for the given number of milliseconds in every round,
+	 * with mailboxes that hold the given number of inputs, on virtual threads if possible.
+	 *
+	 * @throws IllegalArgumentException if the tick length is not positive or longer than a tick of the game can be
+	 * 		| tickLength <= 0 || tickLength > BreakoutState.MAX_ELAPSED_TIME
+	 * @throws IllegalArgumentException if the mailbox capacity is not positive
+	 * 		| mailboxCapacity <= 0
+	 *
+	 * @post | getTickLength() == tickLength
+	 * @post | getMailboxCapacity() == mailboxCapacity
+	 * @post | getSessionCount() == 0
+	 * @post | getRounds() == 0
+	 */
+	
+	public SessionServer(int tickLength, int mailboxCapacity) {
+		if (tickLength <= 0 || tickLength > BreakoutState.MAX_ELAPSED_TIME)
+			throw new IllegalArgumentException("The tick length must be positive and at most " + BreakoutState.MAX_ELAPSED_TIME + " milliseconds.");
+		if (mailboxCapacity <= 0)
+			throw new IllegalArgumentException("The mailbox capacity must be positive.");
+		this.tickLength = tickLength;
+		this.mailboxCapacity = mailboxCapacity;
+		ExecutorService virtualWorkers = newVirtualThreadExecutor();
+		this.virtualThreads = virtualWorkers != null;
+		this.parallelism = Runtime.getRuntime().availableProcessors();
+		this.workers = virtualThreads ? virtualWorkers : Executors.newFixedThreadPool(parallelism, daemonThreads("breakout-session-worker-"));
+	}
+	
+	/**
+	 * Returns a new executor that runs every task on a new virtual thread, or {@code null} if this virtual machine has no virtual threads.
+	 * The method is looked up at run time, so that this code also runs on versions without it.
+	 */
+	
+	private static ExecutorService newVirtualThreadExecutor() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		} catch (ReflectiveOperationException | UnsupportedOperationException e) {
+			// Virtual threads do not exist, or are a preview feature that is not enabled
+			return null;
+		}
+	}
+	
+	private static ThreadFactory daemonThreads(String prefix) {
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+	
+	/** Returns the number of milliseconds every session ticks for in a round. */
+	
+	public int getTickLength() {
+		return tickLength;
+	}
+	
+	/** Returns the number of inputs the mailbox of a new session holds. */
+	
+	public int getMailboxCapacity() {
+		return mailboxCapacity;
+	}
+	
+	/** Returns whether the slices of the sessions run on virtual threads. */
+	
+	public boolean isUsingVirtualThreads() {
+		return virtualThreads;
+	}
+	
+	/** Returns the number of sessions that are open and not finished yet, as of the last round, plus those opened since. */
+	
+	public int getSessionCount() {
+		return sessionCount.get();
+	}
+	
+	/** Returns the number of rounds this server has run. */
+	
+	public long getRounds() {
+		return rounds;
+	}
+	
+	/**
+	 * Opens a session that hosts the given game from the next round on, and returns it. Can be called from any thread.
+	 * From now on, only the server may use the state, until the session is finished.
+	 *
+	 * @pre | state != null
+	 *
+	 * @throws IllegalStateException if this server is closed
+	 *
+	 * @mutates | this
+	 *
+	 * @post | result != null
+	 * @post | result.getState() == state
+	 * @post | result.getMailboxCapacity() == getMailboxCapacity()
+	 */
+	
+	public GameSession open(BreakoutState state) {
+		if (closed)
+			throw new IllegalStateException("The server is closed.");
+		GameSession session = new GameSession(nextId.getAndIncrement(), state, mailboxCapacity);
+		sessionCount.incrementAndGet();
+		openedSessions.add(session);
+		return session;
+	}
+	
+	/**
+	 * Starts the scheduler thread, which runs a round every tick length until this server is closed.
+	 * A round that takes longer than the tick length delays the next one instead of being followed by rounds that catch up.
+	 *
+	 * @throws IllegalStateException if the scheduler was already started or this server is closed
+	 *
+	 * @mutates | this
+	 */
+	
+	public synchronized void start() {
+		if (scheduler != null || closed)
+			throw new IllegalStateException("The server was already started or is closed.");
+		scheduler = daemonThreads("breakout-session-scheduler-").newThread(this::schedule);
+		scheduler.start();
+	}
+	
+	private void schedule() {
+		long period = TimeUnit.MILLISECONDS.toNanos(tickLength);
+		long next = System.nanoTime();
+		try {
+			while (!closed) {
+				runRound();
+				next = Math.max(next + period, System.nanoTime());
+				long delay = next - System.nanoTime();
+				if (delay > 0)
+					TimeUnit.NANOSECONDS.sleep(delay);
+			}
+		} catch (InterruptedException e) {
+			// An interrupted scheduler stops running rounds
+		}
+	}
+	
+	/**
+	 * Runs one round: gives every session that is not finished one slice on the workers, waits until all slices are done,
+	 * and drops the sessions that finished. Must not be called by more than one thread at a time, nor after {@code start()}.
+	 *
+	 * @throws InterruptedException if the calling thread is interrupted while it waits for the slices
+	 *
+	 * @mutates | this
+	 *
+	 * @post | getRounds() == old(getRounds()) + 1
+	 */
+	
+	public void runRound() throws InterruptedException {
+		for (GameSession session = openedSessions.poll(); session != null; session = openedSessions.poll())
+			sessions.add(session);
+		int count = sessions.size();
+		boolean[] finished = new boolean[count];
+		// A virtual thread is cheap enough for every slice; a pool of platform threads gets a few batches of slices per thread instead
+		int batch = virtualThreads ? 1 : Math.max(1, count / (4 * parallelism));
+		int tasks = (count + batch - 1) / batch;
+		CountDownLatch done = new CountDownLatch(tasks);
+		int start = count == 0 ? 0 : rotation++ % count;
+		for (int t = 0; t < tasks; t++) {
+			int from = t * batch;
+			int to = Math.min(count, from + batch);
+			Runnable slices = () -> {
+				try {
+					for (int k = from; k < to; k++) {
+						int i = (start + k) % count;
+						finished[i] = sessions.get(i).runSlice(tickLength);
+					}
+				} finally {
+					done.countDown();
+				}
+			};
+			try {
+				workers.execute(slices);
+			} catch (RejectedExecutionException e) {
+				// The server is being closed, so the slices run on the calling thread to end the round
+				slices.run();
+			}
+		}
+		done.await();
+		// The latch makes the results of the slices visible here
+		int kept = 0;
+		for (int i = 0; i < count; i++) {
+			if (!finished[i])
+				sessions.set(kept++, sessions.get(i));
+		}
+		sessions.subList(kept, count).clear();
+		sessionCount.addAndGet(kept - count);
+		rounds++;
+	}
+	
+	/**
+	 * Returns a new list of the sessions that take part in the next round, apart from those opened since the last round started.
+	 * Must only be called by the thread that runs the rounds, or after the server is closed.
+	 *
+	 * @creates | result
+	 */
+	
+	public List<GameSession> getSessions() {
+		return new ArrayList<>(sessions);
+	}
+	
+	/**
+	 * Stops the scheduler after the round it may be running, and shuts the workers down. The sessions keep their states as they are.
+	 * If the calling thread is interrupted while it waits for the scheduler or the workers, this method returns without waiting any longer,
+	 * with the interrupt status of the thread set.
+	 *
+	 * @mutates | this
+	 */
+	
+	@Override
+	public void close() {
+		Thread running;
+		synchronized (this) {
+			closed = true;
+			running = scheduler;
+		}
+		workers.shutdown();
+		try {
+			if (running != null)
+				running.join();
+			workers.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			// The caller is asked to stop, so it keeps the interrupt instead of waiting for the server
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
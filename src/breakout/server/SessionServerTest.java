@@ -0,0 +1,131 @@
+package breakout.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import breakout.BreakoutState;
+import breakout.GameMap;
+import breakout.radioactivity.Ball;
+import breakout.simulation.SimulationRunner;
+
+class SessionServerTest {
+
+	private static final String BUSY_MAP = """
+SSSSSSSSSS
+SSSSSSSSSS
+
+
+
+    o
+    =
+""";
+
+	private static final String LOSING_MAP = """
+#
+
+
+
+
+
+         =
+o
+""";
+
+	@Test
+	void testRoundsTickEverySessionOnce() throws InterruptedException {
+		try (SessionServer server = new SessionServer(20, 4)) {
+			GameSession[] sessions = new GameSession[50];
+			for (int i = 0; i < sessions.length; i++)
+				sessions[i] = server.open(GameMap.createStateFromDescription(BUSY_MAP));
+			assertEquals(50, server.getSessionCount());
+			BreakoutState reference = GameMap.createStateFromDescription(BUSY_MAP);
+			for (int round = 0; round < 30; round++) {
+				int paddleDir = round % 3 - 1;
+				assertTrue(sessions[7].offer(paddleDir));
+				server.runRound();
+				SimulationRunner.step(reference, paddleDir, 20);
+			}
+			assertEquals(30, server.getRounds());
+			assertEquals(50, server.getSessions().size());
+			for (GameSession session: sessions)
+				assertEquals(30, session.getTicks());
+			BreakoutState state = sessions[7].getState();
+			assertEquals(reference.getPaddle(), state.getPaddle());
+			Ball[] expected = reference.getBalls();
+			Ball[] actual = state.getBalls();
+			assertEquals(expected.length, actual.length);
+			for (int i = 0; i < expected.length; i++)
+				assertTrue(expected[i].equalContent(actual[i]));
+		}
+	}
+	
+	@Test
+	void testBoundedMailbox() throws InterruptedException {
+		try (SessionServer server = new SessionServer(20, 2)) {
+			GameSession session = server.open(GameMap.createStateFromDescription(BUSY_MAP));
+			assertEquals(2, session.getMailboxCapacity());
+			assertThrows(IllegalArgumentException.class, () -> session.offer(2));
+			int paddleX = session.getState().getPaddle().getCenter().getX();
+			assertTrue(session.offer(-1));
+			assertTrue(session.offer(1));
+			assertFalse(session.offer(-1));
+			assertEquals(1, session.getRejectedInputs());
+			// The last input in the mailbox wins
+			server.runRound();
+			assertTrue(session.getState().getPaddle().getCenter().getX() > paddleX);
+			assertTrue(session.offer(0));
+			assertTrue(session.offer(0));
+		}
+	}
+	
+	@Test
+	void testFinishedSessionsAreDropped() throws InterruptedException {
+		try (SessionServer server = new SessionServer(20)) {
+			assertEquals(SessionServer.DEFAULT_MAILBOX_CAPACITY, server.getMailboxCapacity());
+			GameSession lost = server.open(GameMap.createStateFromDescription(LOSING_MAP));
+			GameSession closed = server.open(GameMap.createStateFromDescription(BUSY_MAP));
+			GameSession busy = server.open(GameMap.createStateFromDescription(BUSY_MAP));
+			server.runRound();
+			closed.close();
+			for (int round = 0; round < 50 && !lost.isFinished(); round++)
+				server.runRound();
+			assertTrue(lost.isFinished());
+			assertTrue(lost.getState().isDead());
+			assertNull(lost.getFailure());
+			assertFalse(lost.offer(0));
+			assertTrue(closed.isFinished());
+			assertEquals(1, closed.getTicks());
+			assertEquals(1, server.getSessionCount());
+			assertEquals(1, server.getSessions().size());
+			assertSame(busy, server.getSessions().get(0));
+			assertEquals(server.getRounds(), busy.getTicks());
+		}
+	}
+	
+	@Test
+	void testClosedServer() {
+		SessionServer server = new SessionServer(20);
+		server.close();
+		assertThrows(IllegalStateException.class, () -> server.open(GameMap.createStateFromDescription(BUSY_MAP)));
+		assertThrows(IllegalStateException.class, () -> server.start());
+		assertThrows(IllegalArgumentException.class, () -> new SessionServer(BreakoutState.MAX_ELAPSED_TIME + 1));
+	}
+	
+	@Test
+	void testLoadGenerator() throws InterruptedException {
+		SessionServer server = new SessionServer(5, 4);
+		LoadReport report = new LoadGenerator(300, 4, 5).run(server, 500, 1);
+		assertEquals(300, report.getSessions());
+		assertTrue(report.getRounds() > 0);
+		assertTrue(report.getInputsSent() > 0);
+		assertTrue(report.getInputsRejected() <= report.getInputsSent());
+		// Every session that is still playing took part in every round
+		if (report.getFinishedSessions() < report.getSessions()) {
+			assertEquals(report.getRounds(), report.getMinTicks());
+			assertEquals(report.getRounds(), report.getMaxTicks());
+		}
+		assertThrows(IllegalStateException.class, () -> server.start());
+	}
+
+}
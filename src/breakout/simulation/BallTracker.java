@@ -0,0 +1,52 @@
+package breakout.simulation;
+
+import java.awt.Color;
+
+import breakout.BreakoutStateVisitor;
+import breakout.utils.Point;
+import breakout.utils.Vector;
+
+/**
+ * Finds the center of the first ball, or of the ball closest to the bottom of the field, while visiting a {@code BreakoutState},
+ * so that a {@code PaddleInput} can follow a ball without copying the balls of the state on every tick.
+ */
+
+class BallTracker implements BreakoutStateVisitor {
+
+	private final boolean lowest;
+	private boolean found;
+	private int x;
+	private int y;
+	
+	/**
+	 * Initializes this tracker so that it finds the ball closest to the bottom if {@code lowest} is true, and the first ball otherwise.
+	 * 
+	 * @post | !isFound()
+	 */
+	
+	BallTracker(boolean lowest) {
+		this.lowest = lowest;
+	}
+	
+	/** Returns whether a ball was visited. */
+	
+	boolean isFound() {
+		return found;
+	}
+	
+	/** Returns the x coordinate of the center of the ball that was found. */
+	
+	int getX() {
+		return x;
+	}
+	
+	@Override
+	public void visitBall(Point center, int diameter, Vector velocity, Color color, int eCharge) {
+		if (!found || lowest && center.getY() > y) {
+			found = true;
+			x = center.getX();
+			y = center.getY();
+		}
+	}
+
+}
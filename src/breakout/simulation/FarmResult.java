@@ -0,0 +1,99 @@
+package breakout.simulation;
+
+import java.util.List;
+
+import breakout.simulation.SimulationResult.Outcome;
+
+/**
+ * The results of a batch of games simulated by a {@code SimulationFarm}, together with the throughput of the whole batch.
+ * 
+ * @immutable
+ * 
+ * @invar | getResults() != null
+ * @invar | getResults().stream().allMatch(r -> r != null)
+ * @invar | getElapsedNanos() >= 0
+ */
+
+public class FarmResult {
+	
+	/** @representationObject */
+	private final List<SimulationResult> results;
+	private final long elapsedNanos;
+	
+	/**
+	 * Initializes this result with the given per-game results, in the order the games were given, and the wall-clock time the batch took in nanoseconds.
+	 * 
+	 * @pre | results != null
+	 * @pre | results.stream().allMatch(r -> r != null)
+	 * @pre | elapsedNanos >= 0
+	 * 
+	 * @post | getResults().equals(results)
+	 * @post | getElapsedNanos() == elapsedNanos
+	 */
+	
+	public FarmResult(List<SimulationResult> results, long elapsedNanos) {
+		this.results = List.copyOf(results);
+		this.elapsedNanos = elapsedNanos;
+	}
+	
+	/** Returns the result of every game, in the order the games were given. */
+	
+	public List<SimulationResult> getResults() {
+		return results;
+	}
+	
+	/** Returns the wall-clock time the whole batch took in nanoseconds. */
+	
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+	
+	/**
+	 * Returns the number of ticks simulated over all games.
+	 * 
+	 * @post | result == getResults().stream().mapToLong(r -> r.getTicks()).sum()
+	 */
+	
+	public long getTotalTicks() {
+		long total = 0;
+		for (SimulationResult result: results)
+			total += result.getTicks();
+		return total;
+	}
+	
+	/**
+	 * Returns the number of games that ended with the given outcome.
+	 * 
+	 * @pre | outcome != null
+	 * 
+	 * @post | result == getResults().stream().filter(r -> r.getOutcome() == outcome).count()
+	 */
+	
+	public int count(Outcome outcome) {
+		int count = 0;
+		for (SimulationResult result: results) {
+			if (result.getOutcome() == outcome)
+				count++;
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns the number of ticks simulated over all games per second of wall-clock time of the whole batch.
+	 * 
+	 * @post | getElapsedNanos() == 0 ? result == 0 : result == getTotalTicks() * 1e9 / getElapsedNanos()
+	 */
+	
+	public double getTicksPerSecond() {
+		if (elapsedNanos == 0)
+			return 0;
+		return getTotalTicks() * 1e9 / elapsedNanos;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("%d games (%d won, %d dead, %d ongoing), %d ticks at %.0f ticks/s", results.size(), 
+				count(Outcome.WON), count(Outcome.DEAD), count(Outcome.ONGOING), getTotalTicks(), getTicksPerSecond());
+	}
+	
+}
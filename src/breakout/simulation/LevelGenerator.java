@@ -0,0 +1,43 @@
+package breakout.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates level descriptions in the format read by {@code GameMap.createStateFromDescription}.
+ * The same seed always gives the same description, so a generated level can be reproduced from its seed alone.
+ */
+
+public class LevelGenerator {
+	
+	private static final int BLOCK_LINES = 4;
+	private static final int COLUMNS = 10;
+	private static final String BLOCK_TYPES = "####SS!!R ";
+	
+	private LevelGenerator() {
+		throw new AssertionError("This class is not intended to be instantiated");
+	}
+	
+	/**
+	 * Returns a description of a level with four lines of randomly chosen blocks, one ball and a paddle.
+	 * 
+	 * @post | result != null
+	 * @post | result.chars().filter(c -> c == 'o').count() == 1
+	 * @post | result.chars().filter(c -> c == '=').count() == 1
+	 */
+	
+	public static String randomDescription(long seed) {
+		SplittableRandom random = new SplittableRandom(seed);
+		StringBuilder description = new StringBuilder();
+		for (int line = 0; line < BLOCK_LINES; line++) {
+			for (int column = 0; column < COLUMNS; column++) {
+				description.append(BLOCK_TYPES.charAt(random.nextInt(BLOCK_TYPES.length())));
+			}
+			description.append('\n');
+		}
+		description.append(" ".repeat(random.nextInt(COLUMNS))).append("o\n");
+		description.append('\n');
+		description.append(" ".repeat(random.nextInt(COLUMNS))).append("=\n");
+		return description.toString();
+	}
+	
+}
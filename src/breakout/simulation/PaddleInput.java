@@ -0,0 +1,87 @@
+package breakout.simulation;
+
+import java.util.Arrays;
+
+import breakout.BreakoutState;
+
+/**
+ * A scripted source of paddle input for a headless simulation.
+ * For every tick, it tells in which direction the paddle is moved: {@code -1} for left, {@code 1} for right and {@code 0} for not at all.
+ */
+
+@FunctionalInterface
+public interface PaddleInput {
+
+	/**
+	 * Returns the direction the paddle is moved in during the given tick of a simulation of the given state.
+	 * 
+	 * @pre | tick >= 0
+	 * @pre | state != null
+	 * 
+	 * @inspects | state
+	 * 
+	 * @post | result == -1 || result == 0 || result == 1
+	 */
+	
+	int getPaddleDir(long tick, BreakoutState state);
+	
+	/**
+	 * Returns an input that never moves the paddle.
+	 * 
+	 * @post | result != null
+	 */
+	
+	static PaddleInput still() {
+		return (tick, state) -> 0;
+	}
+	
+	/**
+	 * Returns an input that plays the given directions, one per tick, and starts over once they have all been played.
+	 * 
+	 * @pre | track != null
+	 * @pre | track.length > 0
+	 * @pre | Arrays.stream(track).allMatch(d -> d == -1 || d == 0 || d == 1)
+	 * 
+	 * @inspects | track
+	 * 
+	 * @post | result != null
+	 */
+	
+	static PaddleInput repeating(int... track) {
+		int[] directions = track.clone();
+		return (tick, state) -> directions[(int) (tick % directions.length)];
+	}
+	
+	/**
+	 * Returns an input that moves the paddle towards the first ball of the state, or does not move it if there are no balls.
+	 * 
+	 * @post | result != null
+	 */
+	
+	static PaddleInput followFirstBall() {
+		return (tick, state) -> follow(new BallTracker(false), state);
+	}
+	
+	/**
+	 * Returns an input that moves the paddle towards the ball closest to the bottom of the field, or does not move it if there are no balls.
+	 * 
+	 * @post | result != null
+	 */
+	
+	static PaddleInput followLowestBall() {
+		return (tick, state) -> follow(new BallTracker(true), state);
+	}
+	
+	/**
+	 * Returns the direction from the paddle of the given state towards the ball the given tracker finds in it, or {@code 0} if there are no balls.
+	 * The balls are visited instead of copied, since this runs on every tick.
+	 */
+	
+	private static int follow(BallTracker tracker, BreakoutState state) {
+		state.accept(tracker);
+		if (!tracker.isFound())
+			return 0;
+		return Integer.signum(tracker.getX() - state.getPaddle().getCenter().getX());
+	}
+	
+}
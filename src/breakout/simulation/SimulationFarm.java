@@ -0,0 +1,161 @@
+package breakout.simulation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import breakout.GameMap;
+
+/**
+ * Simulates many independent games at once on a work-stealing pool.
+ * Every game gets its own {@code BreakoutState}, which is only touched by the thread that runs it, 
+ * so the games need no synchronization. The paddle inputs may be shared between games and must therefore be safe to call from several threads;
+ * the inputs created by {@code PaddleInput} are.
+ * 
+ * @immutable
+ * 
+ * @invar | getRunner() != null
+ * @invar | getPool() != null
+ */
+
+public class SimulationFarm {
+	
+	private final SimulationRunner runner;
+	private final ForkJoinPool pool;
+	
+	/**
+	 * Initializes this farm so that it runs every game with the given runner on the common fork/join pool.
+	 * 
+	 * @pre | runner != null
+	 * 
+	 * @post | getRunner() == runner
+	 * @post | getPool() == ForkJoinPool.commonPool()
+	 */
+	
+	public SimulationFarm(SimulationRunner runner) {
+		this(runner, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Initializes this farm so that it runs every game with the given runner on the given pool.
+	 * The farm does not shut the pool down.
+	 * 
+	 * @pre | runner != null
+	 * @pre | pool != null
+	 * 
+	 * @post | getRunner() == runner
+	 * @post | getPool() == pool
+	 */
+	
+	public SimulationFarm(SimulationRunner runner, ForkJoinPool pool) {
+		this.runner = runner;
+		this.pool = pool;
+	}
+	
+	/** Returns the runner every game is simulated with. */
+	
+	public SimulationRunner getRunner() {
+		return runner;
+	}
+	
+	/** Returns the pool the games are run on. */
+	
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+	
+	/**
+	 * Runs every given level description with the given paddle input.
+	 * 
+	 * @pre | descriptions != null
+	 * @pre | descriptions.stream().allMatch(d -> d != null)
+	 * @pre | input != null
+	 * 
+	 * @post | result.getResults().size() == descriptions.size()
+	 */
+	
+	public FarmResult run(List<String> descriptions, PaddleInput input) {
+		PaddleInput[] inputs = new PaddleInput[descriptions.size()];
+		Arrays.fill(inputs, input);
+		return run(descriptions, Arrays.asList(inputs));
+	}
+	
+	/**
+	 * Runs every given level description with the paddle input at the same position in {@code inputs}.
+	 * 
+	 * @pre | descriptions != null
+	 * @pre | descriptions.stream().allMatch(d -> d != null)
+	 * @pre | inputs != null
+	 * @pre | inputs.stream().allMatch(i -> i != null)
+	 * @throws IllegalArgumentException if there is not exactly one input for every description
+	 * 		| inputs.size() != descriptions.size()
+	 * 
+	 * @post | result.getResults().size() == descriptions.size()
+	 */
+	
+	public FarmResult run(List<String> descriptions, List<PaddleInput> inputs) {
+		if (inputs.size() != descriptions.size())
+			throw new IllegalArgumentException("There must be one paddle input for every level description.");
+		String[] descriptionArray = descriptions.toArray(String[]::new);
+		PaddleInput[] inputArray = inputs.toArray(PaddleInput[]::new);
+		SimulationResult[] results = new SimulationResult[descriptionArray.length];
+		
+		long start = System.nanoTime();
+		pool.invoke(new GamesTask(descriptionArray, inputArray, results, 0, descriptionArray.length));
+		long elapsedNanos = System.nanoTime() - start;
+		return new FarmResult(Arrays.asList(results), elapsedNanos);
+	}
+	
+	/**
+	 * Runs the level generated by {@code LevelGenerator.randomDescription} for every given seed with the given paddle input.
+	 * 
+	 * @pre | seeds != null
+	 * @pre | input != null
+	 * 
+	 * @post | result.getResults().size() == seeds.length
+	 */
+	
+	public FarmResult runSeeds(long[] seeds, PaddleInput input) {
+		String[] descriptions = new String[seeds.length];
+		for (int i = 0; i < seeds.length; i++)
+			descriptions[i] = LevelGenerator.randomDescription(seeds[i]);
+		return run(Arrays.asList(descriptions), input);
+	}
+	
+	/**
+	 * Runs the games in a range of indices, splitting the range in halves until it holds a single game.
+	 * A game is long compared to the cost of a fork, so single games give the pool the most room to balance the load.
+	 */
+	
+	@SuppressWarnings("serial")
+	private class GamesTask extends RecursiveAction {
+		
+		private final String[] descriptions;
+		private final PaddleInput[] inputs;
+		private final SimulationResult[] results;
+		private final int from;
+		private final int to;
+		
+		GamesTask(String[] descriptions, PaddleInput[] inputs, SimulationResult[] results, int from, int to) {
+			this.descriptions = descriptions;
+			this.inputs = inputs;
+			this.results = results;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			if (to - from <= 1) {
+				for (int i = from; i < to; i++) 
+					results[i] = runner.run(GameMap.createStateFromDescription(descriptions[i]), inputs[i]);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new GamesTask(descriptions, inputs, results, from, middle), new GamesTask(descriptions, inputs, results, middle, to));
+		}
+		
+	}
+	
+}
@@ -0,0 +1,58 @@
+package breakout.simulation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import breakout.simulation.SimulationResult.Outcome;
+
+class SimulationFarmTest {
+	
+	@Test
+	void testFarmMatchesSequentialRuns() {
+		SimulationRunner runner = new SimulationRunner(300);
+		long[] seeds = LongStream.range(0, 12).toArray();
+		PaddleInput input = PaddleInput.repeating(1, 1, 0, -1, -1, 0);
+		
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			FarmResult farmResult = new SimulationFarm(runner, pool).runSeeds(seeds, input);
+			assertEquals(seeds.length, farmResult.getResults().size());
+			
+			long totalTicks = 0;
+			for (int i = 0; i < seeds.length; i++) {
+				SimulationResult expected = runner.run(LevelGenerator.randomDescription(seeds[i]), input);
+				SimulationResult actual = farmResult.getResults().get(i);
+				assertEquals(expected.getOutcome(), actual.getOutcome());
+				assertEquals(expected.getTicks(), actual.getTicks());
+				assertEquals(expected.getState().getBlocks().length, actual.getState().getBlocks().length);
+				assertEquals(expected.getState().getPaddle().getCenter(), actual.getState().getPaddle().getCenter());
+				totalTicks += actual.getTicks();
+			}
+			assertEquals(totalTicks, farmResult.getTotalTicks());
+			assertEquals(seeds.length, farmResult.count(Outcome.WON) + farmResult.count(Outcome.DEAD) + farmResult.count(Outcome.ONGOING));
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	void testInputsPerGame() {
+		SimulationFarm farm = new SimulationFarm(new SimulationRunner(50));
+		List<String> descriptions = List.of(LevelGenerator.randomDescription(1), LevelGenerator.randomDescription(2));
+		FarmResult result = farm.run(descriptions, List.of(PaddleInput.still(), PaddleInput.followFirstBall()));
+		assertEquals(2, result.getResults().size());
+		assertThrows(IllegalArgumentException.class, () -> farm.run(descriptions, List.of(PaddleInput.still())));
+	}
+	
+	@Test
+	void testRandomDescription() {
+		assertEquals(LevelGenerator.randomDescription(42), LevelGenerator.randomDescription(42));
+		assertNotEquals(LevelGenerator.randomDescription(42), LevelGenerator.randomDescription(43));
+	}
+	
+}
@@ -0,0 +1,112 @@
+package breakout.simulation;
+
+import breakout.BreakoutState;
+
+/**
+ * The result of running a headless simulation: how far it got, how fast it ran and the state it ended in.
+ * 
+ * @immutable
+ * 
+ * @invar | getOutcome() != null
+ * @invar | getState() != null
+ * @invar | getTicks() >= 0
+ * @invar | getSimulatedTime() >= 0
+ * @invar | getElapsedNanos() >= 0
+ */
+
+public class SimulationResult {
+	
+	/**
+	 * How a simulation ended.
+	 */
+	
+	public enum Outcome {
+		/** All blocks were destroyed while a ball was still in the game. */
+		WON,
+		/** All balls were lost. */
+		DEAD,
+		/** The tick budget ran out before the game was won or lost. */
+		ONGOING
+	}
+	
+	private final Outcome outcome;
+	private final BreakoutState state;
+	private final long ticks;
+	private final long simulatedTime;
+	private final long elapsedNanos;
+	
+	/**
+	 * Initializes this result with the given outcome, end state, number of ticks, simulated time in milliseconds and wall-clock time in nanoseconds.
+	 * 
+	 * @pre | outcome != null
+	 * @pre | state != null
+	 * @pre | ticks >= 0
+	 * @pre | simulatedTime >= 0
+	 * @pre | elapsedNanos >= 0
+	 * 
+	 * @post | getOutcome() == outcome
+	 * @post | getState() == state
+	 * @post | getTicks() == ticks
+	 * @post | getSimulatedTime() == simulatedTime
+	 * @post | getElapsedNanos() == elapsedNanos
+	 */
+	
+	public SimulationResult(Outcome outcome, BreakoutState state, long ticks, long simulatedTime, long elapsedNanos) {
+		this.outcome = outcome;
+		this.state = state;
+		this.ticks = ticks;
+		this.simulatedTime = simulatedTime;
+		this.elapsedNanos = elapsedNanos;
+	}
+	
+	/** Returns how the simulation ended. */
+	
+	public Outcome getOutcome() {
+		return outcome;
+	}
+	
+	/** 
+	 * Returns the state the simulation ended in. 
+	 * This is the state object the simulation ran on, not a copy.
+	 */
+	
+	public BreakoutState getState() {
+		return state;
+	}
+	
+	/** Returns the number of ticks that were simulated. */
+	
+	public long getTicks() {
+		return ticks;
+	}
+	
+	/** Returns the simulated game time in milliseconds. */
+	
+	public long getSimulatedTime() {
+		return simulatedTime;
+	}
+	
+	/** Returns the wall-clock time the simulation took in nanoseconds. */
+	
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+	
+	/**
+	 * Returns the number of ticks that were simulated per second of wall-clock time.
+	 * 
+	 * @post | getElapsedNanos() == 0 ? result == 0 : result == getTicks() * 1e9 / getElapsedNanos()
+	 */
+	
+	public double getTicksPerSecond() {
+		if (elapsedNanos == 0)
+			return 0;
+		return ticks * 1e9 / elapsedNanos;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("%s after %d ticks (%d ms simulated) at %.0f ticks/s", outcome, ticks, simulatedTime, getTicksPerSecond());
+	}
+	
+}
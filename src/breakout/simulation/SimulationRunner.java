@@ -0,0 +1,147 @@
+package breakout.simulation;
+
+import breakout.BreakoutState;
+import breakout.GameMap;
+import breakout.simulation.SimulationResult.Outcome;
+
+/**
+ * Runs a game without a user interface, as fast as the processor allows.
+ * Every tick does what the game view does for one timer event: it moves the paddle in the direction given by the paddle input
+ * and then advances the state by a fixed amount of time. The run stops when the game is won or lost, or when the tick budget runs out.
+ * 
+ * @immutable
+ * 
+ * @invar | getTickBudget() >= 0
+ * @invar | 0 < getTickLength() && getTickLength() <= BreakoutState.MAX_ELAPSED_TIME
+ */
+
+public class SimulationRunner {
+	
+	/** The amount of time in milliseconds that a tick of the game view usually advances the game by. */
+	
+	public static final int DEFAULT_TICK_LENGTH = 20;
+	
+	private final long tickBudget;
+	private final int tickLength;
+	
+	/**
+	 * Initializes this runner so that it simulates at most {@code tickBudget} ticks of {@code DEFAULT_TICK_LENGTH} milliseconds.
+	 * 
+	 * @pre | tickBudget >= 0
+	 * 
+	 * @post | getTickBudget() == tickBudget
+	 * @post | getTickLength() == DEFAULT_TICK_LENGTH
+	 */
+	
+	public SimulationRunner(long tickBudget) {
+		this(tickBudget, DEFAULT_TICK_LENGTH);
+	}
+	
+	/**
+	 * Initializes this runner so that it simulates at most {@code tickBudget} ticks of {@code tickLength} milliseconds.
+	 * 
+	 * @throws IllegalArgumentException if the tick budget is negative
+	 * 		| tickBudget < 0
+	 * @throws IllegalArgumentException if the tick length is not positive or larger than the maximum elapsed time of a tick
+	 * 		| tickLength <= 0 || tickLength > BreakoutState.MAX_ELAPSED_TIME
+	 * 
+	 * @post | getTickBudget() == tickBudget
+	 * @post | getTickLength() == tickLength
+	 */
+	
+	public SimulationRunner(long tickBudget, int tickLength) {
+		if (tickBudget < 0) 
+			throw new IllegalArgumentException("The tick budget must not be negative.");
+		if (tickLength <= 0 || tickLength > BreakoutState.MAX_ELAPSED_TIME)
+			throw new IllegalArgumentException("The tick length must be between 1 and " + BreakoutState.MAX_ELAPSED_TIME + " milliseconds.");
+		this.tickBudget = tickBudget;
+		this.tickLength = tickLength;
+	}
+	
+	/** Returns the maximum number of ticks this runner simulates. */
+	
+	public long getTickBudget() {
+		return tickBudget;
+	}
+	
+	/** Returns the amount of time in milliseconds each tick advances the game by. */
+	
+	public int getTickLength() {
+		return tickLength;
+	}
+	
+	/**
+	 * Runs the game described by {@code description}, as read by {@code GameMap.createStateFromDescription}, with the given paddle input.
+	 * 
+	 * @pre | description != null
+	 * @pre | input != null
+	 * 
+	 * @post | result != null
+	 */
+	
+	public SimulationResult run(String description, PaddleInput input) {
+		return run(GameMap.createStateFromDescription(description), input);
+	}
+	
+	/**
+	 * Runs the given state with the given paddle input until the game is won or lost, or the tick budget runs out.
+	 * 
+	 * @pre | state != null
+	 * @pre | input != null
+	 * 
+	 * @mutates | state
+	 * 
+	 * @post | result != null
+	 * @post | result.getState() == state
+	 * @post | result.getTicks() <= getTickBudget()
+	 * @post | result.getSimulatedTime() == result.getTicks() * getTickLength()
+	 * @post | result.getOutcome() == (state.isDead() ? Outcome.DEAD : state.isWon() ? Outcome.WON : Outcome.ONGOING)
+	 */
+	
+	public SimulationResult run(BreakoutState state, PaddleInput input) {
+		long start = System.nanoTime();
+		long ticks = 0;
+		while (ticks < tickBudget && !state.isDead() && !state.isWon()) {
+			step(state, input.getPaddleDir(ticks, state), tickLength);
+			ticks++;
+		}
+		long elapsedNanos = System.nanoTime() - start;
+		return new SimulationResult(outcomeOf(state), state, ticks, ticks * tickLength, elapsedNanos);
+	}
+	
+	/**
+	 * Advances the given state by one tick of {@code elapsedTime} milliseconds during which the paddle is moved in the direction {@code paddleDir},
+	 * in the same way the game view does.
+	 * 
+	 * @pre | state != null
+	 * @pre | paddleDir == -1 || paddleDir == 0 || paddleDir == 1
+	 * @pre | 0 <= elapsedTime && elapsedTime <= BreakoutState.MAX_ELAPSED_TIME
+	 * 
+	 * @mutates | state
+	 */
+	
+	public static void step(BreakoutState state, int paddleDir, int elapsedTime) {
+		if (paddleDir < 0) 
+			state.movePaddleLeft(elapsedTime);
+		else if (paddleDir > 0) 
+			state.movePaddleRight(elapsedTime);
+		state.tick(paddleDir, elapsedTime);
+	}
+	
+	/**
+	 * Returns the outcome of the given state, checking for a lost game first like the game view does.
+	 * 
+	 * @pre | state != null
+	 * 
+	 * @post | result == (state.isDead() ? Outcome.DEAD : state.isWon() ? Outcome.WON : Outcome.ONGOING)
+	 */
+	
+	public static Outcome outcomeOf(BreakoutState state) {
+		if (state.isDead())
+			return Outcome.DEAD;
+		if (state.isWon())
+			return Outcome.WON;
+		return Outcome.ONGOING;
+	}
+	
+}
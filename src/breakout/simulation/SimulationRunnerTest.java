@@ -0,0 +1,97 @@
+package breakout.simulation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import breakout.BreakoutFacade;
+import breakout.BreakoutState;
+import breakout.simulation.SimulationResult.Outcome;
+
+class SimulationRunnerTest {
+	
+	private static final String WINNABLE_MAP = """
+
+
+
+
+o
+#
+         =
+""";
+	
+	private static final String LOSING_MAP = """
+#
+
+
+
+
+o
+         =
+""";
+	
+	private static final String BUSY_MAP = """
+SSSSSSSSSS
+SSSSSSSSSS
+
+
+
+    o
+    =
+""";
+	
+	private BreakoutFacade facade = new BreakoutFacade();
+	
+	@Test
+	void testOutcomes() {
+		SimulationRunner runner = new SimulationRunner(10000);
+		
+		SimulationResult won = runner.run(WINNABLE_MAP, PaddleInput.still());
+		assertEquals(Outcome.WON, won.getOutcome());
+		assertTrue(won.getState().isWon());
+		assertTrue(won.getTicks() > 0 && won.getTicks() < 10000);
+		assertEquals(won.getTicks() * SimulationRunner.DEFAULT_TICK_LENGTH, won.getSimulatedTime());
+		
+		SimulationResult dead = runner.run(LOSING_MAP, PaddleInput.still());
+		assertEquals(Outcome.DEAD, dead.getOutcome());
+		assertTrue(dead.getState().isDead());
+		
+		SimulationResult ongoing = new SimulationRunner(10).run(BUSY_MAP, PaddleInput.still());
+		assertEquals(Outcome.ONGOING, ongoing.getOutcome());
+		assertEquals(10, ongoing.getTicks());
+		assertTrue(ongoing.getElapsedNanos() >= 0);
+	}
+	
+	@Test
+	void testMatchesFacadeTicks() {
+		int[] track = {1, 1, 0, -1, 0, -1, -1, 0};
+		BreakoutState simulated = facade.createStateFromDescription(BUSY_MAP);
+		SimulationResult result = new SimulationRunner(500, 15).run(simulated, PaddleInput.repeating(track));
+		assertSame(simulated, result.getState());
+		
+		BreakoutState expected = facade.createStateFromDescription(BUSY_MAP);
+		for (int tick = 0; tick < result.getTicks(); tick++) {
+			int paddleDir = track[tick % track.length];
+			if (paddleDir == -1)
+				facade.movePaddleLeft(expected, 15);
+			if (paddleDir == 1)
+				facade.movePaddleRight(expected, 15);
+			facade.tick(expected, paddleDir, 15);
+		}
+		
+		assertEquals(facade.getPaddle(expected).getCenter(), facade.getPaddle(simulated).getCenter());
+		assertEquals(facade.getBallsLen(expected), facade.getBallsLen(simulated));
+		for (int i = 0; i < facade.getBallsLen(expected); i++) {
+			assertTrue(facade.getBalls(expected)[i].equalContent(facade.getBalls(simulated)[i]));
+		}
+		assertEquals(facade.getBlocksLen(expected), facade.getBlocksLen(simulated));
+	}
+	
+	@Test
+	void testInvalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new SimulationRunner(-1));
+		assertThrows(IllegalArgumentException.class, () -> new SimulationRunner(10, 0));
+		assertThrows(IllegalArgumentException.class, () -> new SimulationRunner(10, BreakoutState.MAX_ELAPSED_TIME + 1));
+	}
+	
+}
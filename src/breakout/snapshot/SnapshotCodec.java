@@ -0,0 +1,363 @@
+package breakout.snapshot;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.IdentityHashMap;
+
+import breakout.BlockState;
+import breakout.BreakoutState;
+import breakout.NormalBlockState;
+import breakout.NormalPaddleState;
+import breakout.PaddleState;
+import breakout.PowerupBlockState;
+import breakout.ReplicatingPaddleState;
+import breakout.ReplicatorBlockState;
+import breakout.SturdyBlockState;
+import breakout.radioactivity.Alpha;
+import breakout.radioactivity.Ball;
+import breakout.radioactivity.BallAlphaGraph;
+import breakout.radioactivity.NormalBall;
+import breakout.radioactivity.SuperchargedBall;
+import breakout.utils.Point;
+import breakout.utils.Vector;
+
+/**
+ * Encodes a complete {@code BreakoutState} into a compact binary snapshot and decodes it again.
+ * Unlike a map description, a snapshot keeps everything that affects how the game continues: 
+ * balls in flight with their kind and supercharged time, alphas, the links between balls and alphas, 
+ * the eCharges, the health of sturdy blocks and the replications left on a replicating paddle.
+ * 
+ * A snapshot starts with the magic number {@code BRKS} and a version, followed by the field size, the paddle, 
+ * the blocks, the balls, the alphas and the links as pairs of a ball index and an alpha index. All numbers are big-endian.
+ * Ticking a decoded state gives exactly the same game as ticking the state that was encoded.
+ */
+
+public class SnapshotCodec {
+	
+	/** The first four bytes of every snapshot: {@code BRKS} in ASCII. */
+	
+	public static final int MAGIC = 0x42524B53;
+	
+	/** The version of the snapshot format written by this codec. */
+	
+	public static final short VERSION = 1;
+	
+	private static final byte NORMAL_PADDLE = 0;
+	private static final byte REPLICATING_PADDLE = 1;
+	
+	private static final byte NORMAL_BLOCK = 0;
+	private static final byte STURDY_BLOCK = 1;
+	private static final byte POWERUP_BLOCK = 2;
+	private static final byte REPLICATOR_BLOCK = 3;
+	
+	private static final byte NORMAL_BALL = 0;
+	private static final byte SUPERCHARGED_BALL = 1;
+	
+	private static final int HEADER_BYTES = 4 + 2 + 2 * 4;
+	private static final int PADDLE_BYTES = 1 + 2 * 4 + 1;
+	private static final int BLOCK_BYTES = 1 + 4 * 4 + 1;
+	private static final int BALL_BYTES = 1 + 5 * 4 + 4 + 4;
+	private static final int ALPHA_BYTES = 5 * 4;
+	private static final int LINK_BYTES = 2 * 4;
+	
+	private SnapshotCodec() {
+		throw new AssertionError("This class is not intended to be instantiated");
+	}
+	
+	/**
+	 * Returns a new buffer holding a snapshot of the given state, positioned at its start and limited to its end.
+	 * 
+	 * @pre | state != null
+	 * 
+	 * @inspects | state
+	 * 
+	 * @creates | result
+	 * 
+	 * @post | result != null
+	 * @post | result.position() == 0
+	 */
+	
+	public static ByteBuffer encode(BreakoutState state) {
+		BallAlphaGraph graph = state.getBallAlphaGraph();
+		Ball[] balls = graph.getBalls();
+		Alpha[] alphas = graph.getAlphas();
+		BlockState[] blocks = state.getBlocks();
+		int linkCount = 0;
+		for (Ball ball: balls)
+			linkCount += ball.getAlphaCount();
+		
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + PADDLE_BYTES + 4 + blocks.length * BLOCK_BYTES + 4 + balls.length * BALL_BYTES
+				+ 4 + alphas.length * ALPHA_BYTES + 4 + linkCount * LINK_BYTES);
+		buffer.putInt(MAGIC);
+		buffer.putShort(VERSION);
+		putPoint(buffer, state.getBottomRight());
+		
+		PaddleState paddle = state.getPaddle();
+		buffer.put(paddle instanceof ReplicatingPaddleState ? REPLICATING_PADDLE : NORMAL_PADDLE);
+		putPoint(buffer, paddle.getCenter());
+		buffer.put((byte) paddle.getAmountOfReplications());
+		
+		buffer.putInt(blocks.length);
+		for (BlockState block: blocks) {
+			buffer.put(blockType(block));
+			putPoint(buffer, block.getTopLeft());
+			putPoint(buffer, block.getBottomRight());
+			buffer.put((byte) Math.max(0, block.getHealth()));
+		}
+		
+		IdentityHashMap<Alpha, Integer> alphaIndices = new IdentityHashMap<>(alphas.length * 2);
+		for (int j = 0; j < alphas.length; j++)
+			alphaIndices.put(alphas[j], j);
+		
+		buffer.putInt(balls.length);
+		for (Ball ball: balls) {
+			buffer.put(ball instanceof SuperchargedBall ? SUPERCHARGED_BALL : NORMAL_BALL);
+			putPoint(buffer, ball.getCenter());
+			putVector(buffer, ball.getVelocity());
+			buffer.putInt(ball.getDiameter());
+			buffer.putInt(ball.getTime());
+			buffer.putInt(ball.getEcharge());
+		}
+		
+		buffer.putInt(alphas.length);
+		for (Alpha alpha: alphas) {
+			putPoint(buffer, alpha.getCenter());
+			putVector(buffer, alpha.getVelocity());
+			buffer.putInt(alpha.getDiameter());
+		}
+		
+		buffer.putInt(linkCount);
+		for (int i = 0; i < balls.length; i++) {
+			int ballIndex = i;
+			balls[i].forEachLinkedAlpha(alpha -> {
+				buffer.putInt(ballIndex);
+				buffer.putInt(alphaIndices.get(alpha));
+			});
+		}
+		return buffer.flip();
+	}
+	
+	/**
+	 * Returns a new state decoded from the snapshot that starts at the position of the given buffer, 
+	 * and advances the position of the buffer to the end of the snapshot.
+	 * 
+	 * @pre | buffer != null
+	 * 
+	 * @mutates | buffer
+	 * 
+	 * @throws IllegalArgumentException if the buffer does not hold a valid snapshot of a version this codec can read
+	 * 
+	 * @post | result != null
+	 */
+	
+	public static BreakoutState decode(ByteBuffer buffer) {
+		return decode(buffer, false);
+	}
+	
+	/**
+	 * Returns a new state decoded from the snapshot that starts at the position of the given buffer, like {@code decode}, 
+	 * but skips the checks of the state's invariants, such as whether every ball lies inside the field. 
+	 * This is meant for snapshots that {@code encode} made of a valid state in this program, such as the checkpoints of a replay.
+	 * The format of the snapshot is still checked.
+	 * 
+	 * @pre | buffer != null
+	 * @pre The snapshot was encoded from a valid state
+	 * 
+	 * @mutates | buffer
+	 * 
+	 * @throws IllegalArgumentException if the buffer does not hold a valid snapshot of a version this codec can read
+	 * 
+	 * @post | result != null
+	 */
+	
+	public static BreakoutState decodeTrusted(ByteBuffer buffer) {
+		return decode(buffer, true);
+	}
+	
+	private static BreakoutState decode(ByteBuffer buffer, boolean trusted) {
+		try {
+			if (buffer.getInt() != MAGIC)
+				throw new IllegalArgumentException("The buffer does not hold a snapshot");
+			short version = buffer.getShort();
+			if (version != VERSION)
+				throw new IllegalArgumentException("Unsupported snapshot version " + version);
+			Point bottomRight = getPoint(buffer);
+			
+			byte paddleType = buffer.get();
+			Point paddleCenter = getPoint(buffer);
+			int replications = buffer.get();
+			PaddleState paddle;
+			if (paddleType == NORMAL_PADDLE)
+				paddle = new NormalPaddleState(paddleCenter);
+			else if (paddleType == REPLICATING_PADDLE && replications >= 1 && replications <= 3)
+				paddle = new ReplicatingPaddleState(paddleCenter, replications);
+			else
+				throw new IllegalArgumentException("Invalid paddle in snapshot");
+			
+			BlockState[] blocks = new BlockState[count(buffer, BLOCK_BYTES)];
+			for (int i = 0; i < blocks.length; i++)
+				blocks[i] = getBlock(buffer);
+			
+			Ball[] balls = new Ball[count(buffer, BALL_BYTES)];
+			int[] eCharges = new int[balls.length];
+			for (int i = 0; i < balls.length; i++) {
+				byte type = buffer.get();
+				Point center = getPoint(buffer);
+				Vector velocity = getVector(buffer);
+				int diameter = buffer.getInt();
+				int time = buffer.getInt();
+				eCharges[i] = buffer.getInt();
+				if (type == NORMAL_BALL)
+					balls[i] = new NormalBall(center, diameter, velocity);
+				else if (type == SUPERCHARGED_BALL && time >= 0)
+					balls[i] = new SuperchargedBall(center, diameter, velocity, time);
+				else
+					throw new IllegalArgumentException("Invalid ball in snapshot");
+			}
+			
+			Alpha[] alphas = new Alpha[count(buffer, ALPHA_BYTES)];
+			for (int j = 0; j < alphas.length; j++) {
+				Point center = getPoint(buffer);
+				Vector velocity = getVector(buffer);
+				alphas[j] = new Alpha(center, buffer.getInt(), velocity);
+			}
+			
+			int linkCount = count(buffer, LINK_BYTES);
+			for (int k = 0; k < linkCount; k++) {
+				int ballIndex = buffer.getInt();
+				int alphaIndex = buffer.getInt();
+				if (ballIndex < 0 || ballIndex >= balls.length || alphaIndex < 0 || alphaIndex >= alphas.length)
+					throw new IllegalArgumentException("Invalid link in snapshot");
+				balls[ballIndex].linkTo(alphas[alphaIndex]);
+			}
+			for (int i = 0; i < balls.length; i++) {
+				if (balls[i].getEcharge() != eCharges[i])
+					throw new IllegalArgumentException("The eCharges in the snapshot do not match its links");
+			}
+			if (trusted)
+				return BreakoutState.createTrusted(balls, alphas, blocks, bottomRight, paddle);
+			return new BreakoutState(balls, alphas, blocks, bottomRight, paddle);
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("The snapshot is truncated", e);
+		}
+	}
+	
+	/**
+	 * Writes a snapshot of the given state to the given channel, preceded by its length as an int.
+	 * 
+	 * @pre | state != null
+	 * @pre | channel != null
+	 * 
+	 * @inspects | state
+	 * 
+	 * @throws IOException if writing to the channel fails
+	 */
+	
+	public static void write(BreakoutState state, WritableByteChannel channel) throws IOException {
+		ByteBuffer snapshot = encode(state);
+		ByteBuffer length = ByteBuffer.allocate(4).putInt(snapshot.remaining()).flip();
+		while (length.hasRemaining())
+			channel.write(length);
+		while (snapshot.hasRemaining())
+			channel.write(snapshot);
+	}
+	
+	/**
+	 * Reads a snapshot written by {@code write} from the given channel and returns the decoded state.
+	 * 
+	 * @pre | channel != null
+	 * 
+	 * @throws IOException if reading from the channel fails, the channel ends before the snapshot does, 
+	 * 		or the channel does not hold a valid snapshot
+	 * 
+	 * @post | result != null
+	 */
+	
+	public static BreakoutState read(ReadableByteChannel channel) throws IOException {
+		ByteBuffer length = readFully(channel, ByteBuffer.allocate(4));
+		int size = length.getInt();
+		if (size < 0)
+			throw new IOException("Invalid snapshot length " + size);
+		ByteBuffer snapshot = readFully(channel, ByteBuffer.allocate(size));
+		try {
+			return decode(snapshot);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid snapshot", e);
+		}
+	}
+	
+	private static ByteBuffer readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0)
+				throw new IOException("The channel ended before the snapshot did");
+		}
+		return buffer.flip();
+	}
+	
+	private static int count(ByteBuffer buffer, int elementBytes) {
+		int count = buffer.getInt();
+		if (count < 0 || (long) count * elementBytes > buffer.remaining())
+			throw new IllegalArgumentException("Invalid element count in snapshot");
+		return count;
+	}
+	
+	private static byte blockType(BlockState block) {
+		if (block instanceof SturdyBlockState)
+			return STURDY_BLOCK;
+		if (block instanceof PowerupBlockState)
+			return POWERUP_BLOCK;
+		if (block instanceof ReplicatorBlockState)
+			return REPLICATOR_BLOCK;
+		return NORMAL_BLOCK;
+	}
+	
+	private static BlockState getBlock(ByteBuffer buffer) {
+		byte type = buffer.get();
+		Point topLeft = getPoint(buffer);
+		Point bottomRight = getPoint(buffer);
+		int health = buffer.get();
+		if (topLeft.getX() >= bottomRight.getX() || topLeft.getY() >= bottomRight.getY())
+			throw new IllegalArgumentException("Invalid block in snapshot");
+		switch (type) {
+		case NORMAL_BLOCK:
+			return new NormalBlockState(topLeft, bottomRight);
+		case STURDY_BLOCK:
+			if (health == 1)
+				return new SturdyBlockState(topLeft, bottomRight, health, Color.YELLOW);
+			if (health == 2)
+				return new SturdyBlockState(topLeft, bottomRight, health, Color.ORANGE);
+			if (health == 3)
+				return new SturdyBlockState(topLeft, bottomRight, health, Color.RED);
+			throw new IllegalArgumentException("Invalid sturdy block health in snapshot");
+		case POWERUP_BLOCK:
+			return new PowerupBlockState(topLeft, bottomRight);
+		case REPLICATOR_BLOCK:
+			return new ReplicatorBlockState(topLeft, bottomRight);
+		default:
+			throw new IllegalArgumentException("Invalid block in snapshot");
+		}
+	}
+	
+	private static void putPoint(ByteBuffer buffer, Point point) {
+		buffer.putInt(point.getX());
+		buffer.putInt(point.getY());
+	}
+	
+	private static void putVector(ByteBuffer buffer, Vector vector) {
+		buffer.putInt(vector.getX());
+		buffer.putInt(vector.getY());
+	}
+	
+	private static Point getPoint(ByteBuffer buffer) {
+		return new Point(buffer.getInt(), buffer.getInt());
+	}
+	
+	private static Vector getVector(ByteBuffer buffer) {
+		return new Vector(buffer.getInt(), buffer.getInt());
+	}
+	
+}
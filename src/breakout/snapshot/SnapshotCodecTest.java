@@ -0,0 +1,113 @@
+package breakout.snapshot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import breakout.BlockState;
+import breakout.BreakoutFacade;
+import breakout.BreakoutState;
+import breakout.PaddleState;
+import breakout.radioactivity.Alpha;
+import breakout.radioactivity.Ball;
+import breakout.simulation.SimulationRunner;
+import breakout.utils.Point;
+import breakout.utils.Vector;
+
+class SnapshotCodecTest {
+	
+	private BreakoutFacade facade = new BreakoutFacade();
+	
+	private BreakoutState createState() {
+		Ball ball1 = facade.createNormalBall(new Point(10000, 15000), 700, new Vector(3, 4));
+		Ball ball2 = facade.createSuperchargedBall(new Point(20000, 15000), 700, new Vector(-3, 4), 1234);
+		Ball ball3 = facade.createNormalBall(new Point(30000, 18000), 700, new Vector(5, -2));
+		Alpha alpha1 = facade.createAlpha(new Point(15000, 20000), 700, new Vector(1, 1));
+		Alpha alpha2 = facade.createAlpha(new Point(35000, 20000), 700, new Vector(-2, 3));
+		ball1.linkTo(alpha1);
+		ball2.linkTo(alpha1);
+		ball2.linkTo(alpha2);
+		ball3.linkTo(alpha1);
+		BlockState[] blocks = {
+				facade.createNormalBlockState(new Point(0, 0), new Point(5000, 3000)),
+				facade.createSturdyBlockState(new Point(5000, 0), new Point(10000, 3000), 2),
+				facade.createPowerupBallBlockState(new Point(10000, 0), new Point(15000, 3000)),
+				facade.createReplicatorBlockState(new Point(15000, 0), new Point(20000, 3000))};
+		PaddleState paddle = facade.createReplicatingPaddleState(new Point(25000, 27000), 2);
+		return facade.createBreakoutState(new Alpha[] {alpha1, alpha2}, new Ball[] {ball1, ball2, ball3}, blocks, new Point(50000, 30000), paddle);
+	}
+	
+	private static void assertSameState(BreakoutState expected, BreakoutState actual) {
+		Ball[] expectedBalls = expected.getBalls();
+		Ball[] actualBalls = actual.getBalls();
+		assertEquals(expectedBalls.length, actualBalls.length);
+		for (int i = 0; i < expectedBalls.length; i++) {
+			assertTrue(expectedBalls[i].equalContent(actualBalls[i]));
+			assertEquals(expectedBalls[i].getTime(), actualBalls[i].getTime());
+		}
+		Alpha[] expectedAlphas = expected.getAlphas();
+		Alpha[] actualAlphas = actual.getAlphas();
+		assertEquals(expectedAlphas.length, actualAlphas.length);
+		for (int i = 0; i < expectedAlphas.length; i++)
+			assertTrue(expectedAlphas[i].equalContent(actualAlphas[i]));
+		assertTrue(Arrays.equals(expected.getBlocks(), actual.getBlocks()));
+		for (int i = 0; i < expected.getBlocks().length; i++)
+			assertEquals(expected.getBlocks()[i].getHealth(), actual.getBlocks()[i].getHealth());
+		assertEquals(expected.getPaddle(), actual.getPaddle());
+		assertEquals(expected.getPaddle().getAmountOfReplications(), actual.getPaddle().getAmountOfReplications());
+		assertEquals(expected.getBottomRight(), actual.getBottomRight());
+	}
+	
+	@Test
+	void testRoundTrip() {
+		BreakoutState state = createState();
+		BreakoutState decoded = SnapshotCodec.decode(SnapshotCodec.encode(state));
+		assertSameState(state, decoded);
+		
+		// The links themselves survive, not only the eCharges
+		Ball[] balls = decoded.getBallAlphaGraph().getBalls();
+		Alpha[] alphas = decoded.getBallAlphaGraph().getAlphas();
+		assertEquals(3, decoded.getBallAlphaGraph().getAlphas()[0].getBallCount());
+		assertEquals(-3, balls[0].getEcharge());
+		assertEquals(3, balls[1].getEcharge());
+		assertEquals(1, alphas[1].getBallCount());
+		
+		// Both states continue in the same way
+		for (int tick = 0; tick < 300; tick++) {
+			SimulationRunner.step(state, tick % 3 - 1, 20);
+			SimulationRunner.step(decoded, tick % 3 - 1, 20);
+		}
+		assertSameState(state, decoded);
+	}
+	
+	@Test
+	void testChannels() throws IOException {
+		BreakoutState state = createState();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SnapshotCodec.write(state, Channels.newChannel(out));
+		BreakoutState read = SnapshotCodec.read(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+		assertSameState(state, read);
+		
+		byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() - 3);
+		assertThrows(IOException.class, () -> SnapshotCodec.read(Channels.newChannel(new ByteArrayInputStream(truncated))));
+	}
+	
+	@Test
+	void testInvalidSnapshots() {
+		ByteBuffer snapshot = SnapshotCodec.encode(createState());
+		ByteBuffer wrongVersion = ByteBuffer.allocate(snapshot.remaining()).put(snapshot.duplicate()).flip();
+		wrongVersion.putShort(4, (short) 99);
+		assertThrows(IllegalArgumentException.class, () -> SnapshotCodec.decode(wrongVersion));
+		
+		ByteBuffer truncated = snapshot.duplicate().limit(snapshot.limit() - 5);
+		assertThrows(IllegalArgumentException.class, () -> SnapshotCodec.decode(truncated));
+	}
+	
+}